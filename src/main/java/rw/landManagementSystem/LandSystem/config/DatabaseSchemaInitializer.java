@@ -0,0 +1,202 @@
+package rw.landManagementSystem.LandSystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Database objects that Hibernate's ddl-auto cannot express (extensions, expression indexes).
+// Every statement is idempotent and runs before DataLoader; a failure is logged and leaves the
+// related feature on its fallback path instead of stopping startup. Steps that requests depend on run
+// once the beans are created, before the web server accepts connections; index builds and backfills,
+// which the features can do without meanwhile, run after startup.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatabaseSchemaInitializer implements SmartInitializingSingleton, CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSchemaInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean trigramSearchAvailable;
+    private volatile boolean documentSearchAvailable;
+    private volatile boolean workflowLogReady;
+
+    public DatabaseSchemaInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        alignLandParcelIds();
+        prepareWorkflowLog();
+    }
+
+    @Override
+    public void run(String... args) {
+        createTrigramIndexes();
+        createDocumentSearchColumns();
+        initializeLatestVersionFlags();
+        prepareExpiryScanning();
+    }
+
+    public boolean isTrigramSearchAvailable() {
+        return trigramSearchAvailable;
+    }
+
+    public boolean isDocumentSearchAvailable() {
+        return documentSearchAvailable;
+    }
+
+    public boolean isWorkflowLogReady() {
+        return workflowLogReady;
+    }
+
+    // Private helper methods
+    private void alignLandParcelIds() {
+        try {
+            // Rows inserted under the old IDENTITY mapping are ahead of the new sequence; realigned before the
+            // server takes requests, so no insert draws an id that is already taken
+            jdbcTemplate.query("SELECT setval('land_parcel_id_seq', m) FROM (SELECT MAX(id) AS m FROM land_parcels) t " +
+                    "WHERE m IS NOT NULL AND m >= (SELECT last_value FROM land_parcel_id_seq)", rs -> {});
+        } catch (DataAccessException e) {
+            log.warn("Could not align land parcel id sequence: {}", e.getMessage());
+        }
+        try {
+            // Polygons and GeoJSON do not fit the old varchar(255); varchar to text needs no table rewrite
+            jdbcTemplate.execute("ALTER TABLE land_parcels ALTER COLUMN coordinates TYPE TEXT");
+        } catch (DataAccessException e) {
+            log.warn("Could not widen land parcel coordinates: {}", e.getMessage());
+        }
+    }
+
+    private void createTrigramIndexes() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            // The GIN indexes serve the LOWER(...) LIKE '%...%' location searches in LandParcelRepository;
+            // the GiST indexes serve the typeahead's <% filter and ORDER BY ... <<-> ... LIMIT KNN scans
+            for (String column : new String[] { "location", "district", "sector", "cell" }) {
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_land_parcels_" + column + "_trgm " +
+                        "ON land_parcels USING gin (lower(" + column + ") gin_trgm_ops)");
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_land_parcels_" + column + "_trgm_gist " +
+                        "ON land_parcels USING gist (lower(" + column + ") gist_trgm_ops)");
+            }
+            // DocumentRepository's name and description substring searches
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_documents_document_name_trgm " +
+                    "ON documents USING gin (document_name gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_documents_description_trgm " +
+                    "ON documents USING gin (lower(description) gin_trgm_ops)");
+            trigramSearchAvailable = true;
+        } catch (DataAccessException e) {
+            log.warn("pg_trgm unavailable, location search will fall back to unindexed LIKE: {}", e.getMessage());
+        }
+    }
+
+    // Rows written before documents.is_latest_version existed get the flag from one window-function pass;
+    // after that DocumentService keeps it current
+    private void initializeLatestVersionFlags() {
+        try {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_documents_lineage " +
+                    "ON documents (document_name, land_parcel_id, version DESC, id DESC)");
+            Boolean missing = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM documents WHERE is_latest_version IS NULL)", Boolean.class);
+            if (Boolean.TRUE.equals(missing)) {
+                int updated = jdbcTemplate.update("UPDATE documents d SET is_latest_version = (x.rn = 1) FROM (" +
+                        "SELECT id, row_number() OVER (PARTITION BY document_name, land_parcel_id " +
+                        "ORDER BY version DESC, id DESC) AS rn FROM documents) x " +
+                        "WHERE d.id = x.id AND d.is_latest_version IS DISTINCT FROM (x.rn = 1)");
+                log.info("Initialized latest-version flags on {} documents", updated);
+            }
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_documents_latest_version " +
+                    "ON documents (id) WHERE is_latest_version");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_documents_latest_version_parcel " +
+                    "ON documents (land_parcel_id, id) WHERE is_latest_version");
+        } catch (DataAccessException e) {
+            log.warn("Could not initialize document latest-version flags: {}", e.getMessage());
+        }
+    }
+
+    // Hibernate wrote CHECK constraints listing the enum values when the tables were created and does not
+    // update them, so they would reject the EXPIRED status. The partial indexes serve the scanner's
+    // (expiry, id) range reads.
+    private void prepareExpiryScanning() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE documents DROP CONSTRAINT IF EXISTS documents_status_check");
+            jdbcTemplate.execute("ALTER TABLE ownerships DROP CONSTRAINT IF EXISTS ownerships_status_check");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_documents_expiry " +
+                    "ON documents (expiry_date, id) WHERE status = 'ACTIVE' AND expiry_date IS NOT NULL");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_ownerships_expiry " +
+                    "ON ownerships (end_date, id) WHERE status = 'ACTIVE' AND end_date IS NOT NULL");
+        } catch (DataAccessException e) {
+            log.warn("Could not prepare expiry scanning: {}", e.getMessage());
+        }
+    }
+
+    // Read-model tables for the workflow projections, plus a one-time SNAPSHOT entry for every request,
+    // ownership and document that existed before the log did, so projections rebuilt from the log see
+    // the whole tree and not only what changed afterwards. Each entry records its writer's transaction
+    // id through a column default; entries from before that have 0, which keeps them in sequence order
+    // ahead of everything newer. Runs before the server takes requests, so no change can be logged ahead
+    // of the snapshots and leave the log non-empty but unseeded.
+    private void prepareWorkflowLog() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE workflow_events ADD COLUMN IF NOT EXISTS transaction_id BIGINT");
+            jdbcTemplate.execute("ALTER TABLE workflow_events ALTER COLUMN transaction_id " +
+                    "SET DEFAULT CAST(CAST(pg_current_xact_id() AS text) AS bigint)");
+            jdbcTemplate.update("UPDATE workflow_events SET transaction_id = 0 WHERE transaction_id IS NULL");
+            jdbcTemplate.execute("ALTER TABLE workflow_events ALTER COLUMN transaction_id SET NOT NULL");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS workflow_status_counts (" +
+                    "aggregate_type VARCHAR(20) NOT NULL, status VARCHAR(40) NOT NULL, " +
+                    "count BIGINT NOT NULL DEFAULT 0, PRIMARY KEY (aggregate_type, status))");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS workflow_daily_transitions (" +
+                    "day DATE NOT NULL, aggregate_type VARCHAR(20) NOT NULL, event_type VARCHAR(40) NOT NULL, " +
+                    "to_status VARCHAR(40) NOT NULL, count BIGINT NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY (day, aggregate_type, event_type, to_status))");
+            // officer_id 0 is the unassigned queue
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS request_queue_counts (" +
+                    "status VARCHAR(40) NOT NULL, officer_id BIGINT NOT NULL, " +
+                    "count BIGINT NOT NULL DEFAULT 0, PRIMARY KEY (status, officer_id))");
+            int snapshots = jdbcTemplate.update("INSERT INTO workflow_events (aggregate_type, aggregate_id, " +
+                    "land_parcel_id, event_type, from_status, to_status, from_assignee_id, to_assignee_id, actor, " +
+                    "occurred_at) SELECT s.aggregate_type, s.id, s.land_parcel_id, 'SNAPSHOT', NULL, s.status, NULL, " +
+                    "s.assignee_id, 'system', now() FROM (" +
+                    "SELECT 1 AS ord, 'REQUEST' AS aggregate_type, id, land_parcel_id, status, assigned_officer_id " +
+                    "AS assignee_id FROM requests UNION ALL " +
+                    "SELECT 2, 'OWNERSHIP', id, land_parcel_id, status, NULL FROM ownerships UNION ALL " +
+                    "SELECT 3, 'DOCUMENT', id, land_parcel_id, status, NULL FROM documents) s " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM workflow_events) ORDER BY s.ord, s.id");
+            if (snapshots > 0) {
+                log.info("Seeded the workflow event log with {} snapshot entries", snapshots);
+            }
+            workflowLogReady = true;
+        } catch (DataAccessException e) {
+            log.warn("Workflow projections disabled, could not prepare the event log: {}", e.getMessage());
+        }
+    }
+
+    // Generated tsvector columns are recomputed by PostgreSQL on every insert/update, so the index is
+    // current in the same transaction as the change. The 'simple' configuration (no stemming) suits the
+    // mix of Kinyarwanda, English and French in document titles. Extracted text is capped because a
+    // tsvector is limited to 1 MB.
+    private void createDocumentSearchColumns() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE documents ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                    "GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(document_name, '')), 'A') || " +
+                    "setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_documents_search_vector " +
+                    "ON documents USING gin (search_vector)");
+            jdbcTemplate.execute("ALTER TABLE document_texts ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                    "GENERATED ALWAYS AS (setweight(to_tsvector('simple', left(content, 200000)), 'C')) STORED");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_document_texts_search_vector " +
+                    "ON document_texts USING gin (search_vector)");
+            documentSearchAvailable = true;
+        } catch (DataAccessException e) {
+            log.warn("Document full-text search unavailable, falling back to unindexed LIKE: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package rw.landManagementSystem.LandSystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import rw.landManagementSystem.LandSystem.dto.ImportReport;
+import rw.landManagementSystem.LandSystem.service.LandParcelImportService;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Command-line bulk import, e.g.
+//   java -jar LandSystem.jar --import-parcels=/data/gasabo.csv [--import-format=geojson]
+//        --spring.main.web-application-type=none
+// Imports the file, logs the report and exits (status 1 if any row failed).
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class LandParcelImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LandParcelImportRunner.class);
+
+    private final LandParcelImportService landParcelImportService;
+    private final ApplicationContext applicationContext;
+
+    public LandParcelImportRunner(LandParcelImportService landParcelImportService, ApplicationContext applicationContext) {
+        this.landParcelImportService = landParcelImportService;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption("import-parcels")) {
+            return;
+        }
+        Path file = Path.of(args.getOptionValues("import-parcels").get(0));
+        String format = args.containsOption("import-format") ? args.getOptionValues("import-format").get(0) : null;
+
+        ImportReport report;
+        try (InputStream input = Files.newInputStream(file)) {
+            report = landParcelImportService.importParcels(input,
+                    LandParcelImportService.detectFormat(file.getFileName().toString(), format));
+        }
+        for (ImportReport.RowError error : report.getErrors()) {
+            log.warn("Row {} ({}): {}", error.getRow(), error.getParcelNumber(), error.getMessage());
+        }
+        if (report.isErrorsTruncated()) {
+            log.warn("{} further row errors not shown", report.getFailed() - report.getErrors().size());
+        }
+        int exitCode = report.getFailed() > 0 ? 1 : 0;
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+}
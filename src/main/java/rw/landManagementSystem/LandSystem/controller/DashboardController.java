@@ -0,0 +1,26 @@
+package rw.landManagementSystem.LandSystem.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import rw.landManagementSystem.LandSystem.service.DashboardStatisticsService;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    private final DashboardStatisticsService statisticsService;
+
+    public DashboardController(DashboardStatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    // All dashboard counts in one call, served from memory
+    @GetMapping("/summary")
+    public ResponseEntity<Map<String, Object>> getSummary() {
+        return new ResponseEntity<>(statisticsService.getSummary(), HttpStatus.OK);
+    }
+}
@@ -3,14 +3,26 @@ package rw.landManagementSystem.LandSystem.controller;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import rw.landManagementSystem.LandSystem.dto.CursorPage;
+import rw.landManagementSystem.LandSystem.dto.DocumentSummary;
 import rw.landManagementSystem.LandSystem.model.Document;
 import rw.landManagementSystem.LandSystem.model.DocumentStatus;
 import rw.landManagementSystem.LandSystem.model.DocumentType;
 import rw.landManagementSystem.LandSystem.service.DocumentService;
+import rw.landManagementSystem.LandSystem.storage.BlobContent;
+import rw.landManagementSystem.LandSystem.storage.RangeFileSender;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -37,9 +49,9 @@ public class DocumentController {
 
     // Get all documents
     @GetMapping
-    public ResponseEntity<List<Document>> getAllDocuments() {
+    public ResponseEntity<List<DocumentSummary>> getAllDocuments() {
         List<Document> documents = documentService.getAllDocuments();
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get document by ID
@@ -77,93 +89,93 @@ public class DocumentController {
 
     // Get documents by land parcel
     @GetMapping("/land-parcel/{landParcelId}")
-    public ResponseEntity<List<Document>> getDocumentsByLandParcel(@PathVariable Long landParcelId) {
+    public ResponseEntity<List<DocumentSummary>> getDocumentsByLandParcel(@PathVariable Long landParcelId) {
         List<Document> documents = documentService.getDocumentsByLandParcel(landParcelId);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get documents by land parcel and status
     @GetMapping("/land-parcel/{landParcelId}/status/{status}")
-    public ResponseEntity<List<Document>> getDocumentsByLandParcelAndStatus(@PathVariable Long landParcelId, @PathVariable DocumentStatus status) {
+    public ResponseEntity<List<DocumentSummary>> getDocumentsByLandParcelAndStatus(@PathVariable Long landParcelId, @PathVariable DocumentStatus status) {
         List<Document> documents = documentService.getDocumentsByLandParcelAndStatus(landParcelId, status);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get documents by land parcel and type
     @GetMapping("/land-parcel/{landParcelId}/type/{documentType}")
-    public ResponseEntity<List<Document>> getDocumentsByLandParcelAndType(@PathVariable Long landParcelId, @PathVariable DocumentType documentType) {
+    public ResponseEntity<List<DocumentSummary>> getDocumentsByLandParcelAndType(@PathVariable Long landParcelId, @PathVariable DocumentType documentType) {
         List<Document> documents = documentService.getDocumentsByLandParcelAndType(landParcelId, documentType);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get documents by request
     @GetMapping("/request/{requestId}")
-    public ResponseEntity<List<Document>> getDocumentsByRequest(@PathVariable Long requestId) {
+    public ResponseEntity<List<DocumentSummary>> getDocumentsByRequest(@PathVariable Long requestId) {
         List<Document> documents = documentService.getDocumentsByRequest(requestId);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get documents by uploader
     @GetMapping("/uploader/{uploaderId}")
-    public ResponseEntity<List<Document>> getDocumentsByUploader(@PathVariable Long uploaderId) {
+    public ResponseEntity<List<DocumentSummary>> getDocumentsByUploader(@PathVariable Long uploaderId) {
         List<Document> documents = documentService.getDocumentsByUploader(uploaderId);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get documents by type
     @GetMapping("/type/{documentType}")
-    public ResponseEntity<List<Document>> getDocumentsByType(@PathVariable DocumentType documentType) {
+    public ResponseEntity<List<DocumentSummary>> getDocumentsByType(@PathVariable DocumentType documentType) {
         List<Document> documents = documentService.getDocumentsByType(documentType);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get documents by status
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Document>> getDocumentsByStatus(@PathVariable DocumentStatus status) {
+    public ResponseEntity<List<DocumentSummary>> getDocumentsByStatus(@PathVariable DocumentStatus status) {
         List<Document> documents = documentService.getDocumentsByStatus(status);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get verified documents
     @GetMapping("/verified")
-    public ResponseEntity<List<Document>> getVerifiedDocuments() {
+    public ResponseEntity<List<DocumentSummary>> getVerifiedDocuments() {
         List<Document> documents = documentService.getVerifiedDocuments();
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get unverified documents
     @GetMapping("/unverified")
-    public ResponseEntity<List<Document>> getUnverifiedDocuments() {
+    public ResponseEntity<List<DocumentSummary>> getUnverifiedDocuments() {
         List<Document> documents = documentService.getUnverifiedDocuments();
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get documents pending verification
     @GetMapping("/pending-verification")
-    public ResponseEntity<List<Document>> getDocumentsPendingVerification() {
+    public ResponseEntity<List<DocumentSummary>> getDocumentsPendingVerification() {
         List<Document> documents = documentService.getDocumentsPendingVerification();
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get documents by verifier
     @GetMapping("/verifier/{verifierId}")
-    public ResponseEntity<List<Document>> getDocumentsByVerifier(@PathVariable Long verifierId) {
+    public ResponseEntity<List<DocumentSummary>> getDocumentsByVerifier(@PathVariable Long verifierId) {
         List<Document> documents = documentService.getDocumentsByVerifier(verifierId);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get expired documents
     @GetMapping("/expired")
-    public ResponseEntity<List<Document>> getExpiredDocuments() {
+    public ResponseEntity<List<DocumentSummary>> getExpiredDocuments() {
         List<Document> documents = documentService.getExpiredDocuments();
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get expiring documents
     @GetMapping("/expiring")
-    public ResponseEntity<List<Document>> getExpiringDocuments(@RequestParam(defaultValue = "30") int daysAhead) {
+    public ResponseEntity<List<DocumentSummary>> getExpiringDocuments(@RequestParam(defaultValue = "30") int daysAhead) {
         List<Document> documents = documentService.getExpiringDocuments(daysAhead);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Find document by file path
@@ -176,53 +188,79 @@ public class DocumentController {
 
     // Search documents by name
     @GetMapping("/search/name")
-    public ResponseEntity<List<Document>> searchDocumentsByName(@RequestParam String documentName) {
+    public ResponseEntity<List<DocumentSummary>> searchDocumentsByName(@RequestParam String documentName) {
         List<Document> documents = documentService.searchDocumentsByName(documentName);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
+    }
+
+    // Ranked full-text search; filters are optional
+    @GetMapping("/search")
+    public ResponseEntity<List<DocumentSummary>> searchDocuments(
+            @RequestParam String q,
+            @RequestParam(required = false) DocumentType documentType,
+            @RequestParam(required = false) DocumentStatus status,
+            @RequestParam(required = false) Long landParcelId,
+            @RequestParam(required = false) Integer limit) {
+        List<Document> documents = documentService.searchDocuments(q, documentType, status, landParcelId, limit);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Search documents by description
     @GetMapping("/search/description")
-    public ResponseEntity<List<Document>> searchDocumentsByDescription(@RequestParam String keyword) {
+    public ResponseEntity<List<DocumentSummary>> searchDocumentsByDescription(@RequestParam String keyword) {
         List<Document> documents = documentService.searchDocumentsByDescription(keyword);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get documents by date range
     @GetMapping("/date-range")
-    public ResponseEntity<List<Document>> getDocumentsByDateRange(
+    public ResponseEntity<List<DocumentSummary>> getDocumentsByDateRange(
             @RequestParam LocalDateTime startDate,
             @RequestParam LocalDateTime endDate) {
         List<Document> documents = documentService.getDocumentsByDateRange(startDate, endDate);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get latest version documents
     @GetMapping("/latest-versions")
-    public ResponseEntity<List<Document>> getLatestVersionDocuments() {
+    public ResponseEntity<List<DocumentSummary>> getLatestVersionDocuments() {
         List<Document> documents = documentService.getLatestVersionDocuments();
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
+    }
+
+    // Latest versions one keyset page at a time, optionally for a single land parcel
+    @GetMapping("/latest-versions/paginated")
+    public ResponseEntity<CursorPage<DocumentSummary>> getLatestVersionDocumentsPaginated(
+            @RequestParam(required = false) Long landParcelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(documentService.getLatestVersionDocumentsPage(landParcelId, cursor, size),
+                    HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
     }
 
     // Get documents by mime type
     @GetMapping("/mime-type/{mimeType}")
-    public ResponseEntity<List<Document>> getDocumentsByMimeType(@PathVariable String mimeType) {
+    public ResponseEntity<List<DocumentSummary>> getDocumentsByMimeType(@PathVariable String mimeType) {
         List<Document> documents = documentService.getDocumentsByMimeType(mimeType);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get large files
     @GetMapping("/large-files")
-    public ResponseEntity<List<Document>> getLargeFiles(@RequestParam Long sizeThreshold) {
+    public ResponseEntity<List<DocumentSummary>> getLargeFiles(@RequestParam Long sizeThreshold) {
         List<Document> documents = documentService.getLargeFiles(sizeThreshold);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Get recent documents
     @GetMapping("/recent")
-    public ResponseEntity<List<Document>> getRecentDocuments(@RequestParam(defaultValue = "7") int days) {
+    public ResponseEntity<List<DocumentSummary>> getRecentDocuments(@RequestParam(defaultValue = "7") int days) {
         List<Document> documents = documentService.getRecentDocuments(days);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        return new ResponseEntity<>(DocumentSummary.listOf(documents), HttpStatus.OK);
     }
 
     // Archive document
@@ -310,6 +348,76 @@ public class DocumentController {
     }
 
     // File management endpoints
+    // Streams the stored bytes; supports Range/If-Range and conditional GET on the content hash
+    @GetMapping("/{documentId}/content")
+    public void downloadContent(@PathVariable Long documentId, HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        Document document;
+        BlobContent content;
+        try {
+            document = documentService.getDocumentById(documentId);
+            content = documentService.getContent(document);
+        } catch (RuntimeException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        LocalDateTime modified = document.getUpdatedAt() != null ? document.getUpdatedAt() : document.getCreatedAt();
+        long lastModified = modified != null ? modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        String contentType = document.getMimeType() != null ? document.getMimeType() : "application/octet-stream";
+        RangeFileSender.send(content, contentType, document.getDocumentName(), document.getContentHash(),
+                lastModified, request, response);
+    }
+
+    // Small PNG preview of the first page; immutable per hash, so clients revalidate with a 304
+    @GetMapping("/{documentId}/thumbnail")
+    public void downloadThumbnail(@PathVariable Long documentId, HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        Document document;
+        Path thumbnail;
+        try {
+            document = documentService.getDocumentById(documentId);
+            thumbnail = documentService.getThumbnailPath(document);
+        } catch (RuntimeException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        LocalDateTime processed = document.getProcessedAt();
+        long lastModified = processed != null ? processed.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        RangeFileSender.send(thumbnail, "image/png", null, document.getThumbnailHash(), lastModified, request, response);
+    }
+
+    @GetMapping(value = "/{documentId}/text", produces = "text/plain;charset=UTF-8")
+    public ResponseEntity<String> getExtractedText(@PathVariable Long documentId) {
+        try {
+            return new ResponseEntity<>(documentService.getExtractedText(documentId), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @PostMapping("/{documentId}/reprocess")
+    public ResponseEntity<Void> reprocessDocument(@PathVariable Long documentId) {
+        try {
+            documentService.reprocessDocument(documentId);
+            return new ResponseEntity<>(HttpStatus.ACCEPTED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @PostMapping("/{documentId}/content")
+    public ResponseEntity<Document> uploadContent(@PathVariable Long documentId,
+                                                  @RequestParam("file") MultipartFile file) {
+        try (InputStream content = file.getInputStream()) {
+            Document document = documentService.storeContent(documentId, content, file.getContentType());
+            return new ResponseEntity<>(document, HttpStatus.OK);
+        } catch (IOException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+    }
+
     @PatchMapping("/{documentId}/file-info")
     public ResponseEntity<Void> updateFileInfo(@PathVariable Long documentId,
                                               @RequestParam String filePath,
@@ -353,4 +461,19 @@ public class DocumentController {
         Long totalSize = documentService.getTotalFileSize();
         return new ResponseEntity<>(totalSize, HttpStatus.OK);
     }
+
+    // Stored bytes by status, document type, district and top uploaders, served from memory
+    @GetMapping("/stats/storage")
+    public ResponseEntity<Map<String, Object>> getStorageSummary() {
+        return new ResponseEntity<>(documentService.getStorageSummary(), HttpStatus.OK);
+    }
+
+    @GetMapping("/stats/storage/uploader/{uploaderId}")
+    public ResponseEntity<Map<String, Object>> getStorageUsageByUploader(@PathVariable Long uploaderId) {
+        try {
+            return new ResponseEntity<>(documentService.getStorageUsageByUploader(uploaderId), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
 }
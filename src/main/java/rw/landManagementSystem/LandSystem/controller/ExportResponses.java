@@ -0,0 +1,53 @@
+package rw.landManagementSystem.LandSystem.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import rw.landManagementSystem.LandSystem.service.ExportService;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPOutputStream;
+
+// Shared by the /export endpoints: picks the format, gzips when the client accepts it and
+// streams the body from a background thread instead of buffering it.
+final class ExportResponses {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ExportResponses() {}
+
+    static ResponseEntity<StreamingResponseBody> stream(String name, String format, String acceptEncoding,
+                                                        BiConsumer<ExportService.Format, OutputStream> exporter) {
+        ExportService.Format exportFormat;
+        try {
+            exportFormat = ExportService.parseFormat(format);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : new BufferedOutputStream(out, BUFFER_SIZE);
+            exporter.accept(exportFormat, target);
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            target.flush();
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"));
+        headers.set(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "." + exportFormat.getExtension() + "\"");
+        headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+}
@@ -1,14 +1,27 @@
 package rw.landManagementSystem.LandSystem.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+import rw.landManagementSystem.LandSystem.dto.CursorPage;
+import rw.landManagementSystem.LandSystem.dto.ImportReport;
 import rw.landManagementSystem.LandSystem.model.LandParcel;
 import rw.landManagementSystem.LandSystem.model.LandStatus;
 import rw.landManagementSystem.LandSystem.model.LandUse;
+import rw.landManagementSystem.LandSystem.model.WorkflowEvent;
+import rw.landManagementSystem.LandSystem.service.ExportService;
+import rw.landManagementSystem.LandSystem.service.LandParcelImportService;
 import rw.landManagementSystem.LandSystem.service.LandParcelService;
+import rw.landManagementSystem.LandSystem.service.WorkflowService;
+import rw.landManagementSystem.LandSystem.spatial.Envelope;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
@@ -19,9 +32,16 @@ import java.util.Optional;
 public class LandParcelController {
 
     private final LandParcelService landParcelService;
+    private final LandParcelImportService landParcelImportService;
+    private final ExportService exportService;
+    private final WorkflowService workflowService;
 
-    public LandParcelController(LandParcelService landParcelService) {
+    public LandParcelController(LandParcelService landParcelService, LandParcelImportService landParcelImportService,
+                                ExportService exportService, WorkflowService workflowService) {
         this.landParcelService = landParcelService;
+        this.landParcelImportService = landParcelImportService;
+        this.exportService = exportService;
+        this.workflowService = workflowService;
     }
 
     // Create land parcel
@@ -35,6 +55,25 @@ public class LandParcelController {
         }
     }
 
+    // Bulk import from a CSV or GeoJSON FeatureCollection; per-row errors are in the report
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('LAND_OFFICER')")
+    public ResponseEntity<ImportReport> importLandParcels(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format) {
+        LandParcelImportService.Format importFormat;
+        try {
+            importFormat = LandParcelImportService.detectFormat(file.getOriginalFilename(), format);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        try (InputStream input = file.getInputStream()) {
+            return new ResponseEntity<>(landParcelImportService.importParcels(input, importFormat), HttpStatus.OK);
+        } catch (IOException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // Get all land parcels
     @GetMapping
     public ResponseEntity<List<LandParcel>> getAllLandParcels() {
@@ -42,6 +81,39 @@ public class LandParcelController {
         return new ResponseEntity<>(landParcels, HttpStatus.OK);
     }
 
+    // Stream every row as NDJSON (default) or CSV, gzipped when the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return ExportResponses.stream("land-parcels", format, acceptEncoding, exportService::exportLandParcels);
+    }
+
+    // Get all land parcels, one keyset page at a time
+    @GetMapping("/paginated")
+    public ResponseEntity<CursorPage<LandParcel>> getLandParcelsPaginated(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(landParcelService.getLandParcelsPage(cursor, size), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Requests, ownerships and documents of one parcel as they changed, oldest first, from the workflow log
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<CursorPage<WorkflowEvent>> getLandParcelTimeline(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(workflowService.getLandParcelTimeline(id, cursor, size), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // Get land parcel by ID
     @GetMapping("/{id}")
     public ResponseEntity<LandParcel> getLandParcelById(@PathVariable Long id) {
@@ -90,6 +162,18 @@ public class LandParcelController {
         return new ResponseEntity<>(landParcels, HttpStatus.OK);
     }
 
+    @GetMapping("/district/{district}/paginated")
+    public ResponseEntity<CursorPage<LandParcel>> getLandParcelsByDistrictPaginated(
+            @PathVariable String district,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(landParcelService.getLandParcelsByDistrictPage(district, cursor, size), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping("/sector/{sector}")
     public ResponseEntity<List<LandParcel>> getLandParcelsBySector(@PathVariable String sector) {
         List<LandParcel> landParcels = landParcelService.getLandParcelsBySector(sector);
@@ -132,6 +216,17 @@ public class LandParcelController {
         return new ResponseEntity<>(landParcels, HttpStatus.OK);
     }
 
+    @GetMapping("/available/paginated")
+    public ResponseEntity<CursorPage<LandParcel>> getAvailableLandParcelsPaginated(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(landParcelService.getAvailableLandParcelsPage(cursor, size), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // Get land parcels by area range
     @GetMapping("/area-range")
     public ResponseEntity<List<LandParcel>> getLandParcelsByAreaRange(
@@ -157,6 +252,50 @@ public class LandParcelController {
         return new ResponseEntity<>(landParcels, HttpStatus.OK);
     }
 
+    @GetMapping("/search/paginated")
+    public ResponseEntity<CursorPage<LandParcel>> searchLandParcelsByLocationPaginated(
+            @RequestParam String location,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(landParcelService.searchLandParcelsByLocationPage(location, cursor, size), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Ranked location typeahead
+    @GetMapping("/search/typeahead")
+    public ResponseEntity<List<LandParcel>> searchLandParcelsTypeahead(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        List<LandParcel> landParcels = landParcelService.searchLandParcelsTypeahead(q, limit);
+        return new ResponseEntity<>(landParcels, HttpStatus.OK);
+    }
+
+    // Get land parcels whose bounds intersect a bbox (minLon,minLat,maxLon,maxLat)
+    @GetMapping("/within")
+    public ResponseEntity<List<LandParcel>> getLandParcelsWithin(
+            @RequestParam String bbox,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<LandParcel> landParcels = landParcelService.getLandParcelsWithin(Envelope.parseBbox(bbox), limit);
+            return new ResponseEntity<>(landParcels, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Get the land parcels nearest to a point
+    @GetMapping("/nearest")
+    public ResponseEntity<List<LandParcel>> getNearestLandParcels(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Integer k) {
+        List<LandParcel> landParcels = landParcelService.getNearestLandParcels(lat, lon, k);
+        return new ResponseEntity<>(landParcels, HttpStatus.OK);
+    }
+
     // Get land parcels with active ownership
     @GetMapping("/with-ownership")
     public ResponseEntity<List<LandParcel>> getLandParcelsWithActiveOwnership() {
@@ -1,12 +1,16 @@
 package rw.landManagementSystem.LandSystem.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import rw.landManagementSystem.LandSystem.dto.OwnershipSummary;
 import rw.landManagementSystem.LandSystem.model.Ownership;
 import rw.landManagementSystem.LandSystem.model.OwnershipStatus;
 import rw.landManagementSystem.LandSystem.model.OwnershipType;
 import rw.landManagementSystem.LandSystem.model.AcquisitionMethod;
+import rw.landManagementSystem.LandSystem.service.ExportService;
 import rw.landManagementSystem.LandSystem.service.OwnershipService;
 
 import jakarta.validation.Valid;
@@ -21,9 +25,11 @@ import java.util.Optional;
 public class OwnershipController {
 
     private final OwnershipService ownershipService;
+    private final ExportService exportService;
 
-    public OwnershipController(OwnershipService ownershipService) {
+    public OwnershipController(OwnershipService ownershipService, ExportService exportService) {
         this.ownershipService = ownershipService;
+        this.exportService = exportService;
     }
 
     // Create ownership
@@ -39,9 +45,17 @@ public class OwnershipController {
 
     // Get all ownerships
     @GetMapping
-    public ResponseEntity<List<Ownership>> getAllOwnerships() {
+    public ResponseEntity<List<OwnershipSummary>> getAllOwnerships() {
         List<Ownership> ownerships = ownershipService.getAllOwnerships();
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
+    }
+
+    // Stream every row as NDJSON (default) or CSV, gzipped when the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return ExportResponses.stream("ownerships", format, acceptEncoding, exportService::exportOwnerships);
     }
 
     // Get ownership by ID
@@ -79,30 +93,30 @@ public class OwnershipController {
 
     // Get ownerships by user
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Ownership>> getOwnershipsByUser(@PathVariable Long userId) {
+    public ResponseEntity<List<OwnershipSummary>> getOwnershipsByUser(@PathVariable Long userId) {
         List<Ownership> ownerships = ownershipService.getOwnershipsByUser(userId);
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Get active ownerships by user
     @GetMapping("/user/{userId}/active")
-    public ResponseEntity<List<Ownership>> getActiveOwnershipsByUser(@PathVariable Long userId) {
+    public ResponseEntity<List<OwnershipSummary>> getActiveOwnershipsByUser(@PathVariable Long userId) {
         List<Ownership> ownerships = ownershipService.getActiveOwnershipsByUser(userId);
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Get ownerships by land parcel
     @GetMapping("/land-parcel/{landParcelId}")
-    public ResponseEntity<List<Ownership>> getOwnershipsByLandParcel(@PathVariable Long landParcelId) {
+    public ResponseEntity<List<OwnershipSummary>> getOwnershipsByLandParcel(@PathVariable Long landParcelId) {
         List<Ownership> ownerships = ownershipService.getOwnershipsByLandParcel(landParcelId);
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Get active ownerships by land parcel
     @GetMapping("/land-parcel/{landParcelId}/active")
-    public ResponseEntity<List<Ownership>> getActiveOwnershipsByLandParcel(@PathVariable Long landParcelId) {
+    public ResponseEntity<List<OwnershipSummary>> getActiveOwnershipsByLandParcel(@PathVariable Long landParcelId) {
         List<Ownership> ownerships = ownershipService.getActiveOwnershipsByLandParcel(landParcelId);
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Find ownership by user and land parcel
@@ -123,23 +137,23 @@ public class OwnershipController {
 
     // Get all active ownerships
     @GetMapping("/active")
-    public ResponseEntity<List<Ownership>> getAllActiveOwnerships() {
+    public ResponseEntity<List<OwnershipSummary>> getAllActiveOwnerships() {
         List<Ownership> ownerships = ownershipService.getAllActiveOwnerships();
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Get ownerships by type
     @GetMapping("/type/{ownershipType}")
-    public ResponseEntity<List<Ownership>> getOwnershipsByType(@PathVariable OwnershipType ownershipType) {
+    public ResponseEntity<List<OwnershipSummary>> getOwnershipsByType(@PathVariable OwnershipType ownershipType) {
         List<Ownership> ownerships = ownershipService.getOwnershipsByType(ownershipType);
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Get ownerships by acquisition method
     @GetMapping("/acquisition-method/{acquisitionMethod}")
-    public ResponseEntity<List<Ownership>> getOwnershipsByAcquisitionMethod(@PathVariable AcquisitionMethod acquisitionMethod) {
+    public ResponseEntity<List<OwnershipSummary>> getOwnershipsByAcquisitionMethod(@PathVariable AcquisitionMethod acquisitionMethod) {
         List<Ownership> ownerships = ownershipService.getOwnershipsByAcquisitionMethod(acquisitionMethod);
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Find ownership by title deed number
@@ -152,55 +166,55 @@ public class OwnershipController {
 
     // Get ownerships by date range
     @GetMapping("/date-range")
-    public ResponseEntity<List<Ownership>> getOwnershipsByDateRange(
+    public ResponseEntity<List<OwnershipSummary>> getOwnershipsByDateRange(
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate) {
         List<Ownership> ownerships = ownershipService.getOwnershipsByDateRange(startDate, endDate);
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Get ownerships by percentage range
     @GetMapping("/percentage-range")
-    public ResponseEntity<List<Ownership>> getOwnershipsByPercentageRange(
+    public ResponseEntity<List<OwnershipSummary>> getOwnershipsByPercentageRange(
             @RequestParam BigDecimal minPercentage,
             @RequestParam BigDecimal maxPercentage) {
         List<Ownership> ownerships = ownershipService.getOwnershipsByPercentageRange(minPercentage, maxPercentage);
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Get full ownerships
     @GetMapping("/full")
-    public ResponseEntity<List<Ownership>> getFullOwnerships() {
+    public ResponseEntity<List<OwnershipSummary>> getFullOwnerships() {
         List<Ownership> ownerships = ownershipService.getFullOwnerships();
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Get partial ownerships
     @GetMapping("/partial")
-    public ResponseEntity<List<Ownership>> getPartialOwnerships() {
+    public ResponseEntity<List<OwnershipSummary>> getPartialOwnerships() {
         List<Ownership> ownerships = ownershipService.getPartialOwnerships();
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Get disputed ownerships
     @GetMapping("/disputed")
-    public ResponseEntity<List<Ownership>> getDisputedOwnerships() {
+    public ResponseEntity<List<OwnershipSummary>> getDisputedOwnerships() {
         List<Ownership> ownerships = ownershipService.getDisputedOwnerships();
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Get expiring ownerships
     @GetMapping("/expiring")
-    public ResponseEntity<List<Ownership>> getExpiringOwnerships(@RequestParam LocalDate date) {
+    public ResponseEntity<List<OwnershipSummary>> getExpiringOwnerships(@RequestParam LocalDate date) {
         List<Ownership> ownerships = ownershipService.getExpiringOwnerships(date);
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Get recent transfers
     @GetMapping("/recent-transfers")
-    public ResponseEntity<List<Ownership>> getRecentTransfers(@RequestParam LocalDate date) {
+    public ResponseEntity<List<OwnershipSummary>> getRecentTransfers(@RequestParam LocalDate date) {
         List<Ownership> ownerships = ownershipService.getRecentTransfers(date);
-        return new ResponseEntity<>(ownerships, HttpStatus.OK);
+        return new ResponseEntity<>(OwnershipSummary.listOf(ownerships), HttpStatus.OK);
     }
 
     // Status management endpoints
@@ -1,18 +1,31 @@
 package rw.landManagementSystem.LandSystem.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import rw.landManagementSystem.LandSystem.dto.BulkOperationResult;
+import rw.landManagementSystem.LandSystem.dto.BulkRequestOperation;
+import rw.landManagementSystem.LandSystem.dto.RequestSummary;
 import rw.landManagementSystem.LandSystem.model.Request;
 import rw.landManagementSystem.LandSystem.model.RequestStatus;
 import rw.landManagementSystem.LandSystem.model.RequestType;
 import rw.landManagementSystem.LandSystem.model.RequestPriority;
+import rw.landManagementSystem.LandSystem.service.ExportService;
+import rw.landManagementSystem.LandSystem.service.OfficerAssignmentService;
 import rw.landManagementSystem.LandSystem.service.RequestService;
+import rw.landManagementSystem.LandSystem.service.WorkQueueStreamService;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/requests")
@@ -20,9 +33,16 @@ import java.util.Optional;
 public class RequestController {
 
     private final RequestService requestService;
+    private final ExportService exportService;
+    private final OfficerAssignmentService assignmentService;
+    private final WorkQueueStreamService workQueueStream;
 
-    public RequestController(RequestService requestService) {
+    public RequestController(RequestService requestService, ExportService exportService,
+                             OfficerAssignmentService assignmentService, WorkQueueStreamService workQueueStream) {
         this.requestService = requestService;
+        this.exportService = exportService;
+        this.assignmentService = assignmentService;
+        this.workQueueStream = workQueueStream;
     }
 
     // Create request
@@ -38,9 +58,17 @@ public class RequestController {
 
     // Get all requests
     @GetMapping
-    public ResponseEntity<List<Request>> getAllRequests() {
+    public ResponseEntity<List<RequestSummary>> getAllRequests() {
         List<Request> requests = requestService.getAllRequests();
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
+    }
+
+    // Stream every row as NDJSON (default) or CSV, gzipped when the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return ExportResponses.stream("requests", format, acceptEncoding, exportService::exportRequests);
     }
 
     // Get request by ID
@@ -86,123 +114,160 @@ public class RequestController {
 
     // Get requests by requester
     @GetMapping("/requester/{requesterId}")
-    public ResponseEntity<List<Request>> getRequestsByRequester(@PathVariable Long requesterId) {
+    public ResponseEntity<List<RequestSummary>> getRequestsByRequester(@PathVariable Long requesterId) {
         List<Request> requests = requestService.getRequestsByRequester(requesterId);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get requests by requester and status
     @GetMapping("/requester/{requesterId}/status/{status}")
-    public ResponseEntity<List<Request>> getRequestsByRequesterAndStatus(@PathVariable Long requesterId, @PathVariable RequestStatus status) {
+    public ResponseEntity<List<RequestSummary>> getRequestsByRequesterAndStatus(@PathVariable Long requesterId, @PathVariable RequestStatus status) {
         List<Request> requests = requestService.getRequestsByRequesterAndStatus(requesterId, status);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get requests by land parcel
     @GetMapping("/land-parcel/{landParcelId}")
-    public ResponseEntity<List<Request>> getRequestsByLandParcel(@PathVariable Long landParcelId) {
+    public ResponseEntity<List<RequestSummary>> getRequestsByLandParcel(@PathVariable Long landParcelId) {
         List<Request> requests = requestService.getRequestsByLandParcel(landParcelId);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get requests by assigned officer
     @GetMapping("/officer/{officerId}")
-    public ResponseEntity<List<Request>> getRequestsByAssignedOfficer(@PathVariable Long officerId) {
+    public ResponseEntity<List<RequestSummary>> getRequestsByAssignedOfficer(@PathVariable Long officerId) {
         List<Request> requests = requestService.getRequestsByAssignedOfficer(officerId);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get requests by status
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Request>> getRequestsByStatus(@PathVariable RequestStatus status) {
+    public ResponseEntity<List<RequestSummary>> getRequestsByStatus(@PathVariable RequestStatus status) {
         List<Request> requests = requestService.getRequestsByStatus(status);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get requests by type
     @GetMapping("/type/{requestType}")
-    public ResponseEntity<List<Request>> getRequestsByType(@PathVariable RequestType requestType) {
+    public ResponseEntity<List<RequestSummary>> getRequestsByType(@PathVariable RequestType requestType) {
         List<Request> requests = requestService.getRequestsByType(requestType);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get requests by priority
     @GetMapping("/priority/{priority}")
-    public ResponseEntity<List<Request>> getRequestsByPriority(@PathVariable RequestPriority priority) {
+    public ResponseEntity<List<RequestSummary>> getRequestsByPriority(@PathVariable RequestPriority priority) {
         List<Request> requests = requestService.getRequestsByPriority(priority);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get pending requests ordered by priority
     @GetMapping("/pending/ordered")
-    public ResponseEntity<List<Request>> getPendingRequestsOrderedByPriority() {
+    public ResponseEntity<List<RequestSummary>> getPendingRequestsOrderedByPriority() {
         List<Request> requests = requestService.getPendingRequestsOrderedByPriority();
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
+    }
+
+    // Approve, reject, assign, ... many requests in one call; reports the outcome for every id
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('LAND_OFFICER')")
+    public ResponseEntity<BulkOperationResult> applyBulkOperation(@Valid @RequestBody BulkRequestOperation operation) {
+        try {
+            return new ResponseEntity<>(requestService.applyBulkOperation(operation), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Live work queue changes as Server-Sent Events: ALL, UNASSIGNED, or OFFICER with an officerId
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('LAND_OFFICER')")
+    public ResponseEntity<SseEmitter> streamWorkQueue(
+            @RequestParam(defaultValue = "ALL") WorkQueueStreamService.Scope scope,
+            @RequestParam(required = false) Long officerId) {
+        try {
+            return new ResponseEntity<>(workQueueStream.subscribe(scope, officerId), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/stream/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getWorkQueueStreamStatus() {
+        return new ResponseEntity<>(workQueueStream.getStatus(), HttpStatus.OK);
     }
 
     // Get unassigned requests
     @GetMapping("/unassigned")
-    public ResponseEntity<List<Request>> getUnassignedRequests() {
+    public ResponseEntity<List<RequestSummary>> getUnassignedRequests() {
         List<Request> requests = requestService.getUnassignedRequests();
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get overdue requests
     @GetMapping("/overdue")
-    public ResponseEntity<List<Request>> getOverdueRequests(@RequestParam(defaultValue = "30") int daysOverdue) {
+    public ResponseEntity<List<RequestSummary>> getOverdueRequests(@RequestParam(defaultValue = "30") int daysOverdue) {
         List<Request> requests = requestService.getOverdueRequests(daysOverdue);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
+    }
+
+    // Open requests past their review or decision deadline
+    @GetMapping("/sla/breached")
+    public ResponseEntity<List<RequestSummary>> getSlaBreachedRequests() {
+        List<Request> requests = requestService.getSlaBreachedRequests();
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get high priority pending requests
     @GetMapping("/high-priority/pending")
-    public ResponseEntity<List<Request>> getHighPriorityPendingRequests() {
+    public ResponseEntity<List<RequestSummary>> getHighPriorityPendingRequests() {
         List<Request> requests = requestService.getHighPriorityPendingRequests();
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get requests requiring review
     @GetMapping("/requiring-review")
-    public ResponseEntity<List<Request>> getRequestsRequiringReview() {
+    public ResponseEntity<List<RequestSummary>> getRequestsRequiringReview() {
         List<Request> requests = requestService.getRequestsRequiringReview();
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get completed requests by officer
     @GetMapping("/officer/{officerId}/completed")
-    public ResponseEntity<List<Request>> getCompletedRequestsByOfficer(@PathVariable Long officerId) {
+    public ResponseEntity<List<RequestSummary>> getCompletedRequestsByOfficer(@PathVariable Long officerId) {
         List<Request> requests = requestService.getCompletedRequestsByOfficer(officerId);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Search requests by description
     @GetMapping("/search/description")
-    public ResponseEntity<List<Request>> searchRequestsByDescription(@RequestParam String keyword) {
+    public ResponseEntity<List<RequestSummary>> searchRequestsByDescription(@RequestParam String keyword) {
         List<Request> requests = requestService.searchRequestsByDescription(keyword);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Search requests by requester name
     @GetMapping("/search/requester")
-    public ResponseEntity<List<Request>> searchRequestsByRequesterName(@RequestParam String name) {
+    public ResponseEntity<List<RequestSummary>> searchRequestsByRequesterName(@RequestParam String name) {
         List<Request> requests = requestService.searchRequestsByRequesterName(name);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get recent requests
     @GetMapping("/recent")
-    public ResponseEntity<List<Request>> getRecentRequests(@RequestParam(defaultValue = "7") int days) {
+    public ResponseEntity<List<RequestSummary>> getRecentRequests(@RequestParam(defaultValue = "7") int days) {
         List<Request> requests = requestService.getRecentRequests(days);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Get requests by date range
     @GetMapping("/date-range")
-    public ResponseEntity<List<Request>> getRequestsByDateRange(
+    public ResponseEntity<List<RequestSummary>> getRequestsByDateRange(
             @RequestParam LocalDateTime startDate,
             @RequestParam LocalDateTime endDate) {
         List<Request> requests = requestService.getRequestsByDateRange(startDate, endDate);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+        return new ResponseEntity<>(RequestSummary.listOf(requests), HttpStatus.OK);
     }
 
     // Status management endpoints
@@ -277,6 +342,38 @@ public class RequestController {
         }
     }
 
+    // Assigns to the least-loaded eligible officer
+    @PatchMapping("/{requestId}/auto-assign")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('LAND_OFFICER')")
+    public ResponseEntity<Map<String, Long>> autoAssignRequest(@PathVariable Long requestId) {
+        try {
+            Long officerId = assignmentService.autoAssign(requestId);
+            return new ResponseEntity<>(Map.of("requestId", requestId, "officerId", officerId), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Assigns up to 'limit' unassigned open requests, most urgent first
+    @PostMapping("/auto-assign")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('LAND_OFFICER')")
+    public ResponseEntity<Map<String, Integer>> autoAssignPendingRequests(@RequestParam(defaultValue = "100") int limit) {
+        int assigned = assignmentService.autoAssignPending(Math.max(0, limit));
+        return new ResponseEntity<>(Map.of("assigned", assigned), HttpStatus.OK);
+    }
+
+    @GetMapping("/assignment/workload")
+    public ResponseEntity<List<Map<String, Object>>> getOfficerWorkloads() {
+        return new ResponseEntity<>(assignmentService.getWorkloads(), HttpStatus.OK);
+    }
+
+    @PutMapping("/assignment/officers/{officerId}/skills")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> setOfficerSkills(@PathVariable Long officerId, @RequestBody Set<RequestType> skills) {
+        assignmentService.setOfficerSkills(officerId, skills);
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
     @PatchMapping("/{requestId}/unassign")
     public ResponseEntity<Void> unassignRequest(@PathVariable Long requestId) {
         try {
@@ -333,12 +430,17 @@ public class RequestController {
         return new ResponseEntity<>(count, HttpStatus.OK);
     }
 
-    // Temporarily disabled due to query complexity
-    // @GetMapping("/stats/average-processing-time")
-    // public ResponseEntity<Double> getAverageProcessingTimeInDays() {
-    //     Double averageTime = requestService.getAverageProcessingTimeInDays();
-    //     return new ResponseEntity<>(averageTime, HttpStatus.OK);
-    // }
+    @GetMapping("/stats/average-processing-time")
+    public ResponseEntity<Double> getAverageProcessingTimeInDays() {
+        Double averageTime = requestService.getAverageProcessingTimeInDays();
+        return new ResponseEntity<>(averageTime, HttpStatus.OK);
+    }
+
+    // Time-to-review and time-to-decision percentiles, by request type and officer
+    @GetMapping("/stats/processing-times")
+    public ResponseEntity<Map<String, Object>> getProcessingTimeReport() {
+        return new ResponseEntity<>(requestService.getProcessingTimeReport(), HttpStatus.OK);
+    }
 
     // Validation endpoints
     @GetMapping("/validate/request-number/{requestNumber}")
@@ -0,0 +1,85 @@
+package rw.landManagementSystem.LandSystem.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import rw.landManagementSystem.LandSystem.dto.UploadInitRequest;
+import rw.landManagementSystem.LandSystem.dto.UploadSessionStatus;
+import rw.landManagementSystem.LandSystem.model.Document;
+import rw.landManagementSystem.LandSystem.service.ChunkedUploadService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Resumable chunked uploads: POST to open a session, PUT each chunk as a raw body with its
+// X-Chunk-SHA256, GET the session to find missing chunks after a dropped connection, then complete.
+@RestController
+@RequestMapping("/api/uploads")
+@CrossOrigin(origins = "*")
+public class UploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    public UploadController(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    @PostMapping
+    public ResponseEntity<UploadSessionStatus> startUpload(@Valid @RequestBody UploadInitRequest request,
+                                                           Authentication authentication) {
+        try {
+            UploadSessionStatus status = chunkedUploadService.startUpload(request, authentication.getName());
+            return new ResponseEntity<>(status, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<UploadSessionStatus> getUploadStatus(@PathVariable String uploadId,
+                                                               Authentication authentication) {
+        try {
+            return new ResponseEntity<>(chunkedUploadService.getStatus(uploadId, authentication.getName()), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @PutMapping("/{uploadId}/chunks/{index}")
+    public ResponseEntity<UploadSessionStatus> uploadChunk(@PathVariable String uploadId, @PathVariable int index,
+                                                           @RequestHeader(value = "X-Chunk-SHA256", required = false) String sha256,
+                                                           HttpServletRequest request, Authentication authentication) {
+        try (InputStream body = request.getInputStream()) {
+            UploadSessionStatus status = chunkedUploadService.writeChunk(uploadId, index, sha256, body,
+                    authentication.getName());
+            return new ResponseEntity<>(status, HttpStatus.OK);
+        } catch (IOException | RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> completeUpload(@PathVariable String uploadId, Authentication authentication) {
+        try {
+            Document document = chunkedUploadService.completeUpload(uploadId, authentication.getName());
+            return new ResponseEntity<>(document, HttpStatus.OK);
+        } catch (ChunkedUploadService.IncompleteUploadException e) {
+            return new ResponseEntity<>(e.getStatus(), HttpStatus.CONFLICT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable String uploadId, Authentication authentication) {
+        try {
+            chunkedUploadService.abortUpload(uploadId, authentication.getName());
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+}
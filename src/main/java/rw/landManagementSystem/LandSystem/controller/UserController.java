@@ -8,9 +8,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import rw.landManagementSystem.LandSystem.dto.UserSummary;
 import rw.landManagementSystem.LandSystem.model.User;
 import rw.landManagementSystem.LandSystem.model.UserRole;
 import rw.landManagementSystem.LandSystem.model.UserStatus;
+import rw.landManagementSystem.LandSystem.security.UserPrincipalCache;
 import rw.landManagementSystem.LandSystem.service.UserService;
 
 import jakarta.validation.Valid;
@@ -25,9 +27,11 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService userService;
+    private final UserPrincipalCache principalCache;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserPrincipalCache principalCache) {
         this.userService = userService;
+        this.principalCache = principalCache;
     }
 
     // Create user
@@ -44,9 +48,9 @@ public class UserController {
 
     // Get all users
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<UserSummary>> getAllUsers() {
         List<User> users = userService.getAllUsers();
-        return new ResponseEntity<>(users, HttpStatus.OK);
+        return new ResponseEntity<>(UserSummary.listOf(users), HttpStatus.OK);
     }
 
     // Get users with pagination and filters
@@ -67,7 +71,7 @@ public class UserController {
         Page<User> userPage = userService.getUsersWithFilters(search, role, status, pageable);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("users", userPage.getContent());
+        response.put("users", UserSummary.listOf(userPage.getContent()));
         response.put("currentPage", userPage.getNumber());
         response.put("totalItems", userPage.getTotalElements());
         response.put("totalPages", userPage.getTotalPages());
@@ -139,51 +143,51 @@ public class UserController {
 
     // Get users by role
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<User>> getUsersByRole(@PathVariable UserRole role) {
+    public ResponseEntity<List<UserSummary>> getUsersByRole(@PathVariable UserRole role) {
         List<User> users = userService.getUsersByRole(role);
-        return new ResponseEntity<>(users, HttpStatus.OK);
+        return new ResponseEntity<>(UserSummary.listOf(users), HttpStatus.OK);
     }
 
     // Get users by status
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<User>> getUsersByStatus(@PathVariable UserStatus status) {
+    public ResponseEntity<List<UserSummary>> getUsersByStatus(@PathVariable UserStatus status) {
         List<User> users = userService.getUsersByStatus(status);
-        return new ResponseEntity<>(users, HttpStatus.OK);
+        return new ResponseEntity<>(UserSummary.listOf(users), HttpStatus.OK);
     }
 
     // Get active users
     @GetMapping("/active")
-    public ResponseEntity<List<User>> getActiveUsers() {
+    public ResponseEntity<List<UserSummary>> getActiveUsers() {
         List<User> users = userService.getActiveUsers();
-        return new ResponseEntity<>(users, HttpStatus.OK);
+        return new ResponseEntity<>(UserSummary.listOf(users), HttpStatus.OK);
     }
 
     // Get active land officers
     @GetMapping("/land-officers")
-    public ResponseEntity<List<User>> getActiveLandOfficers() {
+    public ResponseEntity<List<UserSummary>> getActiveLandOfficers() {
         List<User> officers = userService.getActiveLandOfficers();
-        return new ResponseEntity<>(officers, HttpStatus.OK);
+        return new ResponseEntity<>(UserSummary.listOf(officers), HttpStatus.OK);
     }
 
     // Search users by name
     @GetMapping("/search")
-    public ResponseEntity<List<User>> searchUsersByName(@RequestParam String name) {
+    public ResponseEntity<List<UserSummary>> searchUsersByName(@RequestParam String name) {
         List<User> users = userService.searchUsersByName(name);
-        return new ResponseEntity<>(users, HttpStatus.OK);
+        return new ResponseEntity<>(UserSummary.listOf(users), HttpStatus.OK);
     }
 
     // Get users with active land ownership
     @GetMapping("/landowners")
-    public ResponseEntity<List<User>> getUsersWithActiveLandOwnership() {
+    public ResponseEntity<List<UserSummary>> getUsersWithActiveLandOwnership() {
         List<User> users = userService.getUsersWithActiveLandOwnership();
-        return new ResponseEntity<>(users, HttpStatus.OK);
+        return new ResponseEntity<>(UserSummary.listOf(users), HttpStatus.OK);
     }
 
     // Get users by location
     @GetMapping("/location")
-    public ResponseEntity<List<User>> getUsersByLocation(@RequestParam String location) {
+    public ResponseEntity<List<UserSummary>> getUsersByLocation(@RequestParam String location) {
         List<User> users = userService.getUsersByLocation(location);
-        return new ResponseEntity<>(users, HttpStatus.OK);
+        return new ResponseEntity<>(UserSummary.listOf(users), HttpStatus.OK);
     }
 
     // Activate user
@@ -219,6 +223,18 @@ public class UserController {
         }
     }
 
+    // Set or clear a user's storage quota
+    @PatchMapping("/{id}/storage-quota")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> setStorageQuota(@PathVariable Long id, @RequestParam(required = false) Long bytes) {
+        try {
+            userService.setStorageQuota(id, bytes);
+            return new ResponseEntity<>(HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // Get user statistics
     @GetMapping("/stats/total")
     public ResponseEntity<Long> getTotalUserCount() {
@@ -238,6 +254,12 @@ public class UserController {
         return new ResponseEntity<>(count, HttpStatus.OK);
     }
 
+    @GetMapping("/stats/principal-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getPrincipalCacheStats() {
+        return new ResponseEntity<>(principalCache.getStats(), HttpStatus.OK);
+    }
+
     // Validation endpoints
     @GetMapping("/validate/email/{email}")
     public ResponseEntity<Boolean> isEmailAvailable(@PathVariable String email) {
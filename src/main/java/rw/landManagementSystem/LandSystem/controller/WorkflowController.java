@@ -0,0 +1,97 @@
+package rw.landManagementSystem.LandSystem.controller;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import rw.landManagementSystem.LandSystem.dto.CursorPage;
+import rw.landManagementSystem.LandSystem.model.WorkflowAggregate;
+import rw.landManagementSystem.LandSystem.model.WorkflowEvent;
+import rw.landManagementSystem.LandSystem.service.WorkflowService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/workflow")
+@CrossOrigin(origins = "*")
+public class WorkflowController {
+
+    private final WorkflowService workflowService;
+
+    public WorkflowController(WorkflowService workflowService) {
+        this.workflowService = workflowService;
+    }
+
+    // Follow the workflow event log from a cursor
+    @GetMapping("/events")
+    public ResponseEntity<CursorPage<WorkflowEvent>> getEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(workflowService.getEvents(cursor, size), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // History of one request, ownership or document
+    @GetMapping("/events/{aggregateType}/{aggregateId}")
+    public ResponseEntity<CursorPage<WorkflowEvent>> getAggregateHistory(
+            @PathVariable WorkflowAggregate aggregateType,
+            @PathVariable Long aggregateId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(workflowService.getAggregateHistory(aggregateType, aggregateId, cursor, size),
+                    HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Dashboard: items per status, from the status-counts projection
+    @GetMapping("/dashboard/status-counts")
+    public ResponseEntity<Map<String, Map<String, Long>>> getStatusCounts() {
+        return new ResponseEntity<>(workflowService.getStatusCounts(), HttpStatus.OK);
+    }
+
+    // Dashboard: transitions per day (last 30 days by default)
+    @GetMapping("/dashboard/daily-transitions")
+    public ResponseEntity<List<Map<String, Object>>> getDailyTransitions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return new ResponseEntity<>(workflowService.getDailyTransitions(from, to), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Request queue sizes by status and officer
+    @GetMapping("/queues")
+    public ResponseEntity<List<Map<String, Object>>> getRequestQueues(
+            @RequestParam(required = false) List<String> status) {
+        return new ResponseEntity<>(workflowService.getRequestQueues(status), HttpStatus.OK);
+    }
+
+    // Projection offsets and how far each is behind the log
+    @GetMapping("/projections")
+    public ResponseEntity<Map<String, Object>> getProjectionStatus() {
+        return new ResponseEntity<>(workflowService.getProjectionStatus(), HttpStatus.OK);
+    }
+
+    // Replay a projection from the start of the log
+    @PostMapping("/projections/{name}/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildProjection(@PathVariable String name) {
+        try {
+            workflowService.rebuildProjection(name);
+            return new ResponseEntity<>(HttpStatus.ACCEPTED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+}
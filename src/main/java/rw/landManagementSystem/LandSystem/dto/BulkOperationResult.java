@@ -0,0 +1,82 @@
+package rw.landManagementSystem.LandSystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkOperationResult {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND,
+        DUPLICATE
+    }
+
+    private final BulkRequestOperation.Action action;
+    private long updated;
+    private long unchanged;
+    private long failed;
+    private long durationMs;
+    private final List<Item> results = new ArrayList<>();
+
+    public BulkOperationResult(BulkRequestOperation.Action action) {
+        this.action = action;
+    }
+
+    public void record(Long requestId, Outcome outcome) {
+        switch (outcome) {
+            case UPDATED -> updated++;
+            case UNCHANGED -> unchanged++;
+            default -> failed++;
+        }
+        results.add(new Item(requestId, outcome));
+    }
+
+    // Getters and Setters
+    public BulkRequestOperation.Action getAction() {
+        return action;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    // One entry per submitted id, in submission order
+    public List<Item> getResults() {
+        return results;
+    }
+
+    public static class Item {
+        private final Long requestId;
+        private final Outcome outcome;
+
+        public Item(Long requestId, Outcome outcome) {
+            this.requestId = requestId;
+            this.outcome = outcome;
+        }
+
+        public Long getRequestId() {
+            return requestId;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package rw.landManagementSystem.LandSystem.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import rw.landManagementSystem.LandSystem.model.RequestPriority;
+
+import java.util.List;
+
+public class BulkRequestOperation {
+
+    public enum Action {
+        APPROVE,
+        REJECT,
+        HOLD,
+        CANCEL,
+        START_REVIEW,
+        ASSIGN,
+        UNASSIGN,
+        PRIORITY
+    }
+
+    @NotNull(message = "Action is required")
+    private Action action;
+
+    @NotEmpty(message = "At least one request id is required")
+    @Size(max = 10000, message = "At most 10000 requests per operation")
+    private List<Long> requestIds;
+
+    // ASSIGN only
+    private Long officerId;
+
+    // PRIORITY only
+    private RequestPriority priority;
+
+    // REJECT only
+    @Size(max = 1000, message = "Rejection reason must not exceed 1000 characters")
+    private String rejectionReason;
+
+    // Constructors
+    public BulkRequestOperation() {}
+
+    public BulkRequestOperation(Action action, List<Long> requestIds) {
+        this.action = action;
+        this.requestIds = requestIds;
+    }
+
+    // Getters and Setters
+    public Action getAction() {
+        return action;
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    public List<Long> getRequestIds() {
+        return requestIds;
+    }
+
+    public void setRequestIds(List<Long> requestIds) {
+        this.requestIds = requestIds;
+    }
+
+    public Long getOfficerId() {
+        return officerId;
+    }
+
+    public void setOfficerId(Long officerId) {
+        this.officerId = officerId;
+    }
+
+    public RequestPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(RequestPriority priority) {
+        this.priority = priority;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public void setRejectionReason(String rejectionReason) {
+        this.rejectionReason = rejectionReason;
+    }
+}
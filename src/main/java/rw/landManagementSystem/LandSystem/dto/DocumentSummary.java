@@ -0,0 +1,130 @@
+package rw.landManagementSystem.LandSystem.dto;
+
+import rw.landManagementSystem.LandSystem.model.Document;
+import rw.landManagementSystem.LandSystem.model.DocumentProcessingStatus;
+import rw.landManagementSystem.LandSystem.model.DocumentStatus;
+import rw.landManagementSystem.LandSystem.model.DocumentType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// A document as the list endpoints return it. Storage paths and hashes stay server-side; the parcel,
+// uploader and verifier are fetched with the row and the request is referenced by id only.
+public class DocumentSummary {
+
+    private final Long id;
+    private final String documentName;
+    private final DocumentType documentType;
+    private final String mimeType;
+    private final Long fileSize;
+    private final DocumentStatus status;
+    private final Integer version;
+    private final Boolean latestVersion;
+    private final Boolean isVerified;
+    private final LocalDateTime verificationDate;
+    private final LocalDateTime expiryDate;
+    private final DocumentProcessingStatus processingStatus;
+    private final LocalDateTime createdAt;
+    private final LandParcelRef landParcel;
+    private final Long requestId;
+    private final UserRef uploadedBy;
+    private final UserRef verifiedBy;
+
+    // Constructors
+    private DocumentSummary(Document document) {
+        this.id = document.getId();
+        this.documentName = document.getDocumentName();
+        this.documentType = document.getDocumentType();
+        this.mimeType = document.getMimeType();
+        this.fileSize = document.getFileSize();
+        this.status = document.getStatus();
+        this.version = document.getVersion();
+        this.latestVersion = document.getLatestVersion();
+        this.isVerified = document.getIsVerified();
+        this.verificationDate = document.getVerificationDate();
+        this.expiryDate = document.getExpiryDate();
+        this.processingStatus = document.getProcessingStatus();
+        this.createdAt = document.getCreatedAt();
+        this.landParcel = LandParcelRef.of(document.getLandParcel());
+        this.requestId = document.getRequest() != null ? document.getRequest().getId() : null;
+        this.uploadedBy = UserRef.of(document.getUploadedBy());
+        this.verifiedBy = UserRef.of(document.getVerifiedBy());
+    }
+
+    public static DocumentSummary of(Document document) {
+        return new DocumentSummary(document);
+    }
+
+    public static List<DocumentSummary> listOf(List<Document> documents) {
+        return documents.stream().map(DocumentSummary::new).toList();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getDocumentName() {
+        return documentName;
+    }
+
+    public DocumentType getDocumentType() {
+        return documentType;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public DocumentStatus getStatus() {
+        return status;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public Boolean getLatestVersion() {
+        return latestVersion;
+    }
+
+    public Boolean getIsVerified() {
+        return isVerified;
+    }
+
+    public LocalDateTime getVerificationDate() {
+        return verificationDate;
+    }
+
+    public LocalDateTime getExpiryDate() {
+        return expiryDate;
+    }
+
+    public DocumentProcessingStatus getProcessingStatus() {
+        return processingStatus;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LandParcelRef getLandParcel() {
+        return landParcel;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public UserRef getUploadedBy() {
+        return uploadedBy;
+    }
+
+    public UserRef getVerifiedBy() {
+        return verifiedBy;
+    }
+}
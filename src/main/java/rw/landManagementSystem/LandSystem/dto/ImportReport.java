@@ -0,0 +1,84 @@
+package rw.landManagementSystem.LandSystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+
+    // Beyond this only the failure count grows, so a bad file cannot exhaust memory
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long durationMs;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void recordImported(int count) {
+        imported += count;
+    }
+
+    public void recordRow() {
+        totalRows++;
+    }
+
+    public void recordError(long row, String parcelNumber, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, parcelNumber, message));
+        }
+    }
+
+    // Getters and Setters
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+
+    public static class RowError {
+        private final long row;
+        private final String parcelNumber;
+        private final String message;
+
+        public RowError(long row, String parcelNumber, String message) {
+            this.row = row;
+            this.parcelNumber = parcelNumber;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getParcelNumber() {
+            return parcelNumber;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package rw.landManagementSystem.LandSystem.dto;
+
+import org.hibernate.Hibernate;
+import rw.landManagementSystem.LandSystem.model.LandParcel;
+
+// The land parcel an entity points at, as list views show it; see UserRef
+public class LandParcelRef {
+
+    private final Long id;
+    private final String parcelNumber;
+    private final String district;
+
+    // Constructors
+    private LandParcelRef(Long id, String parcelNumber, String district) {
+        this.id = id;
+        this.parcelNumber = parcelNumber;
+        this.district = district;
+    }
+
+    public static LandParcelRef of(LandParcel landParcel) {
+        if (landParcel == null) {
+            return null;
+        }
+        if (!Hibernate.isInitialized(landParcel)) {
+            return new LandParcelRef(landParcel.getId(), null, null);
+        }
+        return new LandParcelRef(landParcel.getId(), landParcel.getParcelNumber(), landParcel.getDistrict());
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getParcelNumber() {
+        return parcelNumber;
+    }
+
+    public String getDistrict() {
+        return district;
+    }
+}
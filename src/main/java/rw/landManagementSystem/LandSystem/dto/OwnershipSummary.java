@@ -0,0 +1,94 @@
+package rw.landManagementSystem.LandSystem.dto;
+
+import rw.landManagementSystem.LandSystem.model.AcquisitionMethod;
+import rw.landManagementSystem.LandSystem.model.Ownership;
+import rw.landManagementSystem.LandSystem.model.OwnershipStatus;
+import rw.landManagementSystem.LandSystem.model.OwnershipType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// An ownership as the list endpoints return it, with the owner and parcel fetched in the same statement
+public class OwnershipSummary {
+
+    private final Long id;
+    private final UserRef user;
+    private final LandParcelRef landParcel;
+    private final BigDecimal ownershipPercentage;
+    private final OwnershipType ownershipType;
+    private final LocalDate acquisitionDate;
+    private final AcquisitionMethod acquisitionMethod;
+    private final String titleDeedNumber;
+    private final OwnershipStatus status;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    // Constructors
+    private OwnershipSummary(Ownership ownership) {
+        this.id = ownership.getId();
+        this.user = UserRef.of(ownership.getUser());
+        this.landParcel = LandParcelRef.of(ownership.getLandParcel());
+        this.ownershipPercentage = ownership.getOwnershipPercentage();
+        this.ownershipType = ownership.getOwnershipType();
+        this.acquisitionDate = ownership.getAcquisitionDate();
+        this.acquisitionMethod = ownership.getAcquisitionMethod();
+        this.titleDeedNumber = ownership.getTitleDeedNumber();
+        this.status = ownership.getStatus();
+        this.startDate = ownership.getStartDate();
+        this.endDate = ownership.getEndDate();
+    }
+
+    public static OwnershipSummary of(Ownership ownership) {
+        return new OwnershipSummary(ownership);
+    }
+
+    public static List<OwnershipSummary> listOf(List<Ownership> ownerships) {
+        return ownerships.stream().map(OwnershipSummary::new).toList();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public UserRef getUser() {
+        return user;
+    }
+
+    public LandParcelRef getLandParcel() {
+        return landParcel;
+    }
+
+    public BigDecimal getOwnershipPercentage() {
+        return ownershipPercentage;
+    }
+
+    public OwnershipType getOwnershipType() {
+        return ownershipType;
+    }
+
+    public LocalDate getAcquisitionDate() {
+        return acquisitionDate;
+    }
+
+    public AcquisitionMethod getAcquisitionMethod() {
+        return acquisitionMethod;
+    }
+
+    public String getTitleDeedNumber() {
+        return titleDeedNumber;
+    }
+
+    public OwnershipStatus getStatus() {
+        return status;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+}
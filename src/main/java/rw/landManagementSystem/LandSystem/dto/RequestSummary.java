@@ -0,0 +1,112 @@
+package rw.landManagementSystem.LandSystem.dto;
+
+import rw.landManagementSystem.LandSystem.model.Request;
+import rw.landManagementSystem.LandSystem.model.RequestPriority;
+import rw.landManagementSystem.LandSystem.model.RequestStatus;
+import rw.landManagementSystem.LandSystem.model.RequestType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// A request as the list endpoints return it: its own columns plus references to the requester,
+// officer and parcel, which the list queries fetch in the same statement
+public class RequestSummary {
+
+    private final Long id;
+    private final String requestNumber;
+    private final RequestType requestType;
+    private final String description;
+    private final RequestStatus status;
+    private final RequestPriority priority;
+    private final LocalDateTime submissionDate;
+    private final LocalDateTime reviewDate;
+    private final LocalDateTime completionDate;
+    private final String rejectionReason;
+    private final UserRef requester;
+    private final UserRef assignedOfficer;
+    private final LandParcelRef landParcel;
+    private final LocalDateTime updatedAt;
+
+    // Constructors
+    private RequestSummary(Request request) {
+        this.id = request.getId();
+        this.requestNumber = request.getRequestNumber();
+        this.requestType = request.getRequestType();
+        this.description = request.getDescription();
+        this.status = request.getStatus();
+        this.priority = request.getPriority();
+        this.submissionDate = request.getSubmissionDate();
+        this.reviewDate = request.getReviewDate();
+        this.completionDate = request.getCompletionDate();
+        this.rejectionReason = request.getRejectionReason();
+        this.requester = UserRef.of(request.getRequester());
+        this.assignedOfficer = UserRef.of(request.getAssignedOfficer());
+        this.landParcel = LandParcelRef.of(request.getLandParcel());
+        this.updatedAt = request.getUpdatedAt();
+    }
+
+    public static RequestSummary of(Request request) {
+        return new RequestSummary(request);
+    }
+
+    public static List<RequestSummary> listOf(List<Request> requests) {
+        return requests.stream().map(RequestSummary::new).toList();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getRequestNumber() {
+        return requestNumber;
+    }
+
+    public RequestType getRequestType() {
+        return requestType;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public RequestStatus getStatus() {
+        return status;
+    }
+
+    public RequestPriority getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getSubmissionDate() {
+        return submissionDate;
+    }
+
+    public LocalDateTime getReviewDate() {
+        return reviewDate;
+    }
+
+    public LocalDateTime getCompletionDate() {
+        return completionDate;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public UserRef getRequester() {
+        return requester;
+    }
+
+    public UserRef getAssignedOfficer() {
+        return assignedOfficer;
+    }
+
+    public LandParcelRef getLandParcel() {
+        return landParcel;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,76 @@
+package rw.landManagementSystem.LandSystem.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public class UploadInitRequest {
+
+    @NotNull(message = "Document id is required")
+    private Long documentId;
+
+    @Size(max = 255, message = "File name must not exceed 255 characters")
+    private String fileName;
+
+    @Size(max = 100, message = "Mime type must not exceed 100 characters")
+    private String mimeType;
+
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be positive")
+    private Long totalSize;
+
+    // Optional; the server default is used when absent
+    private Integer chunkSize;
+
+    // Constructors
+    public UploadInitRequest() {}
+
+    public UploadInitRequest(Long documentId, String fileName, String mimeType, Long totalSize, Integer chunkSize) {
+        this.documentId = documentId;
+        this.fileName = fileName;
+        this.mimeType = mimeType;
+        this.totalSize = totalSize;
+        this.chunkSize = chunkSize;
+    }
+
+    // Getters and Setters
+    public Long getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(Long documentId) {
+        this.documentId = documentId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
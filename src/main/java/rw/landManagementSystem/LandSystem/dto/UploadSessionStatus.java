@@ -0,0 +1,101 @@
+package rw.landManagementSystem.LandSystem.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// What a client needs to resume an upload: the agreed chunking and which chunks are still missing
+public class UploadSessionStatus {
+
+    private String uploadId;
+    private Long documentId;
+    private Long totalSize;
+    private Integer chunkSize;
+    private Integer totalChunks;
+    private Integer receivedChunks;
+    private List<Integer> missingChunks;
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public UploadSessionStatus() {}
+
+    public UploadSessionStatus(String uploadId, Long documentId, Long totalSize, Integer chunkSize,
+                               Integer totalChunks, List<Integer> missingChunks, LocalDateTime expiresAt) {
+        this.uploadId = uploadId;
+        this.documentId = documentId;
+        this.totalSize = totalSize;
+        this.chunkSize = chunkSize;
+        this.totalChunks = totalChunks;
+        this.receivedChunks = totalChunks - missingChunks.size();
+        this.missingChunks = missingChunks;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isComplete() {
+        return missingChunks != null && missingChunks.isEmpty();
+    }
+
+    // Getters and Setters
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public Long getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(Long documentId) {
+        this.documentId = documentId;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Integer getTotalChunks() {
+        return totalChunks;
+    }
+
+    public void setTotalChunks(Integer totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public Integer getReceivedChunks() {
+        return receivedChunks;
+    }
+
+    public void setReceivedChunks(Integer receivedChunks) {
+        this.receivedChunks = receivedChunks;
+    }
+
+    public List<Integer> getMissingChunks() {
+        return missingChunks;
+    }
+
+    public void setMissingChunks(List<Integer> missingChunks) {
+        this.missingChunks = missingChunks;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,34 @@
+package rw.landManagementSystem.LandSystem.dto;
+
+import org.hibernate.Hibernate;
+import rw.landManagementSystem.LandSystem.model.User;
+
+// The user an entity points at, as list views show it. Reading the id never initialises a lazy
+// proxy; the name is only filled in when the association was fetched with the row.
+public class UserRef {
+
+    private final Long id;
+    private final String fullName;
+
+    // Constructors
+    private UserRef(Long id, String fullName) {
+        this.id = id;
+        this.fullName = fullName;
+    }
+
+    public static UserRef of(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserRef(user.getId(), Hibernate.isInitialized(user) ? user.getFullName() : null);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+}
@@ -0,0 +1,74 @@
+package rw.landManagementSystem.LandSystem.dto;
+
+import rw.landManagementSystem.LandSystem.model.User;
+import rw.landManagementSystem.LandSystem.model.UserRole;
+import rw.landManagementSystem.LandSystem.model.UserStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// A user as the list endpoints return it; credentials, reset tokens and identity numbers are left out
+public class UserSummary {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phoneNumber;
+    private final UserRole role;
+    private final UserStatus status;
+    private final LocalDateTime createdAt;
+
+    // Constructors
+    private UserSummary(User user) {
+        this.id = user.getId();
+        this.firstName = user.getFirstName();
+        this.lastName = user.getLastName();
+        this.email = user.getEmail();
+        this.phoneNumber = user.getPhoneNumber();
+        this.role = user.getRole();
+        this.status = user.getStatus();
+        this.createdAt = user.getCreatedAt();
+    }
+
+    public static UserSummary of(User user) {
+        return new UserSummary(user);
+    }
+
+    public static List<UserSummary> listOf(List<User> users) {
+        return users.stream().map(UserSummary::new).toList();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,53 @@
+package rw.landManagementSystem.LandSystem.event;
+
+import java.time.LocalDateTime;
+
+// Published once a document or ownership has been moved to EXPIRED and the change has committed.
+// Listeners (notifications, audit) receive it on the scanner's thread.
+public class ExpiryEvent {
+
+    public enum Subject {
+        DOCUMENT,
+        OWNERSHIP
+    }
+
+    private final Subject subject;
+    private final Long id;
+    private final Long landParcelId;
+    private final Long holderId;
+    private final LocalDateTime expiredAt;
+
+    public ExpiryEvent(Subject subject, Long id, Long landParcelId, Long holderId, LocalDateTime expiredAt) {
+        this.subject = subject;
+        this.id = id;
+        this.landParcelId = landParcelId;
+        this.holderId = holderId;
+        this.expiredAt = expiredAt;
+    }
+
+    public Subject getSubject() {
+        return subject;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getLandParcelId() {
+        return landParcelId;
+    }
+
+    // The uploader of a document, or the owner of an ownership
+    public Long getHolderId() {
+        return holderId;
+    }
+
+    public LocalDateTime getExpiredAt() {
+        return expiredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpiryEvent{" + subject + " " + id + ", expiredAt=" + expiredAt + "}";
+    }
+}
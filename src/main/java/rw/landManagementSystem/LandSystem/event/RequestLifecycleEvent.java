@@ -0,0 +1,113 @@
+package rw.landManagementSystem.LandSystem.event;
+
+import rw.landManagementSystem.LandSystem.model.Request;
+import rw.landManagementSystem.LandSystem.model.RequestPriority;
+import rw.landManagementSystem.LandSystem.model.RequestStatus;
+import rw.landManagementSystem.LandSystem.model.RequestType;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Published by RequestService once a change to a request has committed. Carries the request's
+// workflow-relevant state before and after, so listeners never need to reload it.
+public class RequestLifecycleEvent {
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        PRIORITY_CHANGED,
+        ASSIGNED,
+        AUTO_ASSIGNED,
+        UNASSIGNED,
+        DELETED
+    }
+
+    // The parts of a request that drive workflow: status, priority, type and assignee
+    public static final class State {
+        private final RequestStatus status;
+        private final RequestPriority priority;
+        private final RequestType requestType;
+        private final Long assignedOfficerId;
+
+        private State(RequestStatus status, RequestPriority priority, RequestType requestType, Long assignedOfficerId) {
+            this.status = status;
+            this.priority = priority;
+            this.requestType = requestType;
+            this.assignedOfficerId = assignedOfficerId;
+        }
+
+        public static State of(Request request) {
+            return new State(request.getStatus(), request.getPriority(), request.getRequestType(),
+                    request.getAssignedOfficer() != null ? request.getAssignedOfficer().getId() : null);
+        }
+
+        public RequestStatus getStatus() {
+            return status;
+        }
+
+        public RequestPriority getPriority() {
+            return priority;
+        }
+
+        public RequestType getRequestType() {
+            return requestType;
+        }
+
+        public Long getAssignedOfficerId() {
+            return assignedOfficerId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof State state && status == state.status && priority == state.priority
+                    && requestType == state.requestType && Objects.equals(assignedOfficerId, state.assignedOfficerId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, priority, requestType, assignedOfficerId);
+        }
+    }
+
+    private final Long requestId;
+    private final Change change;
+    private final State before;
+    private final State after;
+    private final LocalDateTime occurredAt;
+
+    public RequestLifecycleEvent(Long requestId, Change change, State before, State after) {
+        this.requestId = requestId;
+        this.change = change;
+        this.before = before;
+        this.after = after;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public Change getChange() {
+        return change;
+    }
+
+    // Null for CREATED
+    public State getBefore() {
+        return before;
+    }
+
+    // Null for DELETED
+    public State getAfter() {
+        return after;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestLifecycleEvent{request " + requestId + " " + change + "}";
+    }
+}
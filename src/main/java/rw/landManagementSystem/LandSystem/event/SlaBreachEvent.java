@@ -0,0 +1,43 @@
+package rw.landManagementSystem.LandSystem.event;
+
+import rw.landManagementSystem.LandSystem.model.RequestStatus;
+
+import java.time.LocalDateTime;
+
+// Published when an open request passes its service-level deadline: the review deadline while it is
+// PENDING, the decision deadline while it is UNDER_REVIEW.
+public class SlaBreachEvent {
+
+    private final Long requestId;
+    private final RequestStatus status;
+    private final Long assignedOfficerId;
+    private final LocalDateTime deadline;
+
+    public SlaBreachEvent(Long requestId, RequestStatus status, Long assignedOfficerId, LocalDateTime deadline) {
+        this.requestId = requestId;
+        this.status = status;
+        this.assignedOfficerId = assignedOfficerId;
+        this.deadline = deadline;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public RequestStatus getStatus() {
+        return status;
+    }
+
+    public Long getAssignedOfficerId() {
+        return assignedOfficerId;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    @Override
+    public String toString() {
+        return "SlaBreachEvent{request " + requestId + " " + status + ", deadline=" + deadline + "}";
+    }
+}
@@ -1,5 +1,6 @@
 package rw.landManagementSystem.LandSystem.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -7,6 +8,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "documents")
+@NamedEntityGraph(name = "Document.summary", attributeNodes = {
+        @NamedAttributeNode("landParcel"),
+        @NamedAttributeNode("uploadedBy"),
+        @NamedAttributeNode("verifiedBy")
+})
 public class Document {
 
     @Id
@@ -31,6 +37,29 @@ public class Document {
     @Column(name = "mime_type", length = 100)
     private String mimeType;
 
+    // SHA-256 of the stored content when the file lives in the blob store
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Results of the background processing pipeline; extracted text is kept in document_texts
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status", length = 20)
+    private DocumentProcessingStatus processingStatus;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "thumbnail_hash", length = 64)
+    private String thumbnailHash;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "processing_error", length = 500)
+    private String processingError;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
     @Column(name = "description", length = 500)
     private String description;
 
@@ -53,6 +82,12 @@ public class Document {
     @Column(name = "version", nullable = false)
     private Integer version = 1;
 
+    // True for the highest version among documents sharing this name and land parcel. Only written on insert and by
+    // DocumentRepository.markLatestInLineage, so saving a stale copy of an older version cannot put the flag back
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "is_latest_version", updatable = false)
+    private Boolean latestVersion = true;
+
     @Column(name = "is_verified", nullable = false)
     private Boolean isVerified = false;
 
@@ -143,6 +178,46 @@ public class Document {
         this.mimeType = mimeType;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public DocumentProcessingStatus getProcessingStatus() {
+        return processingStatus;
+    }
+
+    public void setProcessingStatus(DocumentProcessingStatus processingStatus) {
+        this.processingStatus = processingStatus;
+    }
+
+    public String getThumbnailHash() {
+        return thumbnailHash;
+    }
+
+    public void setThumbnailHash(String thumbnailHash) {
+        this.thumbnailHash = thumbnailHash;
+    }
+
+    public String getProcessingError() {
+        return processingError;
+    }
+
+    public void setProcessingError(String processingError) {
+        this.processingError = processingError;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -191,6 +266,14 @@ public class Document {
         this.version = version;
     }
 
+    public Boolean getLatestVersion() {
+        return latestVersion;
+    }
+
+    public void setLatestVersion(Boolean latestVersion) {
+        this.latestVersion = latestVersion;
+    }
+
     public Boolean getIsVerified() {
         return isVerified;
     }
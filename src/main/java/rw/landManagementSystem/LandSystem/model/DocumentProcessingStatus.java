@@ -0,0 +1,8 @@
+package rw.landManagementSystem.LandSystem.model;
+
+public enum DocumentProcessingStatus {
+    PENDING,
+    COMPLETED,
+    FAILED,
+    NO_CONTENT
+}
@@ -5,5 +5,6 @@ public enum DocumentStatus {
     ARCHIVED,
     DELETED,
     PENDING_VERIFICATION,
-    REJECTED
+    REJECTED,
+    EXPIRED
 }
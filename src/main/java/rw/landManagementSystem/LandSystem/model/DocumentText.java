@@ -0,0 +1,67 @@
+package rw.landManagementSystem.LandSystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Text extracted from a document's content. Kept out of the documents table so listing
+// documents never drags the (potentially large) text along.
+@Entity
+@Table(name = "document_texts")
+public class DocumentText {
+
+    @Id
+    @Column(name = "document_id")
+    private Long documentId;
+
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    @Column(name = "content", columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    @Column(name = "extracted_at", nullable = false)
+    private LocalDateTime extractedAt;
+
+    // Constructors
+    public DocumentText() {}
+
+    public DocumentText(Long documentId, String contentHash, String content) {
+        this.documentId = documentId;
+        this.contentHash = contentHash;
+        this.content = content;
+        this.extractedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(Long documentId) {
+        this.documentId = documentId;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getExtractedAt() {
+        return extractedAt;
+    }
+
+    public void setExtractedAt(LocalDateTime extractedAt) {
+        this.extractedAt = extractedAt;
+    }
+}
@@ -0,0 +1,79 @@
+package rw.landManagementSystem.LandSystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// How far the expiry scanner has got through one table, as the (expiry, id) of the last row it
+// processed. The next run resumes after this position instead of rescanning every expiry date.
+@Entity
+@Table(name = "expiry_watermarks")
+public class ExpiryWatermark {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "last_expiry", nullable = false)
+    private LocalDateTime lastExpiry;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "last_full_scan_at")
+    private LocalDateTime lastFullScanAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ExpiryWatermark() {}
+
+    public ExpiryWatermark(String name, LocalDateTime lastExpiry, Long lastId) {
+        this.name = name;
+        this.lastExpiry = lastExpiry;
+        this.lastId = lastId;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDateTime getLastExpiry() {
+        return lastExpiry;
+    }
+
+    public void setLastExpiry(LocalDateTime lastExpiry) {
+        this.lastExpiry = lastExpiry;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    public LocalDateTime getLastFullScanAt() {
+        return lastFullScanAt;
+    }
+
+    public void setLastFullScanAt(LocalDateTime lastFullScanAt) {
+        this.lastFullScanAt = lastFullScanAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -1,6 +1,7 @@
 package rw.landManagementSystem.LandSystem.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -14,8 +15,10 @@ import java.util.List;
 @Table(name = "land_parcels")
 public class LandParcel {
 
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts (bulk import)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "land_parcel_id_seq")
+    @SequenceGenerator(name = "land_parcel_id_seq", sequenceName = "land_parcel_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Parcel number is required")
@@ -59,9 +62,34 @@ public class LandParcel {
     @Column(name = "description", length = 500)
     private String description;
 
-    @Column(name = "coordinates", length = 255)
+    @Column(name = "coordinates", columnDefinition = "TEXT")
     private String coordinates;
 
+    // Derived from coordinates on save; feed the spatial index
+    @JsonIgnore
+    @Column(name = "min_latitude")
+    private Double minLatitude;
+
+    @JsonIgnore
+    @Column(name = "min_longitude")
+    private Double minLongitude;
+
+    @JsonIgnore
+    @Column(name = "max_latitude")
+    private Double maxLatitude;
+
+    @JsonIgnore
+    @Column(name = "max_longitude")
+    private Double maxLongitude;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "centroid_latitude")
+    private Double centroidLatitude;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "centroid_longitude")
+    private Double centroidLongitude;
+
     @Column(name = "market_value", precision = 15, scale = 2)
     private BigDecimal marketValue;
 
@@ -199,6 +227,54 @@ public class LandParcel {
         this.coordinates = coordinates;
     }
 
+    public Double getMinLatitude() {
+        return minLatitude;
+    }
+
+    public void setMinLatitude(Double minLatitude) {
+        this.minLatitude = minLatitude;
+    }
+
+    public Double getMinLongitude() {
+        return minLongitude;
+    }
+
+    public void setMinLongitude(Double minLongitude) {
+        this.minLongitude = minLongitude;
+    }
+
+    public Double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    public void setMaxLatitude(Double maxLatitude) {
+        this.maxLatitude = maxLatitude;
+    }
+
+    public Double getMaxLongitude() {
+        return maxLongitude;
+    }
+
+    public void setMaxLongitude(Double maxLongitude) {
+        this.maxLongitude = maxLongitude;
+    }
+
+    public Double getCentroidLatitude() {
+        return centroidLatitude;
+    }
+
+    public void setCentroidLatitude(Double centroidLatitude) {
+        this.centroidLatitude = centroidLatitude;
+    }
+
+    public Double getCentroidLongitude() {
+        return centroidLongitude;
+    }
+
+    public void setCentroidLongitude(Double centroidLongitude) {
+        this.centroidLongitude = centroidLongitude;
+    }
+
     public BigDecimal getMarketValue() {
         return marketValue;
     }
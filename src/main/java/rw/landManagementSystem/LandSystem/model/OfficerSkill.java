@@ -0,0 +1,52 @@
+package rw.landManagementSystem.LandSystem.model;
+
+import jakarta.persistence.*;
+
+// A request type an officer is designated to handle. Officers with no rows are generalists and may
+// be given any type; the assignment engine prefers skilled officers when their workload allows.
+@Entity
+@Table(name = "officer_skills",
+       uniqueConstraints = @UniqueConstraint(name = "uk_officer_skills_officer_type",
+                                             columnNames = { "officer_id", "request_type" }))
+public class OfficerSkill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "officer_id", nullable = false)
+    private Long officerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "request_type", nullable = false, length = 50)
+    private RequestType requestType;
+
+    // Constructors
+    public OfficerSkill() {}
+
+    public OfficerSkill(Long officerId, RequestType requestType) {
+        this.officerId = officerId;
+        this.requestType = requestType;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOfficerId() {
+        return officerId;
+    }
+
+    public void setOfficerId(Long officerId) {
+        this.officerId = officerId;
+    }
+
+    public RequestType getRequestType() {
+        return requestType;
+    }
+
+    public void setRequestType(RequestType requestType) {
+        this.requestType = requestType;
+    }
+}
@@ -10,6 +10,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "ownerships")
+@NamedEntityGraph(name = "Ownership.summary", attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("landParcel")
+})
 public class Ownership {
 
     @Id
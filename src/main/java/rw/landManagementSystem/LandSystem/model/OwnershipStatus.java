@@ -5,5 +5,6 @@ public enum OwnershipStatus {
     INACTIVE,
     TRANSFERRED,
     DISPUTED,
-    SUSPENDED
+    SUSPENDED,
+    EXPIRED
 }
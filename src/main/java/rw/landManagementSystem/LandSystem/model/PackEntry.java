@@ -0,0 +1,116 @@
+package rw.landManagementSystem.LandSystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Where an archived blob lives inside a pack file: its bytes start at 'offset' and occupy
+// 'storedLength' bytes, deflated unless 'compressed' is false
+@Entity
+@Table(name = "pack_entries")
+public class PackEntry {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "pack_id", nullable = false)
+    private Integer packId;
+
+    @Column(name = "entry_offset", nullable = false)
+    private Long offset;
+
+    @Column(name = "stored_length", nullable = false)
+    private Long storedLength;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "compressed", nullable = false)
+    private Boolean compressed;
+
+    // Set once the loose copy has been deleted from hot storage
+    @Column(name = "loose_removed", nullable = false)
+    private Boolean looseRemoved = false;
+
+    @Column(name = "packed_at", nullable = false, updatable = false)
+    private LocalDateTime packedAt;
+
+    // Constructors
+    public PackEntry() {}
+
+    public PackEntry(String contentHash, Integer packId, Long offset, Long storedLength, Long sizeBytes,
+                     Boolean compressed) {
+        this.contentHash = contentHash;
+        this.packId = packId;
+        this.offset = offset;
+        this.storedLength = storedLength;
+        this.sizeBytes = sizeBytes;
+        this.compressed = compressed;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        packedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Integer getPackId() {
+        return packId;
+    }
+
+    public void setPackId(Integer packId) {
+        this.packId = packId;
+    }
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Long offset) {
+        this.offset = offset;
+    }
+
+    public Long getStoredLength() {
+        return storedLength;
+    }
+
+    public void setStoredLength(Long storedLength) {
+        this.storedLength = storedLength;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Boolean getCompressed() {
+        return compressed;
+    }
+
+    public void setCompressed(Boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    public Boolean getLooseRemoved() {
+        return looseRemoved;
+    }
+
+    public void setLooseRemoved(Boolean looseRemoved) {
+        this.looseRemoved = looseRemoved;
+    }
+
+    public LocalDateTime getPackedAt() {
+        return packedAt;
+    }
+}
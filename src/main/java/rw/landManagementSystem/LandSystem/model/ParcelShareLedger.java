@@ -0,0 +1,65 @@
+package rw.landManagementSystem.LandSystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Running total of active ownership shares on a land parcel, in basis points (100.00% = 10000).
+// The row is locked while ownerships on the parcel change, which serializes those changes.
+@Entity
+@Table(name = "parcel_share_ledger")
+public class ParcelShareLedger {
+
+    public static final int FULL_OWNERSHIP_BASIS_POINTS = 10000;
+
+    @Id
+    @Column(name = "land_parcel_id")
+    private Long landParcelId;
+
+    @Column(name = "allocated_basis_points", nullable = false)
+    private int allocatedBasisPoints;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ParcelShareLedger() {}
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public int getAvailableBasisPoints() {
+        return FULL_OWNERSHIP_BASIS_POINTS - allocatedBasisPoints;
+    }
+
+    // Getters and Setters
+    public Long getLandParcelId() {
+        return landParcelId;
+    }
+
+    public void setLandParcelId(Long landParcelId) {
+        this.landParcelId = landParcelId;
+    }
+
+    public int getAllocatedBasisPoints() {
+        return allocatedBasisPoints;
+    }
+
+    public void setAllocatedBasisPoints(int allocatedBasisPoints) {
+        this.allocatedBasisPoints = allocatedBasisPoints;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
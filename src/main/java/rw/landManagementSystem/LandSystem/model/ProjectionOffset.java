@@ -0,0 +1,59 @@
+package rw.landManagementSystem.LandSystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// The last workflow log position, (transaction id, sequence), a projection has applied. Updated in the
+// same transaction as the projection's own tables, so each event is applied exactly once.
+@Entity
+@Table(name = "projection_offsets")
+public class ProjectionOffset {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    // Entries logged before transaction ids were recorded all carry 0, so existing offsets stay valid
+    @Column(name = "last_transaction_id", nullable = false, columnDefinition = "bigint NOT NULL DEFAULT 0")
+    private long lastTransactionId;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ProjectionOffset() {}
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public void setLastTransactionId(long lastTransactionId) {
+        this.lastTransactionId = lastTransactionId;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
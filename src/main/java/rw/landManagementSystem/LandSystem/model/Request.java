@@ -9,6 +9,12 @@ import java.util.List;
 
 @Entity
 @Table(name = "requests")
+// References the list endpoints show, fetched with the row instead of one query each
+@NamedEntityGraph(name = "Request.summary", attributeNodes = {
+        @NamedAttributeNode("requester"),
+        @NamedAttributeNode("assignedOfficer"),
+        @NamedAttributeNode("landParcel")
+})
 public class Request {
 
     @Id
@@ -68,6 +68,10 @@ public class User {
     @Column(name = "status", nullable = false)
     private UserStatus status = UserStatus.ACTIVE;
 
+    // Document storage allowance in bytes; null uses storage.quota.default-bytes, 0 means unlimited
+    @Column(name = "storage_quota_bytes")
+    private Long storageQuotaBytes;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -219,6 +223,14 @@ public class User {
         this.status = status;
     }
 
+    public Long getStorageQuotaBytes() {
+        return storageQuotaBytes;
+    }
+
+    public void setStorageQuotaBytes(Long storageQuotaBytes) {
+        this.storageQuotaBytes = storageQuotaBytes;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
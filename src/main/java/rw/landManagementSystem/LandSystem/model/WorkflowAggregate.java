@@ -0,0 +1,7 @@
+package rw.landManagementSystem.LandSystem.model;
+
+public enum WorkflowAggregate {
+    REQUEST,
+    OWNERSHIP,
+    DOCUMENT
+}
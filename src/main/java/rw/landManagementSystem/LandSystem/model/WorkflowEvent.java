@@ -0,0 +1,147 @@
+package rw.landManagementSystem.LandSystem.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One entry of the append-only workflow log. Rows are written in the same transaction as the change
+// they describe and never updated. 'sequence' is handed out at insert time, so a lower sequence can
+// commit after a higher one; readers that must not miss late commits follow the log in
+// (transactionId, sequence) order up to the oldest transaction still in flight.
+@Entity
+@Table(name = "workflow_events", indexes = {
+        @Index(name = "idx_workflow_events_aggregate", columnList = "aggregate_type, aggregate_id, sequence"),
+        @Index(name = "idx_workflow_events_land_parcel", columnList = "land_parcel_id, sequence"),
+        @Index(name = "idx_workflow_events_transaction", columnList = "transaction_id, sequence")
+})
+public class WorkflowEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sequence")
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false, length = 20)
+    private WorkflowAggregate aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "land_parcel_id")
+    private Long landParcelId;
+
+    // CREATED, STATUS_CHANGED, ASSIGNED, EXPIRED, ... ; SNAPSHOT for rows that predate the log
+    @Column(name = "event_type", nullable = false, length = 40)
+    private String eventType;
+
+    @Column(name = "from_status", length = 40)
+    private String fromStatus;
+
+    @Column(name = "to_status", length = 40)
+    private String toStatus;
+
+    // Assigned officer, for requests
+    @Column(name = "from_assignee_id")
+    private Long fromAssigneeId;
+
+    @Column(name = "to_assignee_id")
+    private Long toAssigneeId;
+
+    @Column(name = "actor", length = 100)
+    private String actor;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // The writing transaction's id, filled in by the column default (see DatabaseSchemaInitializer)
+    @JsonIgnore
+    @Column(name = "transaction_id", insertable = false, updatable = false)
+    private Long transactionId;
+
+    // Constructors
+    public WorkflowEvent() {}
+
+    public WorkflowEvent(WorkflowAggregate aggregateType, Long aggregateId, Long landParcelId, String eventType) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.landParcelId = landParcelId;
+        this.eventType = eventType;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (occurredAt == null) {
+            occurredAt = LocalDateTime.now();
+        }
+    }
+
+    // Getters and Setters
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public WorkflowAggregate getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public Long getLandParcelId() {
+        return landParcelId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(String fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public String getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(String toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public Long getFromAssigneeId() {
+        return fromAssigneeId;
+    }
+
+    public void setFromAssigneeId(Long fromAssigneeId) {
+        this.fromAssigneeId = fromAssigneeId;
+    }
+
+    public Long getToAssigneeId() {
+        return toAssigneeId;
+    }
+
+    public void setToAssigneeId(Long toAssigneeId) {
+        this.toAssigneeId = toAssigneeId;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public void setActor(String actor) {
+        this.actor = actor;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+}
@@ -0,0 +1,65 @@
+package rw.landManagementSystem.LandSystem.projection;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import rw.landManagementSystem.LandSystem.model.WorkflowEvent;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Events per day, aggregate type, event type and resulting status (workflow_daily_transitions), for
+// throughput charts. SNAPSHOT entries only describe state that predates the log and are not counted.
+@Component
+public class DailyTransitionsProjection implements WorkflowProjection {
+
+    private static final String SNAPSHOT = "SNAPSHOT";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailyTransitionsProjection(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String name() {
+        return "daily-transitions";
+    }
+
+    @Override
+    public void apply(List<WorkflowEvent> events) {
+        Map<List<Object>, Long> counts = new LinkedHashMap<>();
+        for (WorkflowEvent event : events) {
+            if (SNAPSHOT.equals(event.getEventType())) {
+                continue;
+            }
+            List<Object> key = List.of(event.getOccurredAt().toLocalDate(), event.getAggregateType().name(),
+                    event.getEventType(), event.getToStatus() != null ? event.getToStatus() : "");
+            counts.merge(key, 1L, Long::sum);
+        }
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> rows.add(new Object[] {
+                Date.valueOf((LocalDate) key.get(0)), key.get(1), key.get(2), key.get(3), count }));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO workflow_daily_transitions " +
+                    "(day, aggregate_type, event_type, to_status, count) VALUES (?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (day, aggregate_type, event_type, to_status) " +
+                    "DO UPDATE SET count = workflow_daily_transitions.count + EXCLUDED.count", rows);
+        }
+    }
+
+    @Override
+    public void reset() {
+        jdbcTemplate.update("DELETE FROM workflow_daily_transitions");
+    }
+
+    public List<Map<String, Object>> getTransitions(LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForList("SELECT day, aggregate_type AS \"aggregateType\", " +
+                "event_type AS \"eventType\", NULLIF(to_status, '') AS \"toStatus\", count " +
+                "FROM workflow_daily_transitions WHERE day BETWEEN ? AND ? " +
+                "ORDER BY day, aggregate_type, event_type, to_status", Date.valueOf(from), Date.valueOf(to));
+    }
+}
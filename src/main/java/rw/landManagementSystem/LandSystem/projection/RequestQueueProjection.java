@@ -0,0 +1,83 @@
+package rw.landManagementSystem.LandSystem.projection;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import rw.landManagementSystem.LandSystem.model.WorkflowAggregate;
+import rw.landManagementSystem.LandSystem.model.WorkflowEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Request queue sizes by status and assigned officer (request_queue_counts); officer 0 is the
+// unassigned queue. Assignment and status changes both move a request between queues.
+@Component
+public class RequestQueueProjection implements WorkflowProjection {
+
+    private static final long UNASSIGNED = 0L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RequestQueueProjection(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String name() {
+        return "request-queues";
+    }
+
+    @Override
+    public void apply(List<WorkflowEvent> events) {
+        Map<List<Object>, Long> deltas = new LinkedHashMap<>();
+        for (WorkflowEvent event : events) {
+            if (event.getAggregateType() != WorkflowAggregate.REQUEST) {
+                continue;
+            }
+            if (Objects.equals(event.getFromStatus(), event.getToStatus())
+                    && Objects.equals(event.getFromAssigneeId(), event.getToAssigneeId())) {
+                continue;
+            }
+            if (event.getFromStatus() != null) {
+                deltas.merge(List.of(event.getFromStatus(), queueOf(event.getFromAssigneeId())), -1L, Long::sum);
+            }
+            if (event.getToStatus() != null) {
+                deltas.merge(List.of(event.getToStatus(), queueOf(event.getToAssigneeId())), 1L, Long::sum);
+            }
+        }
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[] { key.get(0), key.get(1), delta });
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO request_queue_counts (status, officer_id, count) " +
+                    "VALUES (?, ?, ?) ON CONFLICT (status, officer_id) " +
+                    "DO UPDATE SET count = request_queue_counts.count + EXCLUDED.count", rows);
+        }
+    }
+
+    @Override
+    public void reset() {
+        jdbcTemplate.update("DELETE FROM request_queue_counts");
+    }
+
+    // Queues with a status in 'statuses' (all when empty), largest first; officerId is null for unassigned
+    public List<Map<String, Object>> getQueues(List<String> statuses) {
+        List<Map<String, Object>> queues = jdbcTemplate.queryForList("SELECT status, " +
+                "NULLIF(officer_id, 0) AS \"officerId\", count FROM request_queue_counts WHERE count <> 0 " +
+                "ORDER BY count DESC, status, officer_id");
+        if (statuses.isEmpty()) {
+            return queues;
+        }
+        return queues.stream().filter(queue -> statuses.contains((String) queue.get("status"))).toList();
+    }
+
+    // Private helper methods
+    private static long queueOf(Long officerId) {
+        return officerId != null ? officerId : UNASSIGNED;
+    }
+}
@@ -0,0 +1,72 @@
+package rw.landManagementSystem.LandSystem.projection;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import rw.landManagementSystem.LandSystem.model.WorkflowEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Current number of requests, ownerships and documents in each status (workflow_status_counts).
+// Every event moves one item out of its from_status and into its to_status; a batch's moves are
+// summed first, so each touched row gets one upsert.
+@Component
+public class StatusCountsProjection implements WorkflowProjection {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatusCountsProjection(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String name() {
+        return "status-counts";
+    }
+
+    @Override
+    public void apply(List<WorkflowEvent> events) {
+        Map<List<String>, Long> deltas = new LinkedHashMap<>();
+        for (WorkflowEvent event : events) {
+            if (event.getFromStatus() != null && event.getFromStatus().equals(event.getToStatus())) {
+                continue;
+            }
+            String aggregateType = event.getAggregateType().name();
+            if (event.getFromStatus() != null) {
+                deltas.merge(List.of(aggregateType, event.getFromStatus()), -1L, Long::sum);
+            }
+            if (event.getToStatus() != null) {
+                deltas.merge(List.of(aggregateType, event.getToStatus()), 1L, Long::sum);
+            }
+        }
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[] { key.get(0), key.get(1), delta });
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO workflow_status_counts (aggregate_type, status, count) " +
+                    "VALUES (?, ?, ?) ON CONFLICT (aggregate_type, status) " +
+                    "DO UPDATE SET count = workflow_status_counts.count + EXCLUDED.count", rows);
+        }
+    }
+
+    @Override
+    public void reset() {
+        jdbcTemplate.update("DELETE FROM workflow_status_counts");
+    }
+
+    // aggregate type -> status -> count
+    public Map<String, Map<String, Long>> getCounts() {
+        Map<String, Map<String, Long>> counts = new TreeMap<>();
+        jdbcTemplate.query("SELECT aggregate_type, status, count FROM workflow_status_counts WHERE count <> 0",
+                rs -> {
+                    counts.computeIfAbsent(rs.getString(1), k -> new TreeMap<>()).put(rs.getString(2), rs.getLong(3));
+                });
+        return counts;
+    }
+}
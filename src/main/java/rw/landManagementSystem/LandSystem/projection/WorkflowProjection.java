@@ -0,0 +1,18 @@
+package rw.landManagementSystem.LandSystem.projection;
+
+import rw.landManagementSystem.LandSystem.model.WorkflowEvent;
+
+import java.util.List;
+
+// A read model built only from the workflow event log. WorkflowProjectionRunner hands each projection
+// the log in sequence order and stores its offset in the same transaction as apply(), so a batch is
+// applied exactly once; reset() followed by a replay from offset 0 rebuilds the read model.
+public interface WorkflowProjection {
+
+    // Offset key in projection_offsets; must stay stable across releases
+    String name();
+
+    void apply(List<WorkflowEvent> events);
+
+    void reset();
+}
@@ -0,0 +1,134 @@
+package rw.landManagementSystem.LandSystem.projection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.config.DatabaseSchemaInitializer;
+import rw.landManagementSystem.LandSystem.model.ProjectionOffset;
+import rw.landManagementSystem.LandSystem.model.WorkflowEvent;
+import rw.landManagementSystem.LandSystem.repository.ProjectionOffsetRepository;
+import rw.landManagementSystem.LandSystem.repository.WorkflowEventRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Feeds the workflow event log to every projection from its stored offset. Each batch is one
+// transaction that locks the projection's offset row, applies the events and moves the offset, so
+// several instances can run this safely and a failed batch is retried from the same place. Writers
+// append without coordinating, so a batch only reads entries from transactions older than the oldest
+// one still in flight and follows them in (transaction id, sequence) order.
+@Component
+public class WorkflowProjectionRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkflowProjectionRunner.class);
+
+    @Value("${workflow.projections.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${workflow.projections.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    private final List<WorkflowProjection> projections;
+    private final ProjectionOffsetRepository offsetRepository;
+    private final WorkflowEventRepository eventRepository;
+    private final DatabaseSchemaInitializer schemaInitializer;
+    private final TransactionTemplate transactionTemplate;
+
+    public WorkflowProjectionRunner(List<WorkflowProjection> projections, ProjectionOffsetRepository offsetRepository,
+                                    WorkflowEventRepository eventRepository,
+                                    DatabaseSchemaInitializer schemaInitializer,
+                                    PlatformTransactionManager transactionManager) {
+        this.projections = projections;
+        this.offsetRepository = offsetRepository;
+        this.eventRepository = eventRepository;
+        this.schemaInitializer = schemaInitializer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${workflow.projections.interval-ms:5000}",
+               fixedDelayString = "${workflow.projections.interval-ms:5000}")
+    public void catchUp() {
+        if (!schemaInitializer.isWorkflowLogReady()) {
+            return;
+        }
+        for (WorkflowProjection projection : projections) {
+            try {
+                catchUp(projection);
+            } catch (RuntimeException e) {
+                log.warn("Projection {} stopped at a failed batch: {}", projection.name(), e.getMessage());
+            }
+        }
+    }
+
+    // Clears the read model and its offset; the next run replays the log from the beginning
+    public void rebuild(String name) {
+        WorkflowProjection projection = projections.stream()
+                .filter(candidate -> candidate.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Projection not found: " + name));
+        transactionTemplate.executeWithoutResult(status -> {
+            ProjectionOffset offset = lockOffset(name);
+            projection.reset();
+            offset.setLastTransactionId(0L);
+            offset.setLastSequence(0L);
+            offsetRepository.save(offset);
+        });
+        log.info("Projection {} reset for rebuild", name);
+    }
+
+    // name -> offset, entries not yet applied and last update
+    public Map<String, Object> getStatus() {
+        Long head = eventRepository.findLastSequence();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("lastSequence", head != null ? head : 0L);
+        Map<String, Object> byProjection = new LinkedHashMap<>();
+        for (WorkflowProjection projection : projections) {
+            ProjectionOffset offset = offsetRepository.findById(projection.name()).orElse(null);
+            long transactionId = offset != null ? offset.getLastTransactionId() : 0L;
+            long sequence = offset != null ? offset.getLastSequence() : 0L;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("offset", sequence);
+            entry.put("lag", eventRepository.countAfter(transactionId, sequence));
+            entry.put("updatedAt", offset != null ? offset.getUpdatedAt() : null);
+            byProjection.put(projection.name(), entry);
+        }
+        status.put("projections", byProjection);
+        return status;
+    }
+
+    // Private helper methods
+    private void catchUp(WorkflowProjection projection) {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer applied = transactionTemplate.execute(status -> {
+                ProjectionOffset offset = lockOffset(projection.name());
+                long horizon = eventRepository.findOldestInFlightTransaction();
+                List<WorkflowEvent> events = eventRepository.findSettledAfter(offset.getLastTransactionId(),
+                        offset.getLastSequence(), horizon, PageRequest.of(0, batchSize));
+                if (events.isEmpty()) {
+                    return 0;
+                }
+                projection.apply(events);
+                WorkflowEvent last = events.get(events.size() - 1);
+                offset.setLastTransactionId(last.getTransactionId());
+                offset.setLastSequence(last.getSequence());
+                offsetRepository.save(offset);
+                return events.size();
+            });
+            if (applied == null || applied < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private ProjectionOffset lockOffset(String name) {
+        offsetRepository.insertIfAbsent(name);
+        return offsetRepository.findForUpdate(name)
+                .orElseThrow(() -> new RuntimeException("Projection offset missing: " + name));
+    }
+}
@@ -0,0 +1,55 @@
+package rw.landManagementSystem.LandSystem.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rw.landManagementSystem.LandSystem.model.Blob;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BlobRepository extends JpaRepository<Blob, String> {
+
+    // Reference counts are only changed with single-statement updates so concurrent uploads stay exact
+    @Modifying
+    @Query(value = "INSERT INTO blobs (content_hash, size_bytes, ref_count, created_at, updated_at) " +
+                   "VALUES (:contentHash, :sizeBytes, 1, now(), now()) " +
+                   "ON CONFLICT (content_hash) DO UPDATE SET ref_count = blobs.ref_count + 1, updated_at = now()",
+           nativeQuery = true)
+    int addReference(@Param("contentHash") String contentHash, @Param("sizeBytes") long sizeBytes);
+
+    @Modifying
+    @Query(value = "UPDATE blobs SET ref_count = ref_count - 1, updated_at = now() " +
+                   "WHERE content_hash = :contentHash AND ref_count > 0", nativeQuery = true)
+    int releaseReference(@Param("contentHash") String contentHash);
+
+    // Repairs counts left behind by bulk or cascaded document deletes. Document content and
+    // generated thumbnails both hold references.
+    @Modifying
+    @Query(value = "UPDATE blobs b SET ref_count = c.actual, updated_at = now() FROM (" +
+                   "SELECT b2.content_hash, COUNT(r.hash) AS actual FROM blobs b2 LEFT JOIN (" +
+                   "SELECT content_hash AS hash FROM documents WHERE content_hash IS NOT NULL UNION ALL " +
+                   "SELECT thumbnail_hash FROM documents WHERE thumbnail_hash IS NOT NULL) r " +
+                   "ON r.hash = b2.content_hash GROUP BY b2.content_hash) c " +
+                   "WHERE b.content_hash = c.content_hash AND b.ref_count <> c.actual", nativeQuery = true)
+    int recountReferences();
+
+    @Query("SELECT b.contentHash FROM Blob b WHERE b.refCount = 0 AND b.updatedAt < :cutoff")
+    List<String> findUnreferencedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Re-checks everything the candidate query saw, in the statement that deletes: the count, the grace
+    // period, and that no document points at the blob (an upload can do so before its reference is counted)
+    @Modifying
+    @Query(value = "DELETE FROM blobs b WHERE b.content_hash = :contentHash AND b.ref_count = 0 " +
+                   "AND b.updated_at < :cutoff " +
+                   "AND NOT EXISTS (SELECT 1 FROM documents d WHERE d.content_hash = b.content_hash " +
+                   "OR d.thumbnail_hash = b.content_hash)", nativeQuery = true)
+    int deleteIfUnreferenced(@Param("contentHash") String contentHash, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT b.contentHash FROM Blob b WHERE b.contentHash IN :contentHashes")
+    List<String> findExistingHashes(@Param("contentHashes") Collection<String> contentHashes);
+}
@@ -1,60 +1,89 @@
 package rw.landManagementSystem.LandSystem.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import rw.landManagementSystem.LandSystem.model.Document;
+import rw.landManagementSystem.LandSystem.model.DocumentProcessingStatus;
 import rw.landManagementSystem.LandSystem.model.DocumentStatus;
 import rw.landManagementSystem.LandSystem.model.DocumentType;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
     
+    // Find all
+    @Override
+    @EntityGraph("Document.summary")
+    List<Document> findAll();
+
+    // Ranked search hits, resolved from the ids the full-text query returns
+    @EntityGraph("Document.summary")
+    List<Document> findByIdIn(Collection<Long> ids);
+
     // Find by land parcel
+    @EntityGraph("Document.summary")
     List<Document> findByLandParcelId(Long landParcelId);
+    @EntityGraph("Document.summary")
     List<Document> findByLandParcelIdAndStatus(Long landParcelId, DocumentStatus status);
+    @EntityGraph("Document.summary")
     List<Document> findByLandParcelIdAndDocumentType(Long landParcelId, DocumentType documentType);
     
     // Find by request
+    @EntityGraph("Document.summary")
     List<Document> findByRequestId(Long requestId);
     List<Document> findByRequestIdAndStatus(Long requestId, DocumentStatus status);
     
     // Find by uploader
+    @EntityGraph("Document.summary")
     List<Document> findByUploadedById(Long uploaderId);
     List<Document> findByUploadedByIdAndStatus(Long uploaderId, DocumentStatus status);
     
     // Find by document type
+    @EntityGraph("Document.summary")
     List<Document> findByDocumentType(DocumentType documentType);
     List<Document> findByDocumentTypeAndStatus(DocumentType documentType, DocumentStatus status);
     
     // Find by status
+    @EntityGraph("Document.summary")
     List<Document> findByStatus(DocumentStatus status);
     
     // Find verified documents
+    @EntityGraph("Document.summary")
     @Query("SELECT d FROM Document d WHERE d.isVerified = true")
     List<Document> findVerifiedDocuments();
     
     // Find unverified documents
+    @EntityGraph("Document.summary")
     @Query("SELECT d FROM Document d WHERE d.isVerified = false AND d.status = 'ACTIVE'")
     List<Document> findUnverifiedDocuments();
     
     // Find documents pending verification
+    @EntityGraph("Document.summary")
     @Query("SELECT d FROM Document d WHERE d.status = 'PENDING_VERIFICATION'")
     List<Document> findDocumentsPendingVerification();
     
     // Find by verifier
+    @EntityGraph("Document.summary")
     List<Document> findByVerifiedById(Long verifierId);
     
-    // Find expired documents
-    @Query("SELECT d FROM Document d WHERE d.expiryDate IS NOT NULL AND d.expiryDate < :currentDate AND d.status = 'ACTIVE'")
+    // Find expired documents, whether or not the expiry scanner has marked them yet
+    @EntityGraph("Document.summary")
+    @Query("SELECT d FROM Document d WHERE d.expiryDate IS NOT NULL AND d.expiryDate < :currentDate " +
+           "AND d.status IN ('ACTIVE', 'EXPIRED')")
     List<Document> findExpiredDocuments(@Param("currentDate") LocalDateTime currentDate);
     
     // Find expiring documents
+    @EntityGraph("Document.summary")
     @Query("SELECT d FROM Document d WHERE d.expiryDate IS NOT NULL AND d.expiryDate BETWEEN :currentDate AND :expiryDate AND d.status = 'ACTIVE'")
     List<Document> findExpiringDocuments(@Param("currentDate") LocalDateTime currentDate, @Param("expiryDate") LocalDateTime expiryDate);
     
@@ -62,9 +91,11 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     Optional<Document> findByFilePath(String filePath);
     
     // Find by document name
+    @EntityGraph("Document.summary")
     List<Document> findByDocumentNameContaining(String documentName);
     
     // Find by date range
+    @EntityGraph("Document.summary")
     @Query("SELECT d FROM Document d WHERE d.createdAt BETWEEN :startDate AND :endDate")
     List<Document> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
@@ -75,10 +106,52 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     List<Document> findByVersion(Integer version);
     
     // Find latest version of documents
-    @Query("SELECT d FROM Document d WHERE d.version = (SELECT MAX(d2.version) FROM Document d2 WHERE d2.documentName = d.documentName AND d2.landParcel = d.landParcel)")
+    @EntityGraph("Document.summary")
+    @Query("SELECT d FROM Document d WHERE d.latestVersion = true")
     List<Document> findLatestVersionDocuments();
+
+    // Keyset pages over the latest-version partial indexes
+    @EntityGraph("Document.summary")
+    @Query("SELECT d FROM Document d WHERE d.latestVersion = true AND d.id > :afterId ORDER BY d.id ASC")
+    Slice<Document> findLatestVersionsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph("Document.summary")
+    @Query("SELECT d FROM Document d WHERE d.latestVersion = true AND d.landParcel.id = :landParcelId " +
+           "AND d.id > :afterId ORDER BY d.id ASC")
+    Slice<Document> findLatestVersionsByLandParcelAfter(@Param("landParcelId") Long landParcelId,
+                                                        @Param("afterId") Long afterId, Pageable pageable);
+
+    // A lineage is every version of one document: same name, same land parcel (or both without a parcel).
+    // Serialises concurrent saves into the same lineage for the rest of the transaction.
+    // (pg_advisory_xact_lock returns void, so it is wrapped to give the driver a column it can read)
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(hashtextextended(:documentName || '/' || " +
+                   "coalesce(CAST(:landParcelId AS text), ''), 0)) AS locked) l", nativeQuery = true)
+    long lockLineage(@Param("documentName") String documentName, @Param("landParcelId") Long landParcelId);
+
+    // The advisory lock key lockLineage uses, for callers that must lock several lineages in a fixed order
+    @Query(value = "SELECT hashtextextended(:documentName || '/' || coalesce(CAST(:landParcelId AS text), ''), 0)",
+           nativeQuery = true)
+    long lineageLockKey(@Param("documentName") String documentName, @Param("landParcelId") Long landParcelId);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(:key) AS locked) l", nativeQuery = true)
+    long lockLineageKey(@Param("key") long key);
+
+    @Query(value = "SELECT id FROM documents WHERE document_name = :documentName " +
+                   "AND (land_parcel_id = CAST(:landParcelId AS bigint) " +
+                   "OR (CAST(:landParcelId AS bigint) IS NULL AND land_parcel_id IS NULL)) " +
+                   "ORDER BY version DESC, id DESC LIMIT 1", nativeQuery = true)
+    Long findLatestIdInLineage(@Param("documentName") String documentName, @Param("landParcelId") Long landParcelId);
+
+    @Modifying
+    @Query(value = "UPDATE documents SET is_latest_version = (id = :latestId) WHERE document_name = :documentName " +
+                   "AND (land_parcel_id = CAST(:landParcelId AS bigint) " +
+                   "OR (CAST(:landParcelId AS bigint) IS NULL AND land_parcel_id IS NULL)) " +
+                   "AND is_latest_version IS DISTINCT FROM (id = :latestId)", nativeQuery = true)
+    int markLatestInLineage(@Param("documentName") String documentName, @Param("landParcelId") Long landParcelId,
+                            @Param("latestId") Long latestId);
     
     // Find by mime type
+    @EntityGraph("Document.summary")
     List<Document> findByMimeType(String mimeType);
     
     // Find by file size range
@@ -86,6 +159,7 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     List<Document> findByFileSizeRange(@Param("minSize") Long minSize, @Param("maxSize") Long maxSize);
     
     // Find large files
+    @EntityGraph("Document.summary")
     @Query("SELECT d FROM Document d WHERE d.fileSize > :sizeThreshold ORDER BY d.fileSize DESC")
     List<Document> findLargeFiles(@Param("sizeThreshold") Long sizeThreshold);
     
@@ -110,10 +184,91 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     List<Document> findByLandParcelAndTypeOrderByVersionDesc(@Param("landParcelId") Long landParcelId, @Param("documentType") DocumentType documentType);
     
     // Find recent documents
+    @EntityGraph("Document.summary")
     @Query("SELECT d FROM Document d WHERE d.createdAt >= :date ORDER BY d.createdAt DESC")
     List<Document> findRecentDocuments(@Param("date") LocalDateTime date);
     
     // Search documents by description
+    @EntityGraph("Document.summary")
     @Query("SELECT d FROM Document d WHERE LOWER(d.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Document> findByDescriptionContaining(@Param("keyword") String keyword);
+
+    // Storage accounting seed: [status, documentType, district, uploaderId, sum(fileSize)]
+    @Query("SELECT d.status, d.documentType, lp.district, u.id, SUM(d.fileSize) FROM Document d " +
+           "LEFT JOIN d.landParcel lp LEFT JOIN d.uploadedBy u " +
+           "GROUP BY d.status, d.documentType, lp.district, u.id")
+    List<Object[]> sumFileSizeGrouped();
+
+    // Dashboard seeding and reconciliation: [status, documentType, isVerified, count]
+    @Query("SELECT d.status, d.documentType, d.isVerified, COUNT(d) FROM Document d " +
+           "GROUP BY d.status, d.documentType, d.isVerified")
+    List<Object[]> countGroupedByStatusTypeAndVerified();
+
+    // Expiry scanner: ACTIVE documents past their expiry, in (expiry, id) order after the watermark
+    @Query("SELECT d FROM Document d LEFT JOIN FETCH d.landParcel " +
+           "WHERE d.status = 'ACTIVE' AND d.expiryDate <= :now " +
+           "AND (d.expiryDate > :afterExpiry OR (d.expiryDate = :afterExpiry AND d.id > :afterId)) " +
+           "ORDER BY d.expiryDate, d.id")
+    List<Document> findExpiryCandidates(@Param("now") LocalDateTime now, @Param("afterExpiry") LocalDateTime afterExpiry,
+                                        @Param("afterId") Long afterId, Pageable pageable);
+
+    // One statement per scanner batch; returns the ids it actually expired. Not a @Modifying query, so the
+    // caller must detach the loaded documents before touching them.
+    @Query(value = "UPDATE documents SET status = 'EXPIRED', updated_at = :now " +
+                   "WHERE id IN (:ids) AND status = 'ACTIVE' RETURNING id", nativeQuery = true)
+    List<Long> markExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Processing pipeline: documents waiting to be processed, including stored content that predates the pipeline
+    @Query("SELECT d.id FROM Document d WHERE d.processingStatus = 'PENDING' " +
+           "OR (d.processingStatus IS NULL AND d.contentHash IS NOT NULL) ORDER BY d.id")
+    List<Long> findIdsAwaitingProcessing(Pageable pageable);
+
+    @Query("SELECT d.thumbnailHash FROM Document d WHERE d.id = :id")
+    Optional<String> findThumbnailHash(@Param("id") Long id);
+
+    // Only applies while the document still has the content that was processed
+    @Modifying
+    @Query("UPDATE Document d SET d.processingStatus = :status, d.thumbnailHash = :thumbnailHash, " +
+           "d.processingError = :error, d.processedAt = :processedAt " +
+           "WHERE d.id = :id AND d.contentHash = :contentHash")
+    int recordProcessingResult(@Param("id") Long id, @Param("contentHash") String contentHash,
+                               @Param("status") DocumentProcessingStatus status,
+                               @Param("thumbnailHash") String thumbnailHash, @Param("error") String error,
+                               @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("UPDATE Document d SET " +
+           "d.processingStatus = rw.landManagementSystem.LandSystem.model.DocumentProcessingStatus.NO_CONTENT, " +
+           "d.processedAt = :processedAt " +
+           "WHERE d.id = :id AND d.contentHash IS NULL")
+    int recordNoContent(@Param("id") Long id, @Param("processedAt") LocalDateTime processedAt);
+
+    // Ranked full-text search over name (A), description (B) and extracted text (C). The two GIN
+    // indexes are probed separately and the hits unioned, then ranked on the combined vector.
+    @Query(value = "WITH q AS (SELECT websearch_to_tsquery('simple', :query) AS query), " +
+                   "hits AS (SELECT d.id FROM documents d, q WHERE d.search_vector @@ q.query " +
+                   "UNION SELECT t.document_id FROM document_texts t, q WHERE t.search_vector @@ q.query) " +
+                   "SELECT d.id FROM hits h JOIN documents d ON d.id = h.id " +
+                   "LEFT JOIN document_texts t ON t.document_id = d.id, q " +
+                   "WHERE (CAST(:documentType AS text) IS NULL OR d.document_type = CAST(:documentType AS text)) " +
+                   "AND (CAST(:status AS text) IS NULL OR d.status = CAST(:status AS text)) " +
+                   "AND (CAST(:landParcelId AS bigint) IS NULL OR d.land_parcel_id = CAST(:landParcelId AS bigint)) " +
+                   "ORDER BY ts_rank(d.search_vector || coalesce(t.search_vector, CAST('' AS tsvector)), q.query) DESC, d.id DESC " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Long> searchRankedIds(@Param("query") String query, @Param("documentType") String documentType,
+                               @Param("status") String status, @Param("landParcelId") Long landParcelId,
+                               @Param("limit") int limit);
+
+    // Fallback when the full-text columns could not be created
+    @EntityGraph("Document.summary")
+    @Query("SELECT d FROM Document d WHERE (LOWER(d.documentName) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "OR LOWER(d.description) LIKE LOWER(CONCAT('%', :query, '%'))) " +
+           "AND (:documentType IS NULL OR d.documentType = :documentType) " +
+           "AND (:status IS NULL OR d.status = :status) " +
+           "AND (:landParcelId IS NULL OR d.landParcel.id = :landParcelId) ORDER BY d.id DESC")
+    List<Document> searchByNameOrDescription(@Param("query") String query,
+                                             @Param("documentType") DocumentType documentType,
+                                             @Param("status") DocumentStatus status,
+                                             @Param("landParcelId") Long landParcelId, Pageable pageable);
 }
@@ -0,0 +1,9 @@
+package rw.landManagementSystem.LandSystem.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import rw.landManagementSystem.LandSystem.model.DocumentText;
+
+@Repository
+public interface DocumentTextRepository extends JpaRepository<DocumentText, Long> {
+}
@@ -0,0 +1,28 @@
+package rw.landManagementSystem.LandSystem.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rw.landManagementSystem.LandSystem.model.ExpiryWatermark;
+
+import java.util.Optional;
+
+@Repository
+public interface ExpiryWatermarkRepository extends JpaRepository<ExpiryWatermark, String> {
+
+    // Starts a table at the beginning of time; a no-op if its watermark already exists
+    @Modifying
+    @Query(value = "INSERT INTO expiry_watermarks (name, last_expiry, last_id, updated_at) " +
+                   "VALUES (:name, TIMESTAMP '1970-01-01 00:00:00', 0, now()) " +
+                   "ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+
+    // SELECT ... FOR UPDATE, so two application instances never scan the same table at once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM ExpiryWatermark w WHERE w.name = :name")
+    Optional<ExpiryWatermark> findForUpdate(@Param("name") String name);
+}
@@ -1,7 +1,12 @@
 package rw.landManagementSystem.LandSystem.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import rw.landManagementSystem.LandSystem.model.LandParcel;
@@ -9,8 +14,10 @@ import rw.landManagementSystem.LandSystem.model.LandStatus;
 import rw.landManagementSystem.LandSystem.model.LandUse;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LandParcelRepository extends JpaRepository<LandParcel, Long> {
@@ -81,4 +88,72 @@ public interface LandParcelRepository extends JpaRepository<LandParcel, Long> {
     // Calculate total market value
     @Query("SELECT SUM(lp.marketValue) FROM LandParcel lp WHERE lp.marketValue IS NOT NULL")
     BigDecimal getTotalMarketValue();
+
+    // Keyset pagination on id (Slice results skip the COUNT query)
+    Slice<LandParcel> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    Slice<LandParcel> findByDistrictAndIdGreaterThanOrderByIdAsc(String district, Long afterId, Pageable pageable);
+
+    @Query("SELECT lp FROM LandParcel lp WHERE lp.status = 'AVAILABLE' AND lp.id > :afterId ORDER BY lp.id ASC")
+    Slice<LandParcel> findAvailableParcelsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT lp FROM LandParcel lp WHERE lp.id > :afterId AND (" +
+           "LOWER(lp.location) LIKE LOWER(CONCAT('%', :location, '%')) " +
+           "OR LOWER(lp.district) LIKE LOWER(CONCAT('%', :location, '%')) " +
+           "OR LOWER(lp.sector) LIKE LOWER(CONCAT('%', :location, '%')) " +
+           "OR LOWER(lp.cell) LIKE LOWER(CONCAT('%', :location, '%'))) " +
+           "ORDER BY lp.id ASC")
+    Slice<LandParcel> findByLocationContainingAfter(@Param("location") String location,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    // One round-trip uniqueness check for a whole import chunk
+    @Query("SELECT lp.parcelNumber FROM LandParcel lp WHERE lp.parcelNumber IN :parcelNumbers")
+    List<String> findExistingParcelNumbers(@Param("parcelNumbers") Collection<String> parcelNumbers);
+
+    // Typeahead: one KNN scan per column over its GiST trigram index, each stopping after 'limit' rows,
+    // merged on the closest column. Word similarity scores the query against the best-matching stretch
+    // of the column, so prefixes and words inside longer names match; the cut-off is set by
+    // setWordSimilarityThreshold.
+    @Query(value = "SELECT lp.* FROM land_parcels lp JOIN (SELECT id, MIN(distance) AS distance FROM (" +
+           "(SELECT id, lower(:query) <<-> lower(location) AS distance FROM land_parcels " +
+           "WHERE lower(:query) <% lower(location) ORDER BY lower(:query) <<-> lower(location) LIMIT :limit) " +
+           "UNION ALL " +
+           "(SELECT id, lower(:query) <<-> lower(district) AS distance FROM land_parcels " +
+           "WHERE lower(:query) <% lower(district) ORDER BY lower(:query) <<-> lower(district) LIMIT :limit) " +
+           "UNION ALL " +
+           "(SELECT id, lower(:query) <<-> lower(sector) AS distance FROM land_parcels " +
+           "WHERE lower(:query) <% lower(sector) ORDER BY lower(:query) <<-> lower(sector) LIMIT :limit) " +
+           "UNION ALL " +
+           "(SELECT id, lower(:query) <<-> lower(cell) AS distance FROM land_parcels " +
+           "WHERE lower(:query) <% lower(cell) ORDER BY lower(:query) <<-> lower(cell) LIMIT :limit) " +
+           ") hits GROUP BY id) ranked ON ranked.id = lp.id " +
+           "ORDER BY ranked.distance, lp.id LIMIT :limit", nativeQuery = true)
+    List<LandParcel> searchByLocationRanked(@Param("query") String query, @Param("limit") int limit);
+
+    // Threshold for the <% operator, for the rest of the current transaction
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)", nativeQuery = true)
+    String setWordSimilarityThreshold(@Param("threshold") String threshold);
+
+    // Bounding boxes for the in-memory spatial index: [id, minLat, minLon, maxLat, maxLon]
+    @Query("SELECT lp.id, lp.minLatitude, lp.minLongitude, lp.maxLatitude, lp.maxLongitude FROM LandParcel lp " +
+           "WHERE lp.minLatitude IS NOT NULL")
+    List<Object[]> findAllBoundingBoxes();
+
+    // Parcels whose coordinates have not been parsed into a bounding box yet
+    @Query("SELECT lp FROM LandParcel lp WHERE lp.coordinates IS NOT NULL AND lp.minLatitude IS NULL " +
+           "AND lp.id > :afterId ORDER BY lp.id ASC")
+    Slice<LandParcel> findUnparsedCoordinatesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT lp FROM LandParcel lp ORDER BY lp.id")
+    Stream<LandParcel> streamAllForExport();
+
+    // Dashboard seeding and reconciliation: [status, landUse, count]
+    @Query("SELECT lp.status, lp.landUse, COUNT(lp) FROM LandParcel lp GROUP BY lp.status, lp.landUse")
+    List<Object[]> countGroupedByStatusAndLandUse();
 }
@@ -0,0 +1,20 @@
+package rw.landManagementSystem.LandSystem.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rw.landManagementSystem.LandSystem.model.OfficerSkill;
+
+import java.util.List;
+
+@Repository
+public interface OfficerSkillRepository extends JpaRepository<OfficerSkill, Long> {
+
+    List<OfficerSkill> findByOfficerId(Long officerId);
+
+    @Modifying
+    @Query("DELETE FROM OfficerSkill s WHERE s.officerId = :officerId")
+    int deleteByOfficerId(@Param("officerId") Long officerId);
+}
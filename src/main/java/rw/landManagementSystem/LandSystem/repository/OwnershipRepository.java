@@ -1,7 +1,13 @@
 package rw.landManagementSystem.LandSystem.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import rw.landManagementSystem.LandSystem.model.Ownership;
@@ -11,21 +17,33 @@ import rw.landManagementSystem.LandSystem.model.AcquisitionMethod;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OwnershipRepository extends JpaRepository<Ownership, Long> {
     
+    // Find all
+    @Override
+    @EntityGraph("Ownership.summary")
+    List<Ownership> findAll();
+
     // Find by user
+    @EntityGraph("Ownership.summary")
     List<Ownership> findByUserId(Long userId);
+    @EntityGraph("Ownership.summary")
     List<Ownership> findByUserIdAndStatus(Long userId, OwnershipStatus status);
     
     // Find by land parcel
+    @EntityGraph("Ownership.summary")
     List<Ownership> findByLandParcelId(Long landParcelId);
     List<Ownership> findByLandParcelIdAndStatus(Long landParcelId, OwnershipStatus status);
     
     // Find active ownerships
+    @EntityGraph("Ownership.summary")
     @Query("SELECT o FROM Ownership o WHERE o.status = 'ACTIVE'")
     List<Ownership> findAllActiveOwnerships();
     
@@ -36,32 +54,39 @@ public interface OwnershipRepository extends JpaRepository<Ownership, Long> {
     Optional<Ownership> findActiveOwnershipByUserAndLandParcel(@Param("userId") Long userId, @Param("landParcelId") Long landParcelId);
     
     // Find by ownership type
+    @EntityGraph("Ownership.summary")
     List<Ownership> findByOwnershipType(OwnershipType ownershipType);
     List<Ownership> findByOwnershipTypeAndStatus(OwnershipType ownershipType, OwnershipStatus status);
     
     // Find by acquisition method
+    @EntityGraph("Ownership.summary")
     List<Ownership> findByAcquisitionMethod(AcquisitionMethod acquisitionMethod);
     
     // Find by title deed number
     Optional<Ownership> findByTitleDeedNumber(String titleDeedNumber);
     
     // Find by date range
+    @EntityGraph("Ownership.summary")
     @Query("SELECT o FROM Ownership o WHERE o.acquisitionDate BETWEEN :startDate AND :endDate")
     List<Ownership> findByAcquisitionDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
     // Find by ownership percentage range
+    @EntityGraph("Ownership.summary")
     @Query("SELECT o FROM Ownership o WHERE o.ownershipPercentage BETWEEN :minPercentage AND :maxPercentage")
     List<Ownership> findByOwnershipPercentageRange(@Param("minPercentage") BigDecimal minPercentage, @Param("maxPercentage") BigDecimal maxPercentage);
     
     // Find full ownerships (100%)
+    @EntityGraph("Ownership.summary")
     @Query("SELECT o FROM Ownership o WHERE o.ownershipPercentage = 100.00 AND o.status = 'ACTIVE'")
     List<Ownership> findFullOwnerships();
     
     // Find partial ownerships (less than 100%)
+    @EntityGraph("Ownership.summary")
     @Query("SELECT o FROM Ownership o WHERE o.ownershipPercentage < 100.00 AND o.status = 'ACTIVE'")
     List<Ownership> findPartialOwnerships();
     
     // Find ownerships by land parcel with total percentage
+    @EntityGraph("Ownership.summary")
     @Query("SELECT o FROM Ownership o WHERE o.landParcel.id = :landParcelId AND o.status = 'ACTIVE' ORDER BY o.ownershipPercentage DESC")
     List<Ownership> findActiveOwnershipsByLandParcel(@Param("landParcelId") Long landParcelId);
     
@@ -70,13 +95,31 @@ public interface OwnershipRepository extends JpaRepository<Ownership, Long> {
     BigDecimal getTotalOwnershipPercentageByLandParcel(@Param("landParcelId") Long landParcelId);
     
     // Find disputed ownerships
+    @EntityGraph("Ownership.summary")
     @Query("SELECT o FROM Ownership o WHERE o.status = 'DISPUTED'")
     List<Ownership> findDisputedOwnerships();
     
     // Find expiring ownerships (for leasehold, etc.)
+    @EntityGraph("Ownership.summary")
     @Query("SELECT o FROM Ownership o WHERE o.endDate IS NOT NULL AND o.endDate <= :date AND o.status = 'ACTIVE'")
     List<Ownership> findExpiringOwnerships(@Param("date") LocalDate date);
     
+    // Expiry scanner: ACTIVE ownerships whose end date has passed, in (endDate, id) order after the watermark
+    @Query("SELECT o FROM Ownership o WHERE o.status = 'ACTIVE' AND o.endDate < :today " +
+           "AND (o.endDate > :afterDate OR (o.endDate = :afterDate AND o.id > :afterId)) " +
+           "ORDER BY o.endDate, o.id")
+    List<Ownership> findExpiryCandidates(@Param("today") LocalDate today, @Param("afterDate") LocalDate afterDate,
+                                         @Param("afterId") Long afterId, Pageable pageable);
+
+    // Current [id, ownershipPercentage] of the ids still ACTIVE, read past the persistence context
+    @Query("SELECT o.id, o.ownershipPercentage FROM Ownership o WHERE o.id IN :ids AND o.status = 'ACTIVE'")
+    List<Object[]> findActiveShares(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ownership o SET o.status = rw.landManagementSystem.LandSystem.model.OwnershipStatus.EXPIRED, " +
+           "o.updatedAt = :now WHERE o.id IN :ids AND o.status = 'ACTIVE'")
+    int markExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
     // Count ownerships by user
     @Query("SELECT COUNT(o) FROM Ownership o WHERE o.user.id = :userId AND o.status = 'ACTIVE'")
     long countActiveOwnershipsByUser(@Param("userId") Long userId);
@@ -86,10 +129,23 @@ public interface OwnershipRepository extends JpaRepository<Ownership, Long> {
     long countByStatus(@Param("status") OwnershipStatus status);
     
     // Find recent transfers
+    @EntityGraph("Ownership.summary")
     @Query("SELECT o FROM Ownership o WHERE o.acquisitionMethod = 'PURCHASE' AND o.acquisitionDate >= :date ORDER BY o.acquisitionDate DESC")
     List<Ownership> findRecentTransfers(@Param("date") LocalDate date);
     
     // Check if land parcel has multiple owners
     @Query("SELECT COUNT(o) > 1 FROM Ownership o WHERE o.landParcel.id = :landParcelId AND o.status = 'ACTIVE'")
     boolean hasMultipleOwners(@Param("landParcelId") Long landParcelId);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Ownership o ORDER BY o.id")
+    Stream<Ownership> streamAllForExport();
+
+    // Dashboard seeding and reconciliation: [status, ownershipType, count]
+    @Query("SELECT o.status, o.ownershipType, COUNT(o) FROM Ownership o GROUP BY o.status, o.ownershipType")
+    List<Object[]> countGroupedByStatusAndType();
 }
@@ -0,0 +1,35 @@
+package rw.landManagementSystem.LandSystem.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rw.landManagementSystem.LandSystem.model.PackEntry;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PackEntryRepository extends JpaRepository<PackEntry, String> {
+
+    // Blobs that are only needed cold: every document using them is archived or a superseded version,
+    // none changed since the cutoff, and none uses them as a thumbnail
+    @Query(value = "SELECT b.content_hash FROM blobs b WHERE b.ref_count > 0 " +
+                   "AND NOT EXISTS (SELECT 1 FROM pack_entries p WHERE p.content_hash = b.content_hash) " +
+                   "AND EXISTS (SELECT 1 FROM documents d WHERE d.content_hash = b.content_hash) " +
+                   "AND NOT EXISTS (SELECT 1 FROM documents d WHERE d.content_hash = b.content_hash " +
+                   "AND ((d.status <> 'ARCHIVED' AND d.is_latest_version) OR d.updated_at >= :cutoff)) " +
+                   "AND NOT EXISTS (SELECT 1 FROM documents d WHERE d.thumbnail_hash = b.content_hash) " +
+                   "ORDER BY b.content_hash LIMIT :limit", nativeQuery = true)
+    List<String> findArchivalCandidates(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query("SELECT p FROM PackEntry p WHERE p.looseRemoved = false AND p.packedAt < :cutoff ORDER BY p.packedAt")
+    List<PackEntry> findLooseCopiesPackedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE PackEntry p SET p.looseRemoved = true WHERE p.contentHash IN :contentHashes")
+    int markLooseRemoved(@Param("contentHashes") Collection<String> contentHashes);
+}
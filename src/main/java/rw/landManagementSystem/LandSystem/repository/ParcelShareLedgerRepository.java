@@ -0,0 +1,32 @@
+package rw.landManagementSystem.LandSystem.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rw.landManagementSystem.LandSystem.model.ParcelShareLedger;
+
+import java.util.Optional;
+
+@Repository
+public interface ParcelShareLedgerRepository extends JpaRepository<ParcelShareLedger, Long> {
+
+    // Creates the ledger row from the current active shares; a no-op if it already exists
+    @Modifying
+    @Query(value = "INSERT INTO parcel_share_ledger (land_parcel_id, allocated_basis_points, version, updated_at) " +
+                   "SELECT :landParcelId, CAST(COALESCE(ROUND(SUM(o.ownership_percentage) * 100), 0) AS INTEGER), 0, now() " +
+                   "FROM ownerships o WHERE o.land_parcel_id = :landParcelId AND o.status = 'ACTIVE' " +
+                   "ON CONFLICT (land_parcel_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("landParcelId") Long landParcelId);
+
+    @Query("SELECT l.allocatedBasisPoints FROM ParcelShareLedger l WHERE l.landParcelId = :landParcelId")
+    Optional<Integer> findAllocatedBasisPoints(@Param("landParcelId") Long landParcelId);
+
+    // SELECT ... FOR UPDATE on the parcel's ledger row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ParcelShareLedger l WHERE l.landParcelId = :landParcelId")
+    Optional<ParcelShareLedger> findForUpdate(@Param("landParcelId") Long landParcelId);
+}
@@ -0,0 +1,28 @@
+package rw.landManagementSystem.LandSystem.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rw.landManagementSystem.LandSystem.model.ProjectionOffset;
+
+import java.util.Optional;
+
+@Repository
+public interface ProjectionOffsetRepository extends JpaRepository<ProjectionOffset, String> {
+
+    // Starts a projection at the beginning of the log; a no-op if its offset already exists
+    @Modifying
+    @Query(value = "INSERT INTO projection_offsets (name, last_transaction_id, last_sequence, updated_at) " +
+                   "VALUES (:name, 0, 0, now()) " +
+                   "ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+
+    // SELECT ... FOR UPDATE, so only one instance advances a projection at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ProjectionOffset p WHERE p.name = :name")
+    Optional<ProjectionOffset> findForUpdate(@Param("name") String name);
+}
@@ -1,7 +1,14 @@
 package rw.landManagementSystem.LandSystem.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import rw.landManagementSystem.LandSystem.model.Request;
@@ -10,8 +17,10 @@ import rw.landManagementSystem.LandSystem.model.RequestType;
 import rw.landManagementSystem.LandSystem.model.RequestPriority;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RequestRepository extends JpaRepository<Request, Long> {
@@ -22,43 +31,80 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
     // Check existence
     boolean existsByRequestNumber(String requestNumber);
 
+    // Find all
+    @Override
+    @EntityGraph("Request.summary")
+    List<Request> findAll();
+
+    // Overdue and breached lists, resolved from the ids the SLA tracker holds
+    @EntityGraph("Request.summary")
+    List<Request> findByIdIn(Collection<Long> ids);
+
     // Find by requester
+    @EntityGraph("Request.summary")
     List<Request> findByRequesterId(Long requesterId);
+    @EntityGraph("Request.summary")
     List<Request> findByRequesterIdAndStatus(Long requesterId, RequestStatus status);
 
     // Find by land parcel
+    @EntityGraph("Request.summary")
     List<Request> findByLandParcelId(Long landParcelId);
     List<Request> findByLandParcelIdAndStatus(Long landParcelId, RequestStatus status);
 
     // Find by assigned officer
+    @EntityGraph("Request.summary")
     List<Request> findByAssignedOfficerId(Long officerId);
     List<Request> findByAssignedOfficerIdAndStatus(Long officerId, RequestStatus status);
 
     // Find by status
+    @EntityGraph("Request.summary")
     List<Request> findByStatus(RequestStatus status);
     List<Request> findByStatusOrderBySubmissionDateAsc(RequestStatus status);
 
     // Find by request type
+    @EntityGraph("Request.summary")
     List<Request> findByRequestType(RequestType requestType);
     List<Request> findByRequestTypeAndStatus(RequestType requestType, RequestStatus status);
 
     // Find by priority
+    @EntityGraph("Request.summary")
     List<Request> findByPriority(RequestPriority priority);
     List<Request> findByPriorityAndStatus(RequestPriority priority, RequestStatus status);
 
     // Find pending requests
+    @EntityGraph("Request.summary")
     @Query("SELECT r FROM Request r WHERE r.status = 'PENDING' ORDER BY r.priority DESC, r.submissionDate ASC")
     List<Request> findPendingRequestsOrderedByPriorityAndDate();
 
     // Find unassigned requests
+    @EntityGraph("Request.summary")
     @Query("SELECT r FROM Request r WHERE r.assignedOfficer IS NULL AND r.status IN ('PENDING', 'UNDER_REVIEW')")
     List<Request> findUnassignedRequests();
 
+    // Assignment engine: unassigned open requests, most urgent and oldest first. Rows another
+    // assignment run has locked are skipped rather than waited for.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM Request r WHERE r.assignedOfficer IS NULL AND r.status IN ('PENDING', 'UNDER_REVIEW') " +
+           "ORDER BY CASE r.priority " +
+           "WHEN rw.landManagementSystem.LandSystem.model.RequestPriority.URGENT THEN 0 " +
+           "WHEN rw.landManagementSystem.LandSystem.model.RequestPriority.HIGH THEN 1 " +
+           "WHEN rw.landManagementSystem.LandSystem.model.RequestPriority.NORMAL THEN 2 ELSE 3 END, " +
+           "r.submissionDate, r.id")
+    List<Request> findUnassignedForAssignment(Pageable pageable);
+
+    // Assignment engine seeding: [officerId, priority, count] of open assigned requests
+    @Query("SELECT r.assignedOfficer.id, r.priority, COUNT(r) FROM Request r " +
+           "WHERE r.assignedOfficer IS NOT NULL AND r.status IN ('PENDING', 'UNDER_REVIEW') " +
+           "GROUP BY r.assignedOfficer.id, r.priority")
+    List<Object[]> countOpenGroupedByOfficerAndPriority();
+
     // Find overdue requests
     @Query("SELECT r FROM Request r WHERE r.status IN ('PENDING', 'UNDER_REVIEW') AND r.submissionDate < :overdueDate")
     List<Request> findOverdueRequests(@Param("overdueDate") LocalDateTime overdueDate);
 
     // Find requests by date range
+    @EntityGraph("Request.summary")
     @Query("SELECT r FROM Request r WHERE r.submissionDate BETWEEN :startDate AND :endDate")
     List<Request> findBySubmissionDateBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
@@ -66,18 +112,22 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
     List<Request> findByCompletionDateBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
     // Find high priority requests
+    @EntityGraph("Request.summary")
     @Query("SELECT r FROM Request r WHERE r.priority IN ('HIGH', 'URGENT') AND r.status IN ('PENDING', 'UNDER_REVIEW') ORDER BY r.priority DESC, r.submissionDate ASC")
     List<Request> findHighPriorityPendingRequests();
 
     // Search requests by description
+    @EntityGraph("Request.summary")
     @Query("SELECT r FROM Request r WHERE LOWER(r.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Request> findByDescriptionContaining(@Param("keyword") String keyword);
 
     // Find requests requiring review
+    @EntityGraph("Request.summary")
     @Query("SELECT r FROM Request r WHERE r.status = 'UNDER_REVIEW' AND r.reviewDate IS NULL")
     List<Request> findRequestsRequiringReview();
 
     // Find completed requests by officer
+    @EntityGraph("Request.summary")
     @Query("SELECT r FROM Request r WHERE r.assignedOfficer.id = :officerId AND r.status IN ('APPROVED', 'REJECTED')")
     List<Request> findCompletedRequestsByOfficer(@Param("officerId") Long officerId);
 
@@ -94,15 +144,42 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
     long countPendingRequestsByOfficer(@Param("officerId") Long officerId);
 
     // Find requests by requester name
+    @EntityGraph("Request.summary")
     @Query("SELECT r FROM Request r WHERE " +
            "LOWER(CONCAT(r.requester.firstName, ' ', r.requester.lastName)) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Request> findByRequesterNameContaining(@Param("name") String name);
 
     // Find recent requests
+    @EntityGraph("Request.summary")
     @Query("SELECT r FROM Request r WHERE r.submissionDate >= :date ORDER BY r.submissionDate DESC")
     List<Request> findRecentRequests(@Param("date") LocalDateTime date);
 
-    // Calculate average processing time - temporarily disabled due to query complexity
-    // @Query("SELECT AVG(EXTRACT(DAY FROM (r.completionDate - r.submissionDate))) FROM Request r WHERE r.completionDate IS NOT NULL")
-    // Double getAverageProcessingTimeInDays();
+    // Average processing time is served by RequestSlaService from its histograms
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Request r ORDER BY r.id")
+    Stream<Request> streamAllForExport();
+
+    // SLA tracking of open requests: [id, requestType, priority, status, assignedOfficerId, submissionDate]
+    @Query("SELECT r.id, r.requestType, r.priority, r.status, o.id, r.submissionDate FROM Request r " +
+           "LEFT JOIN r.assignedOfficer o WHERE r.status IN ('PENDING', 'UNDER_REVIEW', 'ON_HOLD')")
+    List<Object[]> findOpenForSla();
+
+    // SLA histogram seeding, read once at startup; must be consumed inside a transaction and closed:
+    // [requestType, assignedOfficerId, status, submissionDate, reviewDate, completionDate]
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.requestType, o.id, r.status, r.submissionDate, r.reviewDate, r.completionDate FROM Request r " +
+           "LEFT JOIN r.assignedOfficer o WHERE r.reviewDate IS NOT NULL OR r.completionDate IS NOT NULL")
+    Stream<Object[]> streamProcessingTimes();
+
+    // Dashboard seeding and reconciliation: [status, requestType, count]
+    @Query("SELECT r.status, r.requestType, COUNT(r) FROM Request r GROUP BY r.status, r.requestType")
+    List<Object[]> countGroupedByStatusAndType();
 }
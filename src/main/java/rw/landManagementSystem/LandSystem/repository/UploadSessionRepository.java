@@ -0,0 +1,21 @@
+package rw.landManagementSystem.LandSystem.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rw.landManagementSystem.LandSystem.model.UploadSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    List<UploadSession> findByLastActivityAtBefore(LocalDateTime cutoff);
+
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.lastActivityAt = :now WHERE s.uploadId = :uploadId")
+    int touch(@Param("uploadId") String uploadId, @Param("now") LocalDateTime now);
+}
@@ -78,4 +78,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
                                    @Param("role") UserRole role,
                                    @Param("status") UserStatus status,
                                    Pageable pageable);
+
+    // Dashboard seeding and reconciliation: [status, role, count]
+    @Query("SELECT u.status, u.role, COUNT(u) FROM User u GROUP BY u.status, u.role")
+    List<Object[]> countGroupedByStatusAndRole();
 }
@@ -0,0 +1,69 @@
+package rw.landManagementSystem.LandSystem.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rw.landManagementSystem.LandSystem.model.WorkflowAggregate;
+import rw.landManagementSystem.LandSystem.model.WorkflowEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkflowEventRepository extends JpaRepository<WorkflowEvent, Long> {
+
+    // Browsing the log after a sequence. A lower sequence can still commit later, so this is not a feed
+    // that can be resumed without gaps; projections use findSettledAfter.
+    Slice<WorkflowEvent> findBySequenceGreaterThanOrderBySequenceAsc(Long sequence, Pageable pageable);
+
+    // Every transaction below this id has committed or rolled back; anything logged from now on gets an id
+    // at or above it
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)",
+           nativeQuery = true)
+    long findOldestInFlightTransaction();
+
+    // Projections: entries after a (transactionId, sequence) position, written by transactions that have
+    // finished. Nothing can later appear before the last entry returned.
+    @Query("SELECT e FROM WorkflowEvent e WHERE e.transactionId < :horizon " +
+           "AND (e.transactionId > :afterTransactionId " +
+           "OR (e.transactionId = :afterTransactionId AND e.sequence > :afterSequence)) " +
+           "ORDER BY e.transactionId, e.sequence")
+    List<WorkflowEvent> findSettledAfter(@Param("afterTransactionId") Long afterTransactionId,
+                                         @Param("afterSequence") Long afterSequence,
+                                         @Param("horizon") Long horizon, Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM WorkflowEvent e WHERE e.transactionId > :afterTransactionId " +
+           "OR (e.transactionId = :afterTransactionId AND e.sequence > :afterSequence)")
+    long countAfter(@Param("afterTransactionId") Long afterTransactionId, @Param("afterSequence") Long afterSequence);
+
+    Slice<WorkflowEvent> findByLandParcelIdAndSequenceGreaterThanOrderBySequenceAsc(Long landParcelId, Long sequence,
+                                                                                   Pageable pageable);
+
+    Slice<WorkflowEvent> findByAggregateTypeAndAggregateIdAndSequenceGreaterThanOrderBySequenceAsc(
+            WorkflowAggregate aggregateType, Long aggregateId, Long sequence, Pageable pageable);
+
+    @Query("SELECT MAX(e.sequence) FROM WorkflowEvent e")
+    Long findLastSequence();
+
+    // One statement per expiry scanner batch, run after the bulk UPDATE: an EXPIRED entry for each row it changed
+    @Modifying
+    @Query(value = "INSERT INTO workflow_events (aggregate_type, aggregate_id, land_parcel_id, event_type, " +
+                   "from_status, to_status, actor, occurred_at) " +
+                   "SELECT 'DOCUMENT', d.id, d.land_parcel_id, 'EXPIRED', 'ACTIVE', 'EXPIRED', :actor, :now " +
+                   "FROM documents d WHERE d.id IN (:ids) AND d.status = 'EXPIRED' AND d.updated_at = :now ORDER BY d.id", nativeQuery = true)
+    int appendDocumentExpiries(@Param("ids") Collection<Long> ids, @Param("actor") String actor,
+                               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO workflow_events (aggregate_type, aggregate_id, land_parcel_id, event_type, " +
+                   "from_status, to_status, actor, occurred_at) " +
+                   "SELECT 'OWNERSHIP', o.id, o.land_parcel_id, 'EXPIRED', 'ACTIVE', 'EXPIRED', :actor, :now " +
+                   "FROM ownerships o WHERE o.id IN (:ids) AND o.status = 'EXPIRED' AND o.updated_at = :now ORDER BY o.id", nativeQuery = true)
+    int appendOwnershipExpiries(@Param("ids") Collection<Long> ids, @Param("actor") String actor,
+                                @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,68 @@
+package rw.landManagementSystem.LandSystem.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+// Immutable view of a verified token, produced by a single JwtUtil.parseToken call
+public final class JwtClaims {
+
+    public static final String TWO_FACTOR_PENDING = "twoFactorPending";
+
+    private final String subject;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final boolean twoFactorPending;
+    private final Map<String, Object> claims;
+
+    private JwtClaims(String subject, Date issuedAt, Date expiration, boolean twoFactorPending,
+                      Map<String, Object> claims) {
+        this.subject = subject;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+        this.twoFactorPending = twoFactorPending;
+        this.claims = claims;
+    }
+
+    static JwtClaims from(Claims claims) {
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                Boolean.TRUE.equals(claims.get(TWO_FACTOR_PENDING, Boolean.class)),
+                Collections.unmodifiableMap(new HashMap<>(claims)));
+    }
+
+    // Getters
+    public String getSubject() {
+        return subject;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt == null ? null : new Date(issuedAt.getTime());
+    }
+
+    public Date getExpiration() {
+        return expiration == null ? null : new Date(expiration.getTime());
+    }
+
+    public boolean isTwoFactorPending() {
+        return twoFactorPending;
+    }
+
+    public Object getClaim(String name) {
+        return claims.get(name);
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+
+    // Utility methods
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,157 @@
+package rw.landManagementSystem.LandSystem.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import rw.landManagementSystem.LandSystem.util.TransactionCallbacks;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Component
+public class UserPrincipalCache {
+
+    @Value("${security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    // Generation counters striped by email; invalidate bumps one so a load that raced it is not cached
+    private static final int GENERATION_STRIPES = 256;
+
+    private final Map<String, CachedPrincipal> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    // Returns the cached principal for the email, loading it when absent, expired,
+    // or older than the token it is being used for (a token issued after the load)
+    public UserDetails get(String email, Date issuedAt, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = entries.get(email);
+        if (cached != null && cached.isUsableFor(issuedAt, now)) {
+            hits.increment();
+            return cached.principal;
+        }
+
+        misses.increment();
+        int stripe = stripeOf(email);
+        long generation = generations.get(stripe);
+        UserDetails principal = loader.apply(email);
+        CachedPrincipal loaded = new CachedPrincipal(principal, now, now + ttlSeconds * 1000);
+        entries.put(email, loaded);
+        // Invalidated while loading: the row may have been read before the change. Checked after the put,
+        // so an invalidation landing after this check removes the entry itself.
+        if (generations.get(stripe) != generation) {
+            entries.remove(email, loaded);
+        }
+        if (entries.size() > maxSize) {
+            evict(now);
+        }
+        return principal;
+    }
+
+    // Drops the entry now and again after commit, so a concurrent request cannot
+    // re-cache the row as it was before the change became visible
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        invalidations.increment();
+        remove(email);
+        TransactionCallbacks.afterCommit(() -> remove(email));
+    }
+
+    public void invalidateAll() {
+        invalidations.increment();
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        entries.clear();
+    }
+
+    // Statistics
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    // Private helper methods
+    private void remove(String email) {
+        generations.incrementAndGet(stripeOf(email));
+        entries.remove(email);
+    }
+
+    private static int stripeOf(String email) {
+        return Math.floorMod(email.hashCode(), GENERATION_STRIPES);
+    }
+
+    private synchronized void evict(long now) {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        entries.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().expiresAt <= now;
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+
+        // Still full: drop the oldest tenth so eviction is not paid on every miss
+        int excess = entries.size() - (maxSize - maxSize / 10);
+        if (excess > 0) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().loadedAt))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(key -> {
+                        entries.remove(key);
+                        evictions.increment();
+                    });
+        }
+    }
+
+    private static final class CachedPrincipal {
+        private final UserDetails principal;
+        private final long loadedAt;
+        private final long expiresAt;
+
+        private CachedPrincipal(UserDetails principal, long loadedAt, long expiresAt) {
+            this.principal = principal;
+            this.loadedAt = loadedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isUsableFor(Date issuedAt, long now) {
+            if (expiresAt <= now) {
+                return false;
+            }
+            // iat has whole-second precision: a token issued in the same second as the load may postdate it
+            return issuedAt == null || issuedAt.getTime() / 1000 < loadedAt / 1000;
+        }
+    }
+}
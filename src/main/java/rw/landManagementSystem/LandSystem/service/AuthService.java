@@ -10,6 +10,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import rw.landManagementSystem.LandSystem.model.User;
 import rw.landManagementSystem.LandSystem.repository.UserRepository;
+import rw.landManagementSystem.LandSystem.security.UserPrincipalCache;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -27,6 +28,9 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
     private final GoogleAuthenticator gAuth = new GoogleAuthenticator();
 
     public String generateTwoFactorSecret(String email) {
@@ -69,6 +73,7 @@ public class AuthService {
             User user = userOpt.get();
             user.setTwoFactorEnabled(true);
             userRepository.save(user);
+            principalCache.invalidate(email);
         }
     }
 
@@ -79,6 +84,7 @@ public class AuthService {
             user.setTwoFactorEnabled(false);
             user.setTwoFactorSecret(null);
             userRepository.save(user);
+            principalCache.invalidate(email);
         }
     }
 
@@ -104,6 +110,7 @@ public class AuthService {
                 user.setPasswordResetToken(null);
                 user.setPasswordResetExpires(null);
                 userRepository.save(user);
+                principalCache.invalidate(user.getEmail());
             } else {
                 throw new RuntimeException("Password reset token has expired");
             }
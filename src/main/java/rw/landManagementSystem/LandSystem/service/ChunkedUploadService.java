@@ -0,0 +1,335 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.dto.UploadInitRequest;
+import rw.landManagementSystem.LandSystem.dto.UploadSessionStatus;
+import rw.landManagementSystem.LandSystem.model.Document;
+import rw.landManagementSystem.LandSystem.model.UploadSession;
+import rw.landManagementSystem.LandSystem.repository.UploadSessionRepository;
+import rw.landManagementSystem.LandSystem.storage.BlobStore;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Resumable uploads for files too large for one request. A client opens a session, PUTs the chunks
+// in any order (each with its SHA-256), and completes it. Every chunk is written straight to its own
+// file under <blob root>/uploads/<uploadId>, so a retried or resumed chunk simply replaces the old one.
+// On completion the chunks are streamed once through the blob store, which hashes and writes the
+// assembled file in the same pass.
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    @Value("${storage.uploads.default-chunk-size:8388608}")
+    private int defaultChunkSize;
+
+    @Value("${storage.uploads.max-size:2147483648}")
+    private long maxUploadSize;
+
+    @Value("${storage.uploads.expire-hours:24}")
+    private long expireHours;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final DocumentService documentService;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+
+    private Path uploadsRoot;
+
+    public ChunkedUploadService(UploadSessionRepository uploadSessionRepository, DocumentService documentService,
+                                BlobStore blobStore, PlatformTransactionManager transactionManager) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.documentService = documentService;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        uploadsRoot = blobStore.getRoot().resolve("uploads");
+        Files.createDirectories(uploadsRoot);
+    }
+
+    public UploadSessionStatus startUpload(UploadInitRequest request, String username) {
+        Document document = documentService.getDocumentById(request.getDocumentId());
+        if (request.getTotalSize() > maxUploadSize) {
+            throw new RuntimeException("Upload exceeds the maximum size of " + maxUploadSize + " bytes");
+        }
+        int chunkSize = request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize;
+        if (chunkSize < MIN_CHUNK_SIZE || chunkSize > MAX_CHUNK_SIZE) {
+            throw new RuntimeException("Chunk size must be between " + MIN_CHUNK_SIZE + " and " + MAX_CHUNK_SIZE + " bytes");
+        }
+        documentService.checkStorageQuota(document.getId(), request.getTotalSize());
+
+        UploadSession session = new UploadSession();
+        session.setUploadId(UUID.randomUUID().toString());
+        session.setDocumentId(document.getId());
+        session.setFileName(request.getFileName() != null ? request.getFileName() : document.getDocumentName());
+        session.setMimeType(request.getMimeType());
+        session.setTotalSize(request.getTotalSize());
+        session.setChunkSize(chunkSize);
+        session.setTotalChunks((int) ((request.getTotalSize() + chunkSize - 1) / chunkSize));
+        session.setCreatedBy(username);
+        try {
+            Files.createDirectories(sessionDirectory(session.getUploadId()));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create upload session: " + e.getMessage());
+        }
+        UploadSession saved = transactionTemplate.execute(status -> uploadSessionRepository.save(session));
+        return describe(saved);
+    }
+
+    public UploadSessionStatus getStatus(String uploadId, String username) {
+        return describe(getSession(uploadId, username));
+    }
+
+    // Writes chunk 'index' to disk, rejecting it unless its size and SHA-256 match
+    public UploadSessionStatus writeChunk(String uploadId, int index, String expectedSha256,
+                                          InputStream body, String username) {
+        UploadSession session = getSession(uploadId, username);
+        if (index < 0 || index >= session.getTotalChunks()) {
+            throw new RuntimeException("Chunk index out of range: " + index);
+        }
+        if (expectedSha256 == null || !BlobStore.isContentHash(expectedSha256.toLowerCase(Locale.ROOT))) {
+            throw new RuntimeException("A hex SHA-256 checksum of the chunk is required");
+        }
+        long expectedSize = session.expectedChunkSize(index);
+
+        Path directory = sessionDirectory(uploadId);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "chunk-", ".part");
+            MessageDigest digest = sha256();
+            long written = 0;
+            ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+            try (ReadableByteChannel in = Channels.newChannel(body);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    written += buffer.remaining();
+                    if (written > expectedSize) {
+                        throw new RuntimeException("Chunk " + index + " is larger than " + expectedSize + " bytes");
+                    }
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                out.force(true);
+            }
+            if (written != expectedSize) {
+                throw new RuntimeException("Chunk " + index + " must be " + expectedSize + " bytes, got " + written);
+            }
+            String actualSha256 = HexFormat.of().formatHex(digest.digest());
+            if (!actualSha256.equalsIgnoreCase(expectedSha256)) {
+                throw new RuntimeException("Checksum mismatch for chunk " + index);
+            }
+            Files.move(temp, chunkFile(uploadId, index), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write chunk " + index + ": " + e.getMessage());
+        } finally {
+            deleteQuietly(temp);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.execute(status -> uploadSessionRepository.touch(uploadId, now));
+        session.setLastActivityAt(now);
+        return describe(session);
+    }
+
+    // Assembles the chunks into the blob store and attaches the result to the document
+    public Document completeUpload(String uploadId, String username) {
+        UploadSession session = getSession(uploadId, username);
+        List<Integer> missing = missingChunks(session);
+        if (!missing.isEmpty()) {
+            throw new IncompleteUploadException(describe(session));
+        }
+
+        BlobStore.StoredBlob blob;
+        try (InputStream assembled = new SequenceInputStream(chunkStreams(session))) {
+            blob = blobStore.store(assembled);
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Could not assemble upload " + uploadId + ": " + e.getMessage());
+        }
+        if (blob.getSize() != session.getTotalSize()) {
+            throw new RuntimeException("Assembled upload is " + blob.getSize() + " bytes, expected " + session.getTotalSize());
+        }
+
+        Document document = documentService.attachBlob(session.getDocumentId(), blob, session.getMimeType());
+        discard(session);
+        return document;
+    }
+
+    public void abortUpload(String uploadId, String username) {
+        discard(getSession(uploadId, username));
+    }
+
+    // Removes sessions with no chunk activity within the expiry window, and directories left without a session
+    @Scheduled(initialDelayString = "${storage.uploads.gc-interval-ms:3600000}",
+               fixedDelayString = "${storage.uploads.gc-interval-ms:3600000}")
+    public void expireAbandonedUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(expireHours);
+        int expired = 0;
+        for (UploadSession session : uploadSessionRepository.findByLastActivityAtBefore(cutoff)) {
+            discard(session);
+            expired++;
+        }
+
+        int orphans = 0;
+        FileTime fileCutoff = FileTime.fromMillis(System.currentTimeMillis() - expireHours * 3_600_000L);
+        try (Stream<Path> directories = Files.list(uploadsRoot)) {
+            for (Path directory : (Iterable<Path>) directories::iterator) {
+                String uploadId = directory.getFileName().toString();
+                if (Files.getLastModifiedTime(directory).compareTo(fileCutoff) < 0
+                        && !uploadSessionRepository.existsById(uploadId)) {
+                    deleteDirectory(directory);
+                    orphans++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Upload GC could not scan {}: {}", uploadsRoot, e.getMessage());
+        }
+        if (expired > 0 || orphans > 0) {
+            log.info("Upload GC: {} abandoned sessions expired, {} orphan directories removed", expired, orphans);
+        }
+    }
+
+    // Raised by completeUpload while chunks are still missing; carries the status so the client can resume
+    public static class IncompleteUploadException extends RuntimeException {
+        private final UploadSessionStatus status;
+
+        public IncompleteUploadException(UploadSessionStatus status) {
+            super("Upload is missing " + status.getMissingChunks().size() + " chunks");
+            this.status = status;
+        }
+
+        public UploadSessionStatus getStatus() {
+            return status;
+        }
+    }
+
+    // Private helper methods
+    private UploadSession getSession(String uploadId, String username) {
+        UploadSession session = uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new RuntimeException("Upload session not found: " + uploadId));
+        if (session.getCreatedBy() != null && !session.getCreatedBy().equals(username)) {
+            throw new RuntimeException("Upload session not found: " + uploadId);
+        }
+        return session;
+    }
+
+    private UploadSessionStatus describe(UploadSession session) {
+        return new UploadSessionStatus(session.getUploadId(), session.getDocumentId(), session.getTotalSize(),
+                session.getChunkSize(), session.getTotalChunks(), missingChunks(session),
+                session.getLastActivityAt().plusHours(expireHours));
+    }
+
+    private List<Integer> missingChunks(UploadSession session) {
+        List<Integer> missing = new ArrayList<>();
+        for (int index = 0; index < session.getTotalChunks(); index++) {
+            if (!Files.exists(chunkFile(session.getUploadId(), index))) {
+                missing.add(index);
+            }
+        }
+        return missing;
+    }
+
+    // Opens each chunk only when the previous one is exhausted, so one file handle is open at a time
+    private Enumeration<InputStream> chunkStreams(UploadSession session) {
+        return new Enumeration<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next < session.getTotalChunks();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return Files.newInputStream(chunkFile(session.getUploadId(), next++));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private void discard(UploadSession session) {
+        transactionTemplate.executeWithoutResult(status -> uploadSessionRepository.deleteById(session.getUploadId()));
+        deleteDirectory(sessionDirectory(session.getUploadId()));
+    }
+
+    private Path sessionDirectory(String uploadId) {
+        return uploadsRoot.resolve(UUID.fromString(uploadId).toString());
+    }
+
+    private Path chunkFile(String uploadId, int index) {
+        return sessionDirectory(uploadId).resolve(String.format("chunk-%06d", index));
+    }
+
+    private void deleteDirectory(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not remove upload directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.model.Document;
+import rw.landManagementSystem.LandSystem.model.LandParcel;
+import rw.landManagementSystem.LandSystem.model.Ownership;
+import rw.landManagementSystem.LandSystem.model.Request;
+import rw.landManagementSystem.LandSystem.model.User;
+import rw.landManagementSystem.LandSystem.repository.DocumentRepository;
+import rw.landManagementSystem.LandSystem.repository.LandParcelRepository;
+import rw.landManagementSystem.LandSystem.repository.OwnershipRepository;
+import rw.landManagementSystem.LandSystem.repository.RequestRepository;
+import rw.landManagementSystem.LandSystem.repository.UserRepository;
+import rw.landManagementSystem.LandSystem.util.ReconciledState;
+import rw.landManagementSystem.LandSystem.util.TransactionCallbacks;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Dashboard counts held in memory. Seeded from grouped queries at startup, moved incrementally
+// when the services commit a create, delete or status/category change, and rebuilt from the
+// database on a schedule so any drift (e.g. rows changed outside the services) is corrected.
+@Service
+public class DashboardStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatisticsService.class);
+
+    public enum Dataset {
+        USERS("status", "role"),
+        LAND_PARCELS("status", "landUse"),
+        OWNERSHIPS("status", "ownershipType"),
+        REQUESTS("status", "requestType"),
+        DOCUMENTS("status", "documentType", "verified");
+
+        private final String[] dimensions;
+
+        Dataset(String... dimensions) {
+            this.dimensions = dimensions;
+        }
+    }
+
+    // Where one row falls in the aggregate: its dataset plus one value per dimension
+    public static final class Key {
+        private final Dataset dataset;
+        private final String[] values;
+
+        private Key(Dataset dataset, Object... values) {
+            this.dataset = dataset;
+            this.values = Arrays.stream(values).map(value -> Objects.toString(value, "UNKNOWN")).toArray(String[]::new);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && dataset == key.dataset && Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * dataset.hashCode() + Arrays.hashCode(values);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final LandParcelRepository landParcelRepository;
+    private final OwnershipRepository ownershipRepository;
+    private final RequestRepository requestRepository;
+    private final DocumentRepository documentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReconciledState<Aggregate> aggregate = new ReconciledState<>(new Aggregate());
+    private volatile LocalDateTime lastReconciledAt;
+
+    public DashboardStatisticsService(UserRepository userRepository, LandParcelRepository landParcelRepository,
+                                      OwnershipRepository ownershipRepository, RequestRepository requestRepository,
+                                      DocumentRepository documentRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.landParcelRepository = landParcelRepository;
+        this.ownershipRepository = ownershipRepository;
+        this.requestRepository = requestRepository;
+        this.documentRepository = documentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // Keys for each tracked entity
+    public Key keyOf(User user) {
+        return new Key(Dataset.USERS, user.getStatus(), user.getRole());
+    }
+
+    public Key keyOf(LandParcel landParcel) {
+        return new Key(Dataset.LAND_PARCELS, landParcel.getStatus(), landParcel.getLandUse());
+    }
+
+    public Key keyOf(Ownership ownership) {
+        return new Key(Dataset.OWNERSHIPS, ownership.getStatus(), ownership.getOwnershipType());
+    }
+
+    public Key keyOf(Request request) {
+        return new Key(Dataset.REQUESTS, request.getStatus(), request.getRequestType());
+    }
+
+    public Key keyOf(Document document) {
+        return new Key(Dataset.DOCUMENTS, document.getStatus(), document.getDocumentType(),
+                Boolean.TRUE.equals(document.getIsVerified()));
+    }
+
+    // Moves one row from 'before' to 'after' once the current transaction commits.
+    // A null 'before' is a create, a null 'after' a delete.
+    public void recordChange(Key before, Key after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Consumer<Aggregate> change = target -> {
+            if (before != null) {
+                target.add(before, -1);
+            }
+            if (after != null) {
+                target.add(after, 1);
+            }
+        };
+        TransactionCallbacks.afterCommit(() -> aggregate.apply(change));
+    }
+
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        Aggregate current = aggregate.get();
+        for (Dataset dataset : Dataset.values()) {
+            summary.put(toCamelCase(dataset.name()), current.describe(dataset));
+        }
+        summary.put("lastReconciledAt", lastReconciledAt);
+        return summary;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${dashboard.statistics.reconcile-interval-ms:300000}",
+               fixedDelayString = "${dashboard.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Aggregate previous = aggregate.reconcile(() -> readOnlyTransaction.execute(status -> {
+            Aggregate result = new Aggregate();
+            load(result, Dataset.USERS, userRepository.countGroupedByStatusAndRole());
+            load(result, Dataset.LAND_PARCELS, landParcelRepository.countGroupedByStatusAndLandUse());
+            load(result, Dataset.OWNERSHIPS, ownershipRepository.countGroupedByStatusAndType());
+            load(result, Dataset.REQUESTS, requestRepository.countGroupedByStatusAndType());
+            load(result, Dataset.DOCUMENTS, documentRepository.countGroupedByStatusTypeAndVerified());
+            return result;
+        }));
+        lastReconciledAt = LocalDateTime.now();
+        if (previous.differsFrom(aggregate.get())) {
+            log.info("Dashboard statistics corrected during reconciliation");
+        }
+    }
+
+    // Private helper methods
+    private void load(Aggregate target, Dataset dataset, List<Object[]> rows) {
+        int dimensions = dataset.dimensions.length;
+        for (Object[] row : rows) {
+            Key key = new Key(dataset, Arrays.copyOf(row, dimensions));
+            target.add(key, ((Number) row[dimensions]).longValue());
+        }
+    }
+
+    private static String toCamelCase(String name) {
+        StringBuilder result = new StringBuilder();
+        boolean upper = false;
+        for (char c : name.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '_') {
+                upper = true;
+            } else {
+                result.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return result.toString();
+    }
+
+    private static final class Aggregate {
+        private final Map<Dataset, LongAdder> totals = new EnumMap<>(Dataset.class);
+        private final Map<Key, LongAdder> counts = new ConcurrentHashMap<>();
+
+        private Aggregate() {
+            for (Dataset dataset : Dataset.values()) {
+                totals.put(dataset, new LongAdder());
+            }
+        }
+
+        private void add(Key key, long delta) {
+            totals.get(key.dataset).add(delta);
+            counts.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+
+        private Map<String, Object> describe(Dataset dataset) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("total", totals.get(dataset).sum());
+            for (int i = 0; i < dataset.dimensions.length; i++) {
+                Map<String, Long> byValue = new TreeMap<>();
+                for (Map.Entry<Key, LongAdder> entry : counts.entrySet()) {
+                    if (entry.getKey().dataset == dataset) {
+                        byValue.merge(entry.getKey().values[i], entry.getValue().sum(), Long::sum);
+                    }
+                }
+                byValue.values().removeIf(count -> count == 0);
+                result.put("by" + Character.toUpperCase(dataset.dimensions[i].charAt(0))
+                        + dataset.dimensions[i].substring(1), byValue);
+            }
+            return result;
+        }
+
+        private boolean differsFrom(Aggregate other) {
+            for (Dataset dataset : Dataset.values()) {
+                if (totals.get(dataset).sum() != other.totals.get(dataset).sum()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.model.Document;
+import rw.landManagementSystem.LandSystem.model.DocumentProcessingStatus;
+import rw.landManagementSystem.LandSystem.model.DocumentText;
+import rw.landManagementSystem.LandSystem.repository.BlobRepository;
+import rw.landManagementSystem.LandSystem.repository.DocumentRepository;
+import rw.landManagementSystem.LandSystem.repository.DocumentTextRepository;
+import rw.landManagementSystem.LandSystem.storage.BlobContent;
+import rw.landManagementSystem.LandSystem.storage.BlobStore;
+import rw.landManagementSystem.LandSystem.storage.DocumentContentAnalyzer;
+import rw.landManagementSystem.LandSystem.util.TransactionCallbacks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Background thumbnailing, text extraction and checksum verification for stored documents.
+// Work runs on a fixed pool behind a bounded queue. When the queue is full the document simply
+// stays PENDING in the database and the periodic sweep submits it later, so request threads never
+// block on (or run) processing work. Failures are retried with exponential backoff.
+@Service
+public class DocumentProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentProcessingService.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Value("${documents.processing.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${documents.processing.retry-delay-ms:30000}")
+    private long retryDelayMs;
+
+    @Value("${documents.processing.sweep-batch-size:200}")
+    private int sweepBatchSize;
+
+    private final DocumentRepository documentRepository;
+    private final DocumentTextRepository documentTextRepository;
+    private final BlobRepository blobRepository;
+    private final BlobStore blobStore;
+    private final DocumentContentAnalyzer analyzer;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retryScheduler;
+
+    // Ids queued, running or waiting for a retry; keeps the sweep from submitting them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public DocumentProcessingService(DocumentRepository documentRepository,
+                                     DocumentTextRepository documentTextRepository,
+                                     BlobRepository blobRepository, BlobStore blobStore,
+                                     DocumentContentAnalyzer analyzer, PlatformTransactionManager transactionManager,
+                                     @Value("${documents.processing.workers:2}") int workerCount,
+                                     @Value("${documents.processing.queue-capacity:500}") int queueCapacity) {
+        this.documentRepository = documentRepository;
+        this.documentTextRepository = documentTextRepository;
+        this.blobRepository = blobRepository;
+        this.blobStore = blobStore;
+        this.analyzer = analyzer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("document-processor-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("document-processing-retry-"));
+    }
+
+    // Marks the document for processing and queues it once the caller's transaction commits.
+    // Without 'force', content that was already processed successfully is left alone.
+    public void requestProcessing(Document document, boolean force) {
+        if (document.getContentHash() == null) {
+            document.setProcessingStatus(DocumentProcessingStatus.NO_CONTENT);
+            return;
+        }
+        if (!force && document.getProcessingStatus() == DocumentProcessingStatus.COMPLETED) {
+            return;
+        }
+        document.setProcessingStatus(DocumentProcessingStatus.PENDING);
+        document.setProcessingError(null);
+        Long documentId = document.getId();
+        TransactionCallbacks.afterCommit(() -> submit(documentId));
+    }
+
+    public String getExtractedText(Long documentId) {
+        return documentTextRepository.findById(documentId)
+                .map(DocumentText::getContent)
+                .orElseThrow(() -> new RuntimeException("No extracted text for document: " + documentId));
+    }
+
+    // Called when a document is deleted; its thumbnail reference is released by the caller
+    public void discardResults(Long documentId) {
+        documentTextRepository.deleteById(documentId);
+    }
+
+    public int getQueuedCount() {
+        return workers.getQueue().size();
+    }
+
+    // Picks up PENDING documents that were rejected by a full queue, lost in a restart, or predate the pipeline
+    @Scheduled(initialDelayString = "${documents.processing.sweep-interval-ms:60000}",
+               fixedDelayString = "${documents.processing.sweep-interval-ms:60000}")
+    public void sweepPending() {
+        int capacity = workers.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        List<Long> ids = documentRepository.findIdsAwaitingProcessing(
+                PageRequest.of(0, Math.min(sweepBatchSize, capacity) + inFlight.size()));
+        for (Long id : ids) {
+            if (!submit(id)) {
+                break;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    // Private helper methods
+
+    // Returns false only when the queue is full
+    private boolean submit(Long documentId) {
+        if (!inFlight.add(documentId)) {
+            return true;
+        }
+        return execute(documentId, 1);
+    }
+
+    private boolean execute(Long documentId, int attempt) {
+        try {
+            workers.execute(() -> process(documentId, attempt));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Backpressure: the row stays PENDING and the next sweep resubmits it
+            inFlight.remove(documentId);
+            return false;
+        }
+    }
+
+    private void process(Long documentId, int attempt) {
+        boolean retrying = false;
+        try {
+            Document document = transactionTemplate.execute(status -> documentRepository.findById(documentId).orElse(null));
+            if (document == null || document.getProcessingStatus() == DocumentProcessingStatus.COMPLETED
+                    || document.getProcessingStatus() == DocumentProcessingStatus.FAILED) {
+                return;
+            }
+            String contentHash = document.getContentHash();
+            if (contentHash == null) {
+                transactionTemplate.execute(status -> documentRepository.recordNoContent(documentId, LocalDateTime.now()));
+                return;
+            }
+            DocumentContentAnalyzer.Result result = analyze(contentHash, document.getMimeType());
+            if (!contentHash.equals(result.getChecksum())) {
+                // Corruption on disk; retrying cannot help
+                recordFailure(documentId, contentHash, "Stored content does not match its checksum " + contentHash);
+                log.error("Document {} content checksum mismatch: expected {}, found {}",
+                        documentId, contentHash, result.getChecksum());
+                return;
+            }
+            BlobStore.StoredBlob thumbnail = result.getThumbnailPng() != null
+                    ? blobStore.store(new ByteArrayInputStream(result.getThumbnailPng()))
+                    : null;
+            recordSuccess(documentId, contentHash, thumbnail, result.getText());
+        } catch (Exception e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            if (attempt < maxAttempts) {
+                retrying = true;
+                long delay = retryDelayMs << (attempt - 1);
+                log.warn("Processing document {} failed (attempt {}/{}), retrying in {} ms: {}",
+                        documentId, attempt, maxAttempts, delay, message);
+                retryScheduler.schedule(() -> {
+                    if (!execute(documentId, attempt + 1)) {
+                        log.debug("Processing queue full; document {} left for the next sweep", documentId);
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+            } else {
+                log.error("Processing document {} failed after {} attempts: {}", documentId, attempt, message);
+                Document document = documentRepository.findById(documentId).orElse(null);
+                if (document != null && document.getContentHash() != null) {
+                    recordFailure(documentId, document.getContentHash(), message);
+                }
+            }
+        } finally {
+            if (!retrying) {
+                inFlight.remove(documentId);
+            }
+        }
+    }
+
+    // The analyzer needs a plain file; archived content is inflated from its pack into a temp copy first
+    private DocumentContentAnalyzer.Result analyze(String contentHash, String mimeType) throws IOException {
+        BlobContent content = blobStore.locate(contentHash);
+        if (content.isLoose()) {
+            return analyzer.analyze(content.getFile(), mimeType);
+        }
+        Path temp = Files.createTempFile("document-processing-", ".tmp");
+        try {
+            try (InputStream in = content.openStream()) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return analyzer.analyze(temp, mimeType);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void recordSuccess(Long documentId, String contentHash, BlobStore.StoredBlob thumbnail, String text) {
+        transactionTemplate.executeWithoutResult(status -> {
+            String previousThumbnail = documentRepository.findThumbnailHash(documentId).orElse(null);
+            String thumbnailHash = thumbnail != null ? thumbnail.getContentHash() : null;
+            int updated = documentRepository.recordProcessingResult(documentId, contentHash,
+                    DocumentProcessingStatus.COMPLETED, thumbnailHash, null, LocalDateTime.now());
+            if (updated == 0) {
+                return; // content replaced meanwhile; the new content has its own job queued
+            }
+            if (thumbnail != null) {
+                blobRepository.addReference(thumbnail.getContentHash(), thumbnail.getSize());
+            }
+            if (previousThumbnail != null) {
+                blobRepository.releaseReference(previousThumbnail);
+            }
+            if (text != null) {
+                documentTextRepository.save(new DocumentText(documentId, contentHash, text));
+            } else {
+                documentTextRepository.deleteById(documentId);
+            }
+        });
+    }
+
+    private void recordFailure(Long documentId, String contentHash, String message) {
+        String error = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+        transactionTemplate.executeWithoutResult(status -> {
+            String previousThumbnail = documentRepository.findThumbnailHash(documentId).orElse(null);
+            int updated = documentRepository.recordProcessingResult(documentId, contentHash,
+                    DocumentProcessingStatus.FAILED, null, error, LocalDateTime.now());
+            if (updated > 0 && previousThumbnail != null) {
+                blobRepository.releaseReference(previousThumbnail);
+            }
+        });
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,39 +1,111 @@
 package rw.landManagementSystem.LandSystem.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import rw.landManagementSystem.LandSystem.config.DatabaseSchemaInitializer;
+import rw.landManagementSystem.LandSystem.dto.CursorPage;
+import rw.landManagementSystem.LandSystem.dto.DocumentSummary;
+import rw.landManagementSystem.LandSystem.event.ExpiryEvent;
 import rw.landManagementSystem.LandSystem.model.Document;
+import rw.landManagementSystem.LandSystem.model.DocumentProcessingStatus;
 import rw.landManagementSystem.LandSystem.model.DocumentStatus;
 import rw.landManagementSystem.LandSystem.model.DocumentType;
 import rw.landManagementSystem.LandSystem.model.User;
+import rw.landManagementSystem.LandSystem.model.WorkflowAggregate;
+import rw.landManagementSystem.LandSystem.repository.BlobRepository;
 import rw.landManagementSystem.LandSystem.repository.DocumentRepository;
+import rw.landManagementSystem.LandSystem.storage.BlobContent;
+import rw.landManagementSystem.LandSystem.storage.BlobStore;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class DocumentService {
 
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 200;
+
     private final DocumentRepository documentRepository;
     private final UserService userService;
-
-    public DocumentService(DocumentRepository documentRepository, UserService userService) {
+    private final DashboardStatisticsService statistics;
+    private final BlobStore blobStore;
+    private final BlobRepository blobRepository;
+    private final DocumentProcessingService processingService;
+    private final DatabaseSchemaInitializer schemaInitializer;
+    private final StorageAccountingService storageAccounting;
+    private final WorkflowEventLog eventLog;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DocumentService(DocumentRepository documentRepository, UserService userService,
+                           DashboardStatisticsService statistics, BlobStore blobStore,
+                           BlobRepository blobRepository, DocumentProcessingService processingService,
+                           DatabaseSchemaInitializer schemaInitializer, StorageAccountingService storageAccounting,
+                           WorkflowEventLog eventLog) {
         this.documentRepository = documentRepository;
         this.userService = userService;
+        this.statistics = statistics;
+        this.blobStore = blobStore;
+        this.blobRepository = blobRepository;
+        this.processingService = processingService;
+        this.schemaInitializer = schemaInitializer;
+        this.storageAccounting = storageAccounting;
+        this.eventLog = eventLog;
     }
 
     // Create and Update operations
     public Document createDocument(Document document) {
         validateDocumentForCreation(document);
-        return documentRepository.save(document);
+        Document savedDocument = documentRepository.save(document);
+        refreshLatestVersion(savedDocument.getDocumentName(), landParcelIdOf(savedDocument), savedDocument);
+        processingService.requestProcessing(savedDocument, false);
+        statistics.recordChange(null, statistics.keyOf(savedDocument));
+        storageAccounting.recordChange(null, storageAccounting.usageOf(savedDocument));
+        logChange(savedDocument, "CREATED", null);
+        return savedDocument;
     }
 
     public Document updateDocument(Long id, Document documentDetails) {
         Document existingDocument = getDocumentById(id);
+        DashboardStatisticsService.Key before = statistics.keyOf(existingDocument);
+        StorageAccountingService.Usage usageBefore = storageAccounting.usageOf(existingDocument);
+        String previousName = existingDocument.getDocumentName();
+        DocumentStatus previousStatus = existingDocument.getStatus();
         updateDocumentFields(existingDocument, documentDetails);
-        return documentRepository.save(existingDocument);
+        StorageAccountingService.Usage usageAfter = storageAccounting.usageOf(existingDocument);
+        storageAccounting.checkQuota(existingDocument.getUploadedBy(), usageBefore, usageAfter);
+        statistics.recordChange(before, statistics.keyOf(existingDocument));
+        storageAccounting.recordChange(usageBefore, usageAfter);
+        Document savedDocument = documentRepository.save(existingDocument);
+        if (!previousName.equals(savedDocument.getDocumentName())) {
+            // Renaming moves the document into another lineage; both need their latest version re-chosen
+            Long landParcelId = landParcelIdOf(savedDocument);
+            lockLineagesInOrder(previousName, savedDocument.getDocumentName(), landParcelId);
+            refreshLatestVersion(previousName, landParcelId, null);
+            refreshLatestVersion(savedDocument.getDocumentName(), landParcelId, savedDocument);
+        }
+        // Logged after the lineage refresh, in the same order as createDocument and deleteDocument
+        logChange(savedDocument, "UPDATED", previousStatus);
+        return savedDocument;
     }
 
     // Read operations
@@ -112,6 +184,27 @@ public class DocumentService {
         return documentRepository.findByDescriptionContaining(keyword);
     }
 
+    // Ranked full-text search over name, description and extracted text, optionally narrowed by type, status and parcel
+    @Transactional(readOnly = true)
+    public List<Document> searchDocuments(String query, DocumentType documentType, DocumentStatus status,
+                                          Long landParcelId, Integer limit) {
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.isEmpty()) {
+            return List.of();
+        }
+        int max = limit == null || limit <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+        if (!schemaInitializer.isDocumentSearchAvailable()) {
+            return documentRepository.searchByNameOrDescription(trimmed, documentType, status, landParcelId,
+                    PageRequest.of(0, max));
+        }
+        List<Long> ids = documentRepository.searchRankedIds(trimmed,
+                documentType != null ? documentType.name() : null, status != null ? status.name() : null,
+                landParcelId, max);
+        Map<Long, Document> byId = documentRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Document::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     public List<Document> getDocumentsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return documentRepository.findByCreatedAtBetween(startDate, endDate);
     }
@@ -120,6 +213,16 @@ public class DocumentService {
         return documentRepository.findLatestVersionDocuments();
     }
 
+    public CursorPage<DocumentSummary> getLatestVersionDocumentsPage(Long landParcelId, String cursor, Integer size) {
+        Long afterId = CursorPage.decodeCursor(cursor);
+        PageRequest page = PageRequest.of(0, CursorPage.clampPageSize(size));
+        Slice<Document> slice = landParcelId != null
+                ? documentRepository.findLatestVersionsByLandParcelAfter(landParcelId, afterId, page)
+                : documentRepository.findLatestVersionsAfter(afterId, page);
+        // Mapped inside the transaction; the page carries the summaries, not the entities
+        return CursorPage.of(slice.map(DocumentSummary::of), DocumentSummary::getId);
+    }
+
     public List<Document> getDocumentsByMimeType(String mimeType) {
         return documentRepository.findByMimeType(mimeType);
     }
@@ -136,7 +239,14 @@ public class DocumentService {
     // Delete operations
     public void deleteDocument(Long id) {
         Document document = getDocumentById(id);
+        StorageAccountingService.Usage usageBefore = storageAccounting.usageOf(document);
+        releaseContent(document);
+        processingService.discardResults(id);
         documentRepository.delete(document);
+        refreshLatestVersion(document.getDocumentName(), landParcelIdOf(document), null);
+        statistics.recordChange(statistics.keyOf(document), null);
+        storageAccounting.recordChange(usageBefore, null);
+        eventLog.append(WorkflowAggregate.DOCUMENT, id, landParcelIdOf(document), "DELETED", document.getStatus(), null);
     }
 
     public void archiveDocument(Long id) {
@@ -150,8 +260,50 @@ public class DocumentService {
     // Status management
     public void updateDocumentStatus(Long id, DocumentStatus status) {
         Document document = getDocumentById(id);
+        DashboardStatisticsService.Key before = statistics.keyOf(document);
+        StorageAccountingService.Usage usageBefore = storageAccounting.usageOf(document);
+        DocumentStatus previousStatus = document.getStatus();
         document.setStatus(status);
         documentRepository.save(document);
+        statistics.recordChange(before, statistics.keyOf(document));
+        storageAccounting.recordChange(usageBefore, storageAccounting.usageOf(document));
+        logChange(document, "STATUS_CHANGED", previousStatus);
+    }
+
+    // Expiry scanner batch: one bulk UPDATE instead of a save per document. The documents must have been
+    // loaded ACTIVE in the current transaction; returns the events to publish once it commits.
+    public List<ExpiryEvent> expireDocuments(List<Document> candidates, LocalDateTime now) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        List<DashboardStatisticsService.Key> keysBefore = new ArrayList<>(candidates.size());
+        List<StorageAccountingService.Usage> usagesBefore = new ArrayList<>(candidates.size());
+        for (Document document : candidates) {
+            keysBefore.add(statistics.keyOf(document));
+            usagesBefore.add(storageAccounting.usageOf(document));
+        }
+        // A document no longer ACTIVE is skipped by the UPDATE, and gets no event, log entry or delta
+        List<Long> candidateIds = candidates.stream().map(Document::getId).toList();
+        List<Long> expiredIds = documentRepository.markExpired(candidateIds, now);
+        eventLog.appendExpiries(WorkflowAggregate.DOCUMENT, expiredIds, now);
+        candidates.forEach(entityManager::detach);
+
+        Set<Long> expired = new HashSet<>(expiredIds);
+        List<ExpiryEvent> events = new ArrayList<>(expired.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            Document document = candidates.get(i);
+            if (!expired.contains(document.getId())) {
+                continue;
+            }
+            // Detached above, so this only feeds the keys below
+            document.setStatus(DocumentStatus.EXPIRED);
+            statistics.recordChange(keysBefore.get(i), statistics.keyOf(document));
+            storageAccounting.recordChange(usagesBefore.get(i), storageAccounting.usageOf(document));
+            events.add(new ExpiryEvent(ExpiryEvent.Subject.DOCUMENT, document.getId(), landParcelIdOf(document),
+                    document.getUploadedBy() != null ? document.getUploadedBy().getId() : null,
+                    document.getExpiryDate()));
+        }
+        return events;
     }
 
     public void activateDocument(Long id) {
@@ -164,12 +316,17 @@ public class DocumentService {
 
     public void markForVerification(Long id) {
         updateDocumentStatus(id, DocumentStatus.PENDING_VERIFICATION);
+        // Officers triage from the thumbnail and text, so make sure they exist
+        processingService.requestProcessing(getDocumentById(id), false);
     }
 
     // Verification management
     public void verifyDocument(Long documentId, Long verifierId) {
         Document document = getDocumentById(documentId);
         User verifier = userService.getUserById(verifierId);
+        DashboardStatisticsService.Key before = statistics.keyOf(document);
+        StorageAccountingService.Usage usageBefore = storageAccounting.usageOf(document);
+        DocumentStatus previousStatus = document.getStatus();
 
         document.setIsVerified(true);
         document.setVerifiedBy(verifier);
@@ -177,23 +334,86 @@ public class DocumentService {
         document.setStatus(DocumentStatus.ACTIVE);
 
         documentRepository.save(document);
+        statistics.recordChange(before, statistics.keyOf(document));
+        storageAccounting.recordChange(usageBefore, storageAccounting.usageOf(document));
+        logChange(document, "VERIFIED", previousStatus);
     }
 
     public void unverifyDocument(Long id) {
         Document document = getDocumentById(id);
+        DashboardStatisticsService.Key before = statistics.keyOf(document);
         document.setIsVerified(false);
         document.setVerifiedBy(null);
         document.setVerificationDate(null);
         documentRepository.save(document);
+        statistics.recordChange(before, statistics.keyOf(document));
+        logChange(document, "UNVERIFIED", document.getStatus());
     }
 
     // File management
+    // Stores the uploaded bytes in the blob store; identical content already stored is reused
+    public Document storeContent(Long documentId, InputStream content, String mimeType) {
+        Document document = getDocumentById(documentId);
+        BlobStore.StoredBlob blob;
+        try {
+            blob = blobStore.store(content);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not store document content: " + e.getMessage());
+        }
+        return attachBlob(document, blob, mimeType);
+    }
+
+    // Points the document at a blob already written to the blob store (e.g. an assembled chunked upload)
+    public Document attachBlob(Long documentId, BlobStore.StoredBlob blob, String mimeType) {
+        return attachBlob(getDocumentById(documentId), blob, mimeType);
+    }
+
+    // The document's bytes, from hot storage or a pack; only blob-store content is served, never a client-supplied path
+    @Transactional(readOnly = true)
+    public BlobContent getContent(Document document) {
+        if (document.getContentHash() == null) {
+            throw new RuntimeException("Document has no stored content: " + document.getId());
+        }
+        try {
+            return blobStore.locate(document.getContentHash());
+        } catch (IOException e) {
+            throw new RuntimeException("Stored content missing for document: " + document.getId());
+        }
+    }
+
+    // Thumbnail generated by the processing pipeline
+    @Transactional(readOnly = true)
+    public Path getThumbnailPath(Document document) {
+        if (document.getThumbnailHash() == null) {
+            throw new RuntimeException("No thumbnail for document: " + document.getId());
+        }
+        Path path = blobStore.resolve(document.getThumbnailHash());
+        if (!Files.exists(path)) {
+            throw new RuntimeException("Thumbnail missing for document: " + document.getId());
+        }
+        return path;
+    }
+
+    @Transactional(readOnly = true)
+    public String getExtractedText(Long documentId) {
+        return processingService.getExtractedText(documentId);
+    }
+
+    public void reprocessDocument(Long id) {
+        processingService.requestProcessing(getDocumentById(id), true);
+    }
+
     public void updateFileInfo(Long documentId, String filePath, Long fileSize, String mimeType) {
         Document document = getDocumentById(documentId);
+        StorageAccountingService.Usage usageBefore = storageAccounting.usageOf(document);
+        detachContentIfMoved(document, filePath);
         document.setFilePath(filePath);
         document.setFileSize(fileSize);
         document.setMimeType(mimeType);
+        StorageAccountingService.Usage usageAfter = storageAccounting.usageOf(document);
+        storageAccounting.checkQuota(document.getUploadedBy(), usageBefore, usageAfter);
         documentRepository.save(document);
+        storageAccounting.recordChange(usageBefore, usageAfter);
     }
 
     // Statistics and counts
@@ -213,8 +433,22 @@ public class DocumentService {
         return documentRepository.countVerifiedDocuments();
     }
 
+    // Served from the running totals rather than a SUM over the documents table
     public Long getTotalFileSize() {
-        return documentRepository.getTotalFileSize();
+        return storageAccounting.getActiveBytes();
+    }
+
+    // Lets chunked uploads fail before any bytes are sent rather than at completion
+    public void checkStorageQuota(Long documentId, long newContentSize) {
+        checkStorageQuota(getDocumentById(documentId), newContentSize);
+    }
+
+    public Map<String, Object> getStorageSummary() {
+        return storageAccounting.getSummary();
+    }
+
+    public Map<String, Object> getStorageUsageByUploader(Long uploaderId) {
+        return storageAccounting.getUploaderUsage(userService.getUserById(uploaderId));
     }
 
     // Validation methods
@@ -244,6 +478,7 @@ public class DocumentService {
             existingDocument.setExpiryDate(documentDetails.getExpiryDate());
         }
         if (documentDetails.getFilePath() != null) {
+            detachContentIfMoved(existingDocument, documentDetails.getFilePath());
             existingDocument.setFilePath(documentDetails.getFilePath());
         }
         if (documentDetails.getFileSize() != null) {
@@ -253,4 +488,85 @@ public class DocumentService {
             existingDocument.setMimeType(documentDetails.getMimeType());
         }
     }
+
+    // Version lineage helpers
+    // Re-chooses the latest version of one lineage under a transaction-scoped lock, so concurrent saves
+    // of new versions cannot both (or neither) end up flagged as latest
+    private void refreshLatestVersion(String documentName, Long landParcelId, Document current) {
+        documentRepository.lockLineage(documentName, landParcelId);
+        documentRepository.flush();
+        Long latestId = documentRepository.findLatestIdInLineage(documentName, landParcelId);
+        documentRepository.markLatestInLineage(documentName, landParcelId, latestId);
+        if (current != null) {
+            current.setLatestVersion(current.getId().equals(latestId));
+        }
+    }
+
+    // Both lineages of a rename, smaller key first, so renames in opposite directions cannot deadlock.
+    // The locks are re-entrant, so the refreshes that follow take them again without waiting.
+    private void lockLineagesInOrder(String firstName, String secondName, Long landParcelId) {
+        long firstKey = documentRepository.lineageLockKey(firstName, landParcelId);
+        long secondKey = documentRepository.lineageLockKey(secondName, landParcelId);
+        documentRepository.lockLineageKey(Math.min(firstKey, secondKey));
+        if (firstKey != secondKey) {
+            documentRepository.lockLineageKey(Math.max(firstKey, secondKey));
+        }
+    }
+
+    // Workflow log entry for a change to one document; updates that leave the status alone are not logged
+    private void logChange(Document document, String eventType, DocumentStatus previousStatus) {
+        if ("UPDATED".equals(eventType) && previousStatus == document.getStatus()) {
+            return;
+        }
+        eventLog.append(WorkflowAggregate.DOCUMENT, document.getId(), landParcelIdOf(document), eventType,
+                previousStatus, document.getStatus());
+    }
+
+    private Long landParcelIdOf(Document document) {
+        return document.getLandParcel() != null ? document.getLandParcel().getId() : null;
+    }
+
+    // Storage quota helpers
+    // Only the growth counts against the quota when content is replaced
+    private void checkStorageQuota(Document document, long newContentSize) {
+        long currentBytes = document.getStatus() != DocumentStatus.DELETED && document.getFileSize() != null
+                ? document.getFileSize() : 0L;
+        storageAccounting.checkQuota(document.getUploadedBy(), newContentSize - currentBytes);
+    }
+
+    // Blob reference helpers
+    private Document attachBlob(Document document, BlobStore.StoredBlob blob, String mimeType) {
+        StorageAccountingService.Usage usageBefore = storageAccounting.usageOf(document);
+        checkStorageQuota(document, blob.getSize());
+        blobRepository.addReference(blob.getContentHash(), blob.getSize());
+        releaseContent(document);
+        document.setContentHash(blob.getContentHash());
+        document.setFilePath(blob.getPath().toString());
+        document.setFileSize(blob.getSize());
+        document.setMimeType(mimeType != null ? mimeType : "application/octet-stream");
+        processingService.requestProcessing(document, true);
+        Document savedDocument = documentRepository.save(document);
+        storageAccounting.recordChange(usageBefore, storageAccounting.usageOf(savedDocument));
+        return savedDocument;
+    }
+
+    // The thumbnail is derived from the content, so it goes with it
+    private void releaseContent(Document document) {
+        if (document.getContentHash() != null) {
+            blobRepository.releaseReference(document.getContentHash());
+            document.setContentHash(null);
+            document.setProcessingStatus(DocumentProcessingStatus.NO_CONTENT);
+        }
+        if (document.getThumbnailHash() != null) {
+            blobRepository.releaseReference(document.getThumbnailHash());
+            document.setThumbnailHash(null);
+        }
+    }
+
+    // A client-supplied path that differs from the blob's means the document no longer uses the blob
+    private void detachContentIfMoved(Document document, String newFilePath) {
+        if (document.getContentHash() != null && newFilePath != null && !newFilePath.equals(document.getFilePath())) {
+            releaseContent(document);
+        }
+    }
 }
@@ -0,0 +1,151 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.event.ExpiryEvent;
+import rw.landManagementSystem.LandSystem.model.Document;
+import rw.landManagementSystem.LandSystem.model.ExpiryWatermark;
+import rw.landManagementSystem.LandSystem.model.Ownership;
+import rw.landManagementSystem.LandSystem.repository.DocumentRepository;
+import rw.landManagementSystem.LandSystem.repository.ExpiryWatermarkRepository;
+import rw.landManagementSystem.LandSystem.repository.OwnershipRepository;
+import rw.landManagementSystem.LandSystem.util.TransactionCallbacks;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Moves documents and ownerships to EXPIRED once their expiry passes. Each table keeps an (expiry, id)
+// watermark, so a run only reads rows that became due since the previous one, in bounded batches of
+// one transaction each. A periodic pass from the start catches rows that were given a past expiry
+// date, or became ACTIVE again after it, since the watermark went by.
+@Service
+public class ExpiryScanner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiryScanner.class);
+    private static final String DOCUMENTS = "documents";
+    private static final String OWNERSHIPS = "ownerships";
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Value("${expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${expiry.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${expiry.full-rescan-hours:24}")
+    private long fullRescanHours;
+
+    private final ExpiryWatermarkRepository watermarkRepository;
+    private final DocumentRepository documentRepository;
+    private final OwnershipRepository ownershipRepository;
+    private final DocumentService documentService;
+    private final OwnershipService ownershipService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExpiryScanner(ExpiryWatermarkRepository watermarkRepository, DocumentRepository documentRepository,
+                         OwnershipRepository ownershipRepository, DocumentService documentService,
+                         OwnershipService ownershipService, ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager) {
+        this.watermarkRepository = watermarkRepository;
+        this.documentRepository = documentRepository;
+        this.ownershipRepository = ownershipRepository;
+        this.documentService = documentService;
+        this.ownershipService = ownershipService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${expiry.scan-interval-ms:300000}",
+               fixedDelayString = "${expiry.scan-interval-ms:300000}")
+    public void scan() {
+        LocalDateTime now = LocalDateTime.now();
+        int documents = drain(DOCUMENTS, now, (afterExpiry, afterId) -> {
+            List<Document> candidates = documentRepository.findExpiryCandidates(now, afterExpiry, afterId,
+                    PageRequest.of(0, batchSize));
+            if (candidates.isEmpty()) {
+                return Batch.EMPTY;
+            }
+            Document last = candidates.get(candidates.size() - 1);
+            return new Batch(candidates.size(), last.getExpiryDate(), last.getId(),
+                    documentService.expireDocuments(candidates, now));
+        });
+        LocalDate today = now.toLocalDate();
+        int ownerships = drain(OWNERSHIPS, now, (afterExpiry, afterId) -> {
+            List<Ownership> candidates = ownershipRepository.findExpiryCandidates(today, afterExpiry.toLocalDate(),
+                    afterId, PageRequest.of(0, batchSize));
+            if (candidates.isEmpty()) {
+                return Batch.EMPTY;
+            }
+            Ownership last = candidates.get(candidates.size() - 1);
+            return new Batch(candidates.size(), last.getEndDate().atStartOfDay(), last.getId(),
+                    ownershipService.expireOwnerships(candidates));
+        });
+        if (documents + ownerships > 0) {
+            log.info("Expired {} documents and {} ownerships", documents, ownerships);
+        }
+    }
+
+    // Private helper methods
+
+    // Runs batches until one comes back short or the per-run cap is hit; returns how many rows expired
+    private int drain(String name, LocalDateTime now, BatchStep step) {
+        int expired = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Batch batch = transactionTemplate.execute(status -> {
+                watermarkRepository.insertIfAbsent(name);
+                ExpiryWatermark watermark = watermarkRepository.findForUpdate(name)
+                        .orElseThrow(() -> new RuntimeException("Expiry watermark missing: " + name));
+                if (watermark.getLastFullScanAt() == null
+                        || watermark.getLastFullScanAt().isBefore(now.minusHours(fullRescanHours))) {
+                    watermark.setLastExpiry(BEGINNING);
+                    watermark.setLastId(0L);
+                    watermark.setLastFullScanAt(now);
+                }
+                Batch result = step.run(watermark.getLastExpiry(), watermark.getLastId());
+                if (result.scanned > 0) {
+                    watermark.setLastExpiry(result.lastExpiry);
+                    watermark.setLastId(result.lastId);
+                }
+                // The bulk UPDATE detached the watermark, so this merges it back
+                watermarkRepository.save(watermark);
+                TransactionCallbacks.afterCommit(() -> result.events.forEach(eventPublisher::publishEvent));
+                return result;
+            });
+            expired += batch.events.size();
+            if (batch.scanned < batchSize) {
+                break;
+            }
+        }
+        return expired;
+    }
+
+    @FunctionalInterface
+    private interface BatchStep {
+        Batch run(LocalDateTime afterExpiry, Long afterId);
+    }
+
+    private static final class Batch {
+        private static final Batch EMPTY = new Batch(0, null, null, List.of());
+
+        private final int scanned;
+        private final LocalDateTime lastExpiry;
+        private final Long lastId;
+        private final List<ExpiryEvent> events;
+
+        private Batch(int scanned, LocalDateTime lastExpiry, Long lastId, List<ExpiryEvent> events) {
+            this.scanned = scanned;
+            this.lastExpiry = lastExpiry;
+            this.lastId = lastId;
+            this.events = events;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.model.LandParcel;
+import rw.landManagementSystem.LandSystem.model.Ownership;
+import rw.landManagementSystem.LandSystem.model.Request;
+import rw.landManagementSystem.LandSystem.repository.LandParcelRepository;
+import rw.landManagementSystem.LandSystem.repository.OwnershipRepository;
+import rw.landManagementSystem.LandSystem.repository.RequestRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Writes whole tables as NDJSON or CSV straight from a database cursor. Rows are detached as soon
+// as they are written, so memory use does not depend on the number of rows exported.
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final Map<String, Function<LandParcel, Object>> LAND_PARCEL_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<Ownership, Object>> OWNERSHIP_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<Request, Object>> REQUEST_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        LAND_PARCEL_COLUMNS.put("id", LandParcel::getId);
+        LAND_PARCEL_COLUMNS.put("parcelNumber", LandParcel::getParcelNumber);
+        LAND_PARCEL_COLUMNS.put("location", LandParcel::getLocation);
+        LAND_PARCEL_COLUMNS.put("district", LandParcel::getDistrict);
+        LAND_PARCEL_COLUMNS.put("sector", LandParcel::getSector);
+        LAND_PARCEL_COLUMNS.put("cell", LandParcel::getCell);
+        LAND_PARCEL_COLUMNS.put("areaSqm", LandParcel::getAreaSqm);
+        LAND_PARCEL_COLUMNS.put("landUse", LandParcel::getLandUse);
+        LAND_PARCEL_COLUMNS.put("status", LandParcel::getStatus);
+        LAND_PARCEL_COLUMNS.put("description", LandParcel::getDescription);
+        LAND_PARCEL_COLUMNS.put("coordinates", LandParcel::getCoordinates);
+        LAND_PARCEL_COLUMNS.put("marketValue", LandParcel::getMarketValue);
+        LAND_PARCEL_COLUMNS.put("createdAt", LandParcel::getCreatedAt);
+        LAND_PARCEL_COLUMNS.put("updatedAt", LandParcel::getUpdatedAt);
+
+        // Associations are exported as ids; reading the id of a lazy proxy does not load it
+        OWNERSHIP_COLUMNS.put("id", Ownership::getId);
+        OWNERSHIP_COLUMNS.put("userId", o -> o.getUser().getId());
+        OWNERSHIP_COLUMNS.put("landParcelId", o -> o.getLandParcel().getId());
+        OWNERSHIP_COLUMNS.put("ownershipPercentage", Ownership::getOwnershipPercentage);
+        OWNERSHIP_COLUMNS.put("ownershipType", Ownership::getOwnershipType);
+        OWNERSHIP_COLUMNS.put("acquisitionDate", Ownership::getAcquisitionDate);
+        OWNERSHIP_COLUMNS.put("acquisitionMethod", Ownership::getAcquisitionMethod);
+        OWNERSHIP_COLUMNS.put("titleDeedNumber", Ownership::getTitleDeedNumber);
+        OWNERSHIP_COLUMNS.put("status", Ownership::getStatus);
+        OWNERSHIP_COLUMNS.put("startDate", Ownership::getStartDate);
+        OWNERSHIP_COLUMNS.put("endDate", Ownership::getEndDate);
+        OWNERSHIP_COLUMNS.put("notes", Ownership::getNotes);
+        OWNERSHIP_COLUMNS.put("createdAt", Ownership::getCreatedAt);
+        OWNERSHIP_COLUMNS.put("updatedAt", Ownership::getUpdatedAt);
+
+        REQUEST_COLUMNS.put("id", Request::getId);
+        REQUEST_COLUMNS.put("requestNumber", Request::getRequestNumber);
+        REQUEST_COLUMNS.put("requesterId", r -> r.getRequester().getId());
+        REQUEST_COLUMNS.put("landParcelId", r -> r.getLandParcel() != null ? r.getLandParcel().getId() : null);
+        REQUEST_COLUMNS.put("requestType", Request::getRequestType);
+        REQUEST_COLUMNS.put("status", Request::getStatus);
+        REQUEST_COLUMNS.put("priority", Request::getPriority);
+        REQUEST_COLUMNS.put("description", Request::getDescription);
+        REQUEST_COLUMNS.put("submissionDate", Request::getSubmissionDate);
+        REQUEST_COLUMNS.put("reviewDate", Request::getReviewDate);
+        REQUEST_COLUMNS.put("completionDate", Request::getCompletionDate);
+        REQUEST_COLUMNS.put("assignedOfficerId", r -> r.getAssignedOfficer() != null ? r.getAssignedOfficer().getId() : null);
+        REQUEST_COLUMNS.put("officerNotes", Request::getOfficerNotes);
+        REQUEST_COLUMNS.put("rejectionReason", Request::getRejectionReason);
+        REQUEST_COLUMNS.put("createdAt", Request::getCreatedAt);
+        REQUEST_COLUMNS.put("updatedAt", Request::getUpdatedAt);
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final LandParcelRepository landParcelRepository;
+    private final OwnershipRepository ownershipRepository;
+    private final RequestRepository requestRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(LandParcelRepository landParcelRepository, OwnershipRepository ownershipRepository,
+                         RequestRepository requestRepository, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.landParcelRepository = landParcelRepository;
+        this.ownershipRepository = ownershipRepository;
+        this.requestRepository = requestRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void exportLandParcels(Format format, OutputStream out) {
+        export(landParcelRepository::streamAllForExport, LAND_PARCEL_COLUMNS, format, out);
+    }
+
+    public void exportOwnerships(Format format, OutputStream out) {
+        export(ownershipRepository::streamAllForExport, OWNERSHIP_COLUMNS, format, out);
+    }
+
+    public void exportRequests(Format format, OutputStream out) {
+        export(requestRepository::streamAllForExport, REQUEST_COLUMNS, format, out);
+    }
+
+    public static Format parseFormat(String format) {
+        return format == null || format.isBlank() ? Format.NDJSON : Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+    }
+
+    // Private helper methods
+    private <T> void export(Supplier<Stream<T>> query, Map<String, Function<T, Object>> columns,
+                            Format format, OutputStream out) {
+        // The PostgreSQL driver only honours the fetch size inside a transaction
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<T> rows = query.get()) {
+                if (format == Format.CSV) {
+                    writeCsvRow(out, columns.keySet().toArray());
+                }
+                rows.forEach(row -> {
+                    writeRow(out, row, columns, format);
+                    entityManager.detach(row);
+                });
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> void writeRow(OutputStream out, T row, Map<String, Function<T, Object>> columns, Format format) {
+        try {
+            if (format == Format.CSV) {
+                Object[] values = columns.values().stream().map(column -> column.apply(row)).toArray();
+                writeCsvRow(out, values);
+            } else {
+                Map<String, Object> values = new LinkedHashMap<>();
+                columns.forEach((name, column) -> values.put(name, column.apply(row)));
+                out.write(objectMapper.writeValueAsBytes(values));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsvRow(OutputStream out, Object[] values) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(csvField(values[i]));
+        }
+        line.append("\r\n");
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
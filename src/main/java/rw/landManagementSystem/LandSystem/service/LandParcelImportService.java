@@ -0,0 +1,319 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.dto.ImportReport;
+import rw.landManagementSystem.LandSystem.model.LandParcel;
+import rw.landManagementSystem.LandSystem.model.LandStatus;
+import rw.landManagementSystem.LandSystem.model.LandUse;
+import rw.landManagementSystem.LandSystem.repository.LandParcelRepository;
+import rw.landManagementSystem.LandSystem.spatial.ParcelGeometry;
+import rw.landManagementSystem.LandSystem.spatial.ParcelSpatialIndex;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Streams land parcels from CSV or GeoJSON into the database in chunks. Each chunk is validated,
+// checked for existing parcel numbers with a single query and inserted in one transaction using
+// JDBC batching. A bad row is reported and skipped; it never aborts the rest of the file.
+@Service
+public class LandParcelImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(LandParcelImportService.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public enum Format { CSV, GEOJSON }
+
+    @Value("${import.parcels.chunk-size:500}")
+    private int chunkSize;
+
+    private final LandParcelRepository landParcelRepository;
+    private final ParcelSpatialIndex spatialIndex;
+    private final DashboardStatisticsService statistics;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public LandParcelImportService(LandParcelRepository landParcelRepository, ParcelSpatialIndex spatialIndex,
+                                   DashboardStatisticsService statistics, Validator validator,
+                                   PlatformTransactionManager transactionManager) {
+        this.landParcelRepository = landParcelRepository;
+        this.spatialIndex = spatialIndex;
+        this.statistics = statistics;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportReport importParcels(InputStream input, Format format) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportReport report = new ImportReport();
+        Set<String> seenParcelNumbers = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        RowSink sink = row -> {
+            report.recordRow();
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, seenParcelNumbers, report);
+                chunk.clear();
+            }
+        };
+        if (format == Format.GEOJSON) {
+            readGeoJson(input, sink);
+        } else {
+            readCsv(input, sink);
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, seenParcelNumbers, report);
+        }
+        report.setDurationMs(System.currentTimeMillis() - start);
+        log.info("Parcel import finished: {} rows, {} imported, {} failed in {} ms",
+                report.getTotalRows(), report.getImported(), report.getFailed(), report.getDurationMs());
+        return report;
+    }
+
+    public static Format detectFormat(String filename, String requested) {
+        if (requested != null && !requested.isBlank()) {
+            return Format.valueOf(requested.trim().toUpperCase(Locale.ROOT));
+        }
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        return name.endsWith(".json") || name.endsWith(".geojson") ? Format.GEOJSON : Format.CSV;
+    }
+
+    // Private helper methods
+    private void processChunk(List<ImportRow> chunk, Set<String> seenParcelNumbers, ImportReport report) {
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String error = row.error != null ? row.error : validate(row.parcel);
+            if (error == null && !seenParcelNumbers.add(row.parcel.getParcelNumber())) {
+                error = "Duplicate parcel number in file";
+            }
+            if (error != null) {
+                report.recordError(row.rowNumber, row.parcel != null ? row.parcel.getParcelNumber() : null, error);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = new HashSet<>(landParcelRepository.findExistingParcelNumbers(
+                valid.stream().map(row -> row.parcel.getParcelNumber()).collect(Collectors.toList())));
+        List<ImportRow> toInsert = new ArrayList<>(valid.size());
+        for (ImportRow row : valid) {
+            if (existing.contains(row.parcel.getParcelNumber())) {
+                report.recordError(row.rowNumber, row.parcel.getParcelNumber(), "Parcel number already exists");
+            } else {
+                toInsert.add(row);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    landParcelRepository.saveAll(toInsert.stream().map(row -> row.parcel).collect(Collectors.toList())));
+            report.recordImported(toInsert.size());
+            toInsert.forEach(row -> afterInsert(row.parcel));
+        } catch (RuntimeException e) {
+            // Something only the database caught (e.g. a concurrent insert); find the offending rows one by one
+            log.warn("Batch insert failed, retrying {} rows individually: {}", toInsert.size(), e.getMessage());
+            for (ImportRow row : toInsert) {
+                insertSingle(row, report);
+            }
+        }
+        log.info("Parcel import progress: {} rows read, {} imported, {} failed",
+                report.getTotalRows(), report.getImported(), report.getFailed());
+    }
+
+    private void insertSingle(ImportRow row, ImportReport report) {
+        row.parcel.setId(null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> landParcelRepository.save(row.parcel));
+            report.recordImported(1);
+            afterInsert(row.parcel);
+        } catch (RuntimeException e) {
+            report.recordError(row.rowNumber, row.parcel.getParcelNumber(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private void afterInsert(LandParcel parcel) {
+        spatialIndex.upsert(parcel.getId(), ParcelGeometry.envelopeOf(parcel));
+        statistics.recordChange(null, statistics.keyOf(parcel));
+    }
+
+    private String validate(LandParcel parcel) {
+        Set<ConstraintViolation<LandParcel>> violations = validator.validate(parcel);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        if (parcel.getLandUse() == null) {
+            return "Land use is required";
+        }
+        try {
+            ParcelGeometry.applyTo(parcel);
+        } catch (IllegalArgumentException e) {
+            return "Invalid coordinates: " + e.getMessage();
+        }
+        return null;
+    }
+
+    private void readCsv(InputStream input, RowSink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return;
+        }
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        List<String> header = splitCsvLine(headerLine).stream().map(this::normalizeKey).collect(Collectors.toList());
+        String line;
+        long rowNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = splitCsvLine(line);
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            sink.accept(toRow(rowNumber, fields));
+        }
+    }
+
+    // Reads features one at a time so the whole FeatureCollection is never held in memory
+    private void readGeoJson(InputStream input, RowSink sink) throws IOException {
+        try (JsonParser parser = JSON.getFactory().createParser(input)) {
+            while (parser.nextToken() != null) {
+                if (parser.currentToken() == JsonToken.FIELD_NAME && "features".equals(parser.currentName())) {
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        throw new IOException("GeoJSON \"features\" must be an array");
+                    }
+                    long rowNumber = 0;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        rowNumber++;
+                        JsonNode feature = parser.readValueAsTree();
+                        Map<String, String> fields = new HashMap<>();
+                        for (Map.Entry<String, JsonNode> entry : feature.path("properties").properties()) {
+                            fields.put(normalizeKey(entry.getKey()),
+                                    entry.getValue().isNull() ? null : entry.getValue().asText());
+                        }
+                        if (feature.hasNonNull("geometry")) {
+                            fields.put("coordinates", feature.get("geometry").toString());
+                        }
+                        sink.accept(toRow(rowNumber, fields));
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private ImportRow toRow(long rowNumber, Map<String, String> fields) {
+        LandParcel parcel = new LandParcel();
+        try {
+            parcel.setParcelNumber(text(fields, "parcelnumber"));
+            parcel.setLocation(text(fields, "location"));
+            parcel.setDistrict(text(fields, "district"));
+            parcel.setSector(text(fields, "sector"));
+            parcel.setCell(text(fields, "cell"));
+            parcel.setDescription(text(fields, "description"));
+            parcel.setCoordinates(text(fields, "coordinates"));
+            String area = text(fields, "areasqm");
+            parcel.setAreaSqm(area != null ? new BigDecimal(area) : null);
+            String marketValue = text(fields, "marketvalue");
+            parcel.setMarketValue(marketValue != null ? new BigDecimal(marketValue) : null);
+            String landUse = text(fields, "landuse");
+            parcel.setLandUse(landUse != null ? LandUse.valueOf(landUse.toUpperCase(Locale.ROOT)) : null);
+            String status = text(fields, "status");
+            if (status != null) {
+                parcel.setStatus(LandStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+            }
+            return new ImportRow(rowNumber, parcel, null);
+        } catch (NumberFormatException e) {
+            return new ImportRow(rowNumber, parcel, "Invalid number: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return new ImportRow(rowNumber, parcel, e.getMessage());
+        }
+    }
+
+    private String text(Map<String, String> fields, String key) {
+        String value = fields.get(key);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private String normalizeKey(String key) {
+        return key.trim().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    private List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private interface RowSink {
+        void accept(ImportRow row);
+    }
+
+    private static final class ImportRow {
+        private final long rowNumber;
+        private final LandParcel parcel;
+        private final String error;
+
+        private ImportRow(long rowNumber, LandParcel parcel, String error) {
+            this.rowNumber = rowNumber;
+            this.parcel = parcel;
+            this.error = error;
+        }
+    }
+}
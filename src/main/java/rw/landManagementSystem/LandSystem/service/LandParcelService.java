@@ -1,36 +1,76 @@
 package rw.landManagementSystem.LandSystem.service;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import rw.landManagementSystem.LandSystem.config.DatabaseSchemaInitializer;
+import rw.landManagementSystem.LandSystem.dto.CursorPage;
 import rw.landManagementSystem.LandSystem.model.LandParcel;
 import rw.landManagementSystem.LandSystem.model.LandStatus;
 import rw.landManagementSystem.LandSystem.model.LandUse;
 import rw.landManagementSystem.LandSystem.repository.LandParcelRepository;
+import rw.landManagementSystem.LandSystem.spatial.Envelope;
+import rw.landManagementSystem.LandSystem.spatial.ParcelGeometry;
+import rw.landManagementSystem.LandSystem.spatial.ParcelSpatialIndex;
+import rw.landManagementSystem.LandSystem.spatial.StrRTree;
+import rw.landManagementSystem.LandSystem.util.TransactionCallbacks;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class LandParcelService {
 
+    private static final int DEFAULT_WITHIN_LIMIT = 1000;
+    private static final int MAX_WITHIN_LIMIT = 10000;
+    private static final int MAX_NEAREST = 100;
+    private static final int DEFAULT_TYPEAHEAD_LIMIT = 10;
+    private static final int MAX_TYPEAHEAD_LIMIT = 50;
+    // Shorter prefixes share trigrams with most of the table
+    private static final int MIN_TYPEAHEAD_LENGTH = 3;
+
+    @Value("${search.typeahead.word-similarity-threshold:0.6}")
+    private double typeaheadWordSimilarityThreshold;
+
     private final LandParcelRepository landParcelRepository;
+    private final ParcelSpatialIndex spatialIndex;
+    private final DatabaseSchemaInitializer schemaInitializer;
+    private final DashboardStatisticsService statistics;
 
-    public LandParcelService(LandParcelRepository landParcelRepository) {
+    public LandParcelService(LandParcelRepository landParcelRepository, ParcelSpatialIndex spatialIndex,
+                             DatabaseSchemaInitializer schemaInitializer, DashboardStatisticsService statistics) {
         this.landParcelRepository = landParcelRepository;
+        this.spatialIndex = spatialIndex;
+        this.schemaInitializer = schemaInitializer;
+        this.statistics = statistics;
     }
 
     // Create and Update operations
     public LandParcel createLandParcel(LandParcel landParcel) {
         validateLandParcelForCreation(landParcel);
-        return landParcelRepository.save(landParcel);
+        applyGeometry(landParcel);
+        LandParcel savedLandParcel = landParcelRepository.save(landParcel);
+        indexAfterCommit(savedLandParcel);
+        statistics.recordChange(null, statistics.keyOf(savedLandParcel));
+        return savedLandParcel;
     }
 
     public LandParcel updateLandParcel(Long id, LandParcel landParcelDetails) {
         LandParcel existingLandParcel = getLandParcelById(id);
+        DashboardStatisticsService.Key before = statistics.keyOf(existingLandParcel);
         updateLandParcelFields(existingLandParcel, landParcelDetails);
-        return landParcelRepository.save(existingLandParcel);
+        applyGeometry(existingLandParcel);
+        statistics.recordChange(before, statistics.keyOf(existingLandParcel));
+        LandParcel savedLandParcel = landParcelRepository.save(existingLandParcel);
+        indexAfterCommit(savedLandParcel);
+        return savedLandParcel;
     }
 
     // Read operations
@@ -87,6 +127,20 @@ public class LandParcelService {
         return landParcelRepository.findByLocationContaining(location);
     }
 
+    @Transactional(readOnly = true)
+    public List<LandParcel> searchLandParcelsTypeahead(String query, Integer limit) {
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.length() < MIN_TYPEAHEAD_LENGTH) {
+            return List.of();
+        }
+        int max = limit == null || limit <= 0 ? DEFAULT_TYPEAHEAD_LIMIT : Math.min(limit, MAX_TYPEAHEAD_LIMIT);
+        if (schemaInitializer.isTrigramSearchAvailable()) {
+            landParcelRepository.setWordSimilarityThreshold(Double.toString(typeaheadWordSimilarityThreshold));
+            return landParcelRepository.searchByLocationRanked(trimmed, max);
+        }
+        return landParcelRepository.findByLocationContainingAfter(trimmed, 0L, PageRequest.of(0, max)).getContent();
+    }
+
     public List<LandParcel> getLandParcelsWithActiveOwnership() {
         return landParcelRepository.findParcelsWithActiveOwnership();
     }
@@ -99,17 +153,62 @@ public class LandParcelService {
         return landParcelRepository.findParcelsByOwner(userId);
     }
 
+    // Keyset (cursor) pagination
+    @Transactional(readOnly = true)
+    public CursorPage<LandParcel> getLandParcelsPage(String cursor, Integer size) {
+        return CursorPage.of(landParcelRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decodeCursor(cursor), firstPage(size)), LandParcel::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<LandParcel> getLandParcelsByDistrictPage(String district, String cursor, Integer size) {
+        return CursorPage.of(landParcelRepository.findByDistrictAndIdGreaterThanOrderByIdAsc(
+                district, CursorPage.decodeCursor(cursor), firstPage(size)), LandParcel::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<LandParcel> getAvailableLandParcelsPage(String cursor, Integer size) {
+        return CursorPage.of(landParcelRepository.findAvailableParcelsAfter(
+                CursorPage.decodeCursor(cursor), firstPage(size)), LandParcel::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<LandParcel> searchLandParcelsByLocationPage(String location, String cursor, Integer size) {
+        return CursorPage.of(landParcelRepository.findByLocationContainingAfter(
+                location, CursorPage.decodeCursor(cursor), firstPage(size)), LandParcel::getId);
+    }
+
+    // Spatial queries
+    @Transactional(readOnly = true)
+    public List<LandParcel> getLandParcelsWithin(Envelope boundingBox, Integer limit) {
+        int max = limit == null || limit <= 0 ? DEFAULT_WITHIN_LIMIT : Math.min(limit, MAX_WITHIN_LIMIT);
+        return loadInOrder(spatialIndex.search(boundingBox, max));
+    }
+
+    @Transactional(readOnly = true)
+    public List<LandParcel> getNearestLandParcels(double latitude, double longitude, Integer k) {
+        int count = k == null || k <= 0 ? 10 : Math.min(k, MAX_NEAREST);
+        List<Long> ids = spatialIndex.nearest(latitude, longitude, count).stream()
+                .map(StrRTree.Neighbor::getId)
+                .collect(Collectors.toList());
+        return loadInOrder(ids);
+    }
+
     // Delete operations
     public void deleteLandParcel(Long id) {
         LandParcel landParcel = getLandParcelById(id);
         landParcelRepository.delete(landParcel);
+        TransactionCallbacks.afterCommit(() -> spatialIndex.remove(id));
+        statistics.recordChange(statistics.keyOf(landParcel), null);
     }
 
     // Status management
     public void updateLandParcelStatus(Long id, LandStatus status) {
         LandParcel landParcel = getLandParcelById(id);
+        DashboardStatisticsService.Key before = statistics.keyOf(landParcel);
         landParcel.setStatus(status);
         landParcelRepository.save(landParcel);
+        statistics.recordChange(before, statistics.keyOf(landParcel));
     }
 
     public void markAsOccupied(Long id) {
@@ -159,6 +258,32 @@ public class LandParcelService {
     }
 
     // Private helper methods
+    private Pageable firstPage(Integer size) {
+        // The keyset predicate does the skipping, so every query reads page 0
+        return PageRequest.of(0, CursorPage.clampPageSize(size));
+    }
+
+    private void applyGeometry(LandParcel landParcel) {
+        try {
+            ParcelGeometry.applyTo(landParcel);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid coordinates: " + e.getMessage());
+        }
+    }
+
+    private void indexAfterCommit(LandParcel landParcel) {
+        Long id = landParcel.getId();
+        Envelope envelope = ParcelGeometry.envelopeOf(landParcel);
+        TransactionCallbacks.afterCommit(() -> spatialIndex.upsert(id, envelope));
+    }
+
+    // findAllById does not preserve order, so put rows back in index order
+    private List<LandParcel> loadInOrder(List<Long> ids) {
+        Map<Long, LandParcel> byId = landParcelRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(LandParcel::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(parcel -> parcel != null).collect(Collectors.toList());
+    }
+
     private void validateLandParcelForCreation(LandParcel landParcel) {
         if (!isParcelNumberAvailable(landParcel.getParcelNumber())) {
             throw new RuntimeException("Parcel number already exists: " + landParcel.getParcelNumber());
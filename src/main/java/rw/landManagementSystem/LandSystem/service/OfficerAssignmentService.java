@@ -0,0 +1,361 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.event.RequestLifecycleEvent;
+import rw.landManagementSystem.LandSystem.model.OfficerSkill;
+import rw.landManagementSystem.LandSystem.model.Request;
+import rw.landManagementSystem.LandSystem.model.RequestPriority;
+import rw.landManagementSystem.LandSystem.model.RequestStatus;
+import rw.landManagementSystem.LandSystem.model.RequestType;
+import rw.landManagementSystem.LandSystem.model.User;
+import rw.landManagementSystem.LandSystem.repository.OfficerSkillRepository;
+import rw.landManagementSystem.LandSystem.repository.RequestRepository;
+import rw.landManagementSystem.LandSystem.repository.UserRepository;
+import rw.landManagementSystem.LandSystem.util.TransactionCallbacks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+// Assigns open requests to active land officers by weighted workload. Each officer's load is the sum
+// of the priority weights of their open (PENDING / UNDER_REVIEW) requests. Officers sit in ordered
+// sets: one per request type for the officers designated to it, one for generalists, and one of
+// everybody, so the least-loaded eligible officer is found and re-ranked in O(log n). Loads are seeded
+// from one grouped query, moved by request lifecycle events, and rebuilt on a schedule.
+@Service
+public class OfficerAssignmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(OfficerAssignmentService.class);
+    private static final Map<RequestPriority, Integer> PRIORITY_WEIGHTS = new EnumMap<>(Map.of(
+            RequestPriority.LOW, 1,
+            RequestPriority.NORMAL, 2,
+            RequestPriority.HIGH, 4,
+            RequestPriority.URGENT, 8));
+
+    @Value("${assignment.batch-size:100}")
+    private int batchSize;
+
+    @Value("${assignment.auto-assign-enabled:false}")
+    private boolean autoAssignEnabled;
+
+    private final RequestRepository requestRepository;
+    private final UserRepository userRepository;
+    private final OfficerSkillRepository officerSkillRepository;
+    private final RequestService requestService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Guarded by 'this'. While a reconciliation reads the database, changes to the roster are also
+    // journaled and replayed onto the rebuilt one before it is swapped in, so none made meanwhile are lost.
+    private Roster roster = new Roster();
+    private List<Consumer<Roster>> journal;
+    private final Object reconcileLock = new Object();
+    private volatile LocalDateTime lastReconciledAt;
+
+    public OfficerAssignmentService(RequestRepository requestRepository, UserRepository userRepository,
+                                    OfficerSkillRepository officerSkillRepository, RequestService requestService,
+                                    PlatformTransactionManager transactionManager) {
+        this.requestRepository = requestRepository;
+        this.userRepository = userRepository;
+        this.officerSkillRepository = officerSkillRepository;
+        this.requestService = requestService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Assigns one open, unassigned request; returns the chosen officer's id
+    public Long autoAssign(Long requestId) {
+        return transactionTemplate.execute(status -> {
+            Request request = requestService.getRequestById(requestId);
+            if (request.getAssignedOfficer() != null) {
+                throw new RuntimeException("Request is already assigned: " + requestId);
+            }
+            if (!isOpen(request.getStatus())) {
+                throw new RuntimeException("Only pending or under-review requests can be assigned");
+            }
+            Long officerId = assign(request, new HashMap<>());
+            if (officerId == null) {
+                throw new RuntimeException("No active land officer is available");
+            }
+            return officerId;
+        });
+    }
+
+    // Drains unassigned open requests, most urgent first, one transaction per batch; returns how many were assigned
+    public int autoAssignPending(int limit) {
+        int assigned = 0;
+        while (assigned < limit) {
+            int size = Math.min(batchSize, limit - assigned);
+            Integer count = transactionTemplate.execute(status -> {
+                List<Request> batch = requestRepository.findUnassignedForAssignment(PageRequest.of(0, size));
+                Map<Long, User> officers = new HashMap<>();
+                int done = 0;
+                for (Request request : batch) {
+                    if (assign(request, officers) == null) {
+                        break;
+                    }
+                    done++;
+                }
+                return done;
+            });
+            assigned += count;
+            if (count < size) {
+                break;
+            }
+        }
+        return assigned;
+    }
+
+    @Scheduled(initialDelayString = "${assignment.auto-assign-interval-ms:60000}",
+               fixedDelayString = "${assignment.auto-assign-interval-ms:60000}")
+    public void autoAssignScheduled() {
+        if (!autoAssignEnabled) {
+            return;
+        }
+        int assigned = autoAssignPending(Integer.MAX_VALUE);
+        if (assigned > 0) {
+            log.info("Auto-assigned {} requests", assigned);
+        }
+    }
+
+    // Replaces the request types an officer is designated to; an empty set makes them a generalist
+    public void setOfficerSkills(Long officerId, Set<RequestType> skills) {
+        Set<RequestType> copy = skills.isEmpty() ? EnumSet.noneOf(RequestType.class) : EnumSet.copyOf(skills);
+        transactionTemplate.executeWithoutResult(status -> {
+            officerSkillRepository.deleteByOfficerId(officerId);
+            for (RequestType type : copy) {
+                officerSkillRepository.save(new OfficerSkill(officerId, type));
+            }
+            TransactionCallbacks.afterCommit(() -> change(current -> current.setSkills(officerId, copy)));
+        });
+    }
+
+    public synchronized List<Map<String, Object>> getWorkloads() {
+        List<Map<String, Object>> workloads = new ArrayList<>();
+        for (Officer officer : roster.all) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("officerId", officer.id);
+            entry.put("name", officer.name);
+            entry.put("weightedLoad", officer.load);
+            entry.put("openRequests", officer.openRequests);
+            entry.put("skills", officer.skills);
+            workloads.add(entry);
+        }
+        return workloads;
+    }
+
+    public LocalDateTime getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    // Keeps loads in step with changes made anywhere else; auto-assignments were counted when made
+    @EventListener
+    public void onRequestChange(RequestLifecycleEvent event) {
+        if (event.getChange() == RequestLifecycleEvent.Change.AUTO_ASSIGNED) {
+            return;
+        }
+        RequestLifecycleEvent.State before = event.getBefore();
+        RequestLifecycleEvent.State after = event.getAfter();
+        change(current -> {
+            apply(current, before, -1);
+            apply(current, after, 1);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${assignment.reconcile-interval-ms:300000}",
+               fixedDelayString = "${assignment.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            List<Consumer<Roster>> changes = new ArrayList<>();
+            synchronized (this) {
+                journal = changes;
+            }
+            Roster fresh;
+            try {
+                fresh = load();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    journal = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                changes.forEach(change -> change.accept(fresh));
+                roster = fresh;
+                journal = null;
+            }
+        }
+        lastReconciledAt = LocalDateTime.now();
+    }
+
+    // Private helper methods
+    private Roster load() {
+        return readOnlyTransaction.execute(status -> {
+            Map<Long, Set<RequestType>> skills = new HashMap<>();
+            for (OfficerSkill skill : officerSkillRepository.findAll()) {
+                skills.computeIfAbsent(skill.getOfficerId(), k -> EnumSet.noneOf(RequestType.class))
+                        .add(skill.getRequestType());
+            }
+            Roster result = new Roster();
+            for (User officer : userRepository.findActiveLandOfficers()) {
+                result.add(new Officer(officer.getId(), officer.getFirstName() + " " + officer.getLastName(),
+                        skills.getOrDefault(officer.getId(), EnumSet.noneOf(RequestType.class))));
+            }
+            // [officerId, priority, count]
+            for (Object[] row : requestRepository.countOpenGroupedByOfficerAndPriority()) {
+                long count = ((Number) row[2]).longValue();
+                result.adjust((Long) row[0], weightOf((RequestPriority) row[1]) * count, (int) count);
+            }
+            return result;
+        });
+    }
+
+    private synchronized void change(Consumer<Roster> change) {
+        change.accept(roster);
+        if (journal != null) {
+            journal.add(change);
+        }
+    }
+
+    // Picks the officer and counts the load straight away, so the next pick in the same batch sees it.
+    // A rollback takes the load back off. Returns null when there are no officers at all.
+    private Long assign(Request request, Map<Long, User> officers) {
+        long weight = weightOf(request.getPriority());
+        Long officerId;
+        synchronized (this) {
+            Officer officer = roster.choose(request.getRequestType());
+            if (officer == null) {
+                return null;
+            }
+            officerId = officer.id;
+            change(current -> current.adjust(officerId, weight, 1));
+        }
+        TransactionCallbacks.afterRollback(() -> change(current -> current.adjust(officerId, -weight, -1)));
+        User officer = officers.computeIfAbsent(officerId, userRepository::getReferenceById);
+        requestService.autoAssignRequest(request, officer);
+        return officerId;
+    }
+
+    private static void apply(Roster target, RequestLifecycleEvent.State state, int sign) {
+        if (state != null && state.getAssignedOfficerId() != null && isOpen(state.getStatus())) {
+            target.adjust(state.getAssignedOfficerId(), sign * weightOf(state.getPriority()), sign);
+        }
+    }
+
+    private static boolean isOpen(RequestStatus status) {
+        return status == RequestStatus.PENDING || status == RequestStatus.UNDER_REVIEW;
+    }
+
+    private static long weightOf(RequestPriority priority) {
+        return PRIORITY_WEIGHTS.get(priority != null ? priority : RequestPriority.NORMAL);
+    }
+
+    private static final class Officer {
+        private final Long id;
+        private final String name;
+        private Set<RequestType> skills;
+        private long load;
+        private int openRequests;
+
+        private Officer(Long id, String name, Set<RequestType> skills) {
+            this.id = id;
+            this.name = name;
+            this.skills = skills;
+        }
+    }
+
+    // Least weighted load first; fewer open requests, then lower id, break ties
+    private static final Comparator<Officer> BY_WORKLOAD = Comparator.<Officer>comparingLong(officer -> officer.load)
+            .thenComparingInt(officer -> officer.openRequests)
+            .thenComparing(officer -> officer.id);
+
+    private static final class Roster {
+        private final Map<Long, Officer> officers = new HashMap<>();
+        private final TreeSet<Officer> all = new TreeSet<>(BY_WORKLOAD);
+        private final TreeSet<Officer> generalists = new TreeSet<>(BY_WORKLOAD);
+        private final Map<RequestType, TreeSet<Officer>> bySkill = new EnumMap<>(RequestType.class);
+
+        private void add(Officer officer) {
+            officers.put(officer.id, officer);
+            link(officer);
+        }
+
+        // An officer designated to the type wins unless a generalist is strictly less loaded. With
+        // neither, anyone takes it rather than leaving the request unassigned.
+        private Officer choose(RequestType type) {
+            TreeSet<Officer> skilled = bySkill.get(type);
+            Officer specialist = skilled != null && !skilled.isEmpty() ? skilled.first() : null;
+            Officer generalist = generalists.isEmpty() ? null : generalists.first();
+            if (specialist == null && generalist == null) {
+                return all.isEmpty() ? null : all.first();
+            }
+            if (specialist == null) {
+                return generalist;
+            }
+            return generalist != null && generalist.load < specialist.load ? generalist : specialist;
+        }
+
+        // Unknown ids (inactive officers, other roles) are ignored until the next reconcile
+        private void adjust(Long officerId, long load, int openRequests) {
+            Officer officer = officers.get(officerId);
+            if (officer == null) {
+                return;
+            }
+            unlink(officer);
+            officer.load = Math.max(0, officer.load + load);
+            officer.openRequests = Math.max(0, officer.openRequests + openRequests);
+            link(officer);
+        }
+
+        private void setSkills(Long officerId, Set<RequestType> skills) {
+            Officer officer = officers.get(officerId);
+            if (officer == null) {
+                return;
+            }
+            unlink(officer);
+            officer.skills = skills;
+            link(officer);
+        }
+
+        // Sets order by load, so an officer must be taken out before the load changes and put back after
+        private void unlink(Officer officer) {
+            all.remove(officer);
+            if (officer.skills.isEmpty()) {
+                generalists.remove(officer);
+            }
+            for (RequestType type : officer.skills) {
+                bySkill.get(type).remove(officer);
+            }
+        }
+
+        private void link(Officer officer) {
+            all.add(officer);
+            if (officer.skills.isEmpty()) {
+                generalists.add(officer);
+            }
+            for (RequestType type : officer.skills) {
+                bySkill.computeIfAbsent(type, k -> new TreeSet<>(BY_WORKLOAD)).add(officer);
+            }
+        }
+    }
+}
@@ -2,37 +2,66 @@ package rw.landManagementSystem.LandSystem.service;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import rw.landManagementSystem.LandSystem.event.ExpiryEvent;
 import rw.landManagementSystem.LandSystem.model.Ownership;
 import rw.landManagementSystem.LandSystem.model.OwnershipStatus;
 import rw.landManagementSystem.LandSystem.model.OwnershipType;
 import rw.landManagementSystem.LandSystem.model.AcquisitionMethod;
+import rw.landManagementSystem.LandSystem.model.ParcelShareLedger;
+import rw.landManagementSystem.LandSystem.model.WorkflowAggregate;
 import rw.landManagementSystem.LandSystem.repository.OwnershipRepository;
+import rw.landManagementSystem.LandSystem.repository.ParcelShareLedgerRepository;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 @Transactional
 public class OwnershipService {
 
     private final OwnershipRepository ownershipRepository;
+    private final ParcelShareLedgerRepository shareLedgerRepository;
+    private final DashboardStatisticsService statistics;
+    private final WorkflowEventLog eventLog;
 
-    public OwnershipService(OwnershipRepository ownershipRepository) {
+    public OwnershipService(OwnershipRepository ownershipRepository, ParcelShareLedgerRepository shareLedgerRepository,
+                            DashboardStatisticsService statistics, WorkflowEventLog eventLog) {
         this.ownershipRepository = ownershipRepository;
+        this.shareLedgerRepository = shareLedgerRepository;
+        this.statistics = statistics;
+        this.eventLog = eventLog;
     }
 
     // Create and Update operations
     public Ownership createOwnership(Ownership ownership) {
-        validateOwnershipForCreation(ownership);
-        return ownershipRepository.save(ownership);
+        ParcelShareLedger ledger = validateOwnershipForCreation(ownership);
+        applyShareChange(ledger, 0, activeShare(ownership));
+        Ownership savedOwnership = ownershipRepository.save(ownership);
+        statistics.recordChange(null, statistics.keyOf(savedOwnership));
+        logChange(savedOwnership, "CREATED", null);
+        return savedOwnership;
     }
 
     public Ownership updateOwnership(Long id, Ownership ownershipDetails) {
         Ownership existingOwnership = getOwnershipById(id);
+        ParcelShareLedger ledger = lockShareLedger(existingOwnership.getLandParcel().getId());
+        int previousShare = activeShare(existingOwnership);
+        DashboardStatisticsService.Key before = statistics.keyOf(existingOwnership);
+        OwnershipStatus previousStatus = existingOwnership.getStatus();
         updateOwnershipFields(existingOwnership, ownershipDetails);
-        return ownershipRepository.save(existingOwnership);
+        applyShareChange(ledger, previousShare, activeShare(existingOwnership));
+        statistics.recordChange(before, statistics.keyOf(existingOwnership));
+        Ownership savedOwnership = ownershipRepository.save(existingOwnership);
+        logChange(savedOwnership, "UPDATED", previousStatus);
+        return savedOwnership;
     }
 
     // Read operations
@@ -116,17 +145,77 @@ public class OwnershipService {
     // Delete operations
     public void deleteOwnership(Long id) {
         Ownership ownership = getOwnershipById(id);
+        ParcelShareLedger ledger = lockShareLedger(ownership.getLandParcel().getId());
+        applyShareChange(ledger, activeShare(ownership), 0);
         ownershipRepository.delete(ownership);
+        statistics.recordChange(statistics.keyOf(ownership), null);
+        eventLog.append(WorkflowAggregate.OWNERSHIP, id, ownership.getLandParcel().getId(), "DELETED",
+                ownership.getStatus(), null);
     }
 
     // Status management
     public void updateOwnershipStatus(Long id, OwnershipStatus status) {
         Ownership ownership = getOwnershipById(id);
+        ParcelShareLedger ledger = lockShareLedger(ownership.getLandParcel().getId());
+        int previousShare = activeShare(ownership);
+        DashboardStatisticsService.Key before = statistics.keyOf(ownership);
+        OwnershipStatus previousStatus = ownership.getStatus();
         ownership.setStatus(status);
+        applyShareChange(ledger, previousShare, activeShare(ownership));
+        statistics.recordChange(before, statistics.keyOf(ownership));
         if (status == OwnershipStatus.TRANSFERRED || status == OwnershipStatus.INACTIVE) {
             ownership.setEndDate(LocalDate.now());
         }
         ownershipRepository.save(ownership);
+        logChange(ownership, "STATUS_CHANGED", previousStatus);
+    }
+
+    // Expiry scanner batch. The affected parcels' ledgers are locked in id order, candidates are re-read
+    // under those locks, and the ones still ACTIVE are expired with one bulk UPDATE. Returns the events
+    // to publish once the transaction commits.
+    public List<ExpiryEvent> expireOwnerships(List<Ownership> candidates) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ParcelShareLedger> ledgers = new TreeMap<>();
+        candidates.stream().map(ownership -> ownership.getLandParcel().getId()).sorted().distinct()
+                .forEach(landParcelId -> ledgers.put(landParcelId, lockShareLedger(landParcelId)));
+
+        Map<Long, BigDecimal> activeShares = new HashMap<>();
+        for (Object[] row : ownershipRepository.findActiveShares(candidates.stream().map(Ownership::getId).toList())) {
+            activeShares.put((Long) row[0], (BigDecimal) row[1]);
+        }
+        List<Ownership> expiring = candidates.stream()
+                .filter(ownership -> activeShares.containsKey(ownership.getId()))
+                .toList();
+        if (expiring.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> releasedByParcel = new HashMap<>();
+        List<DashboardStatisticsService.Key> keysBefore = new ArrayList<>(expiring.size());
+        for (Ownership ownership : expiring) {
+            releasedByParcel.merge(ownership.getLandParcel().getId(),
+                    toBasisPoints(activeShares.get(ownership.getId())), Integer::sum);
+            keysBefore.add(statistics.keyOf(ownership));
+        }
+        releasedByParcel.forEach((landParcelId, released) -> applyShareChange(ledgers.get(landParcelId), released, 0));
+        List<Long> expiringIds = expiring.stream().map(Ownership::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        ownershipRepository.markExpired(expiringIds, now);
+        eventLog.appendExpiries(WorkflowAggregate.OWNERSHIP, expiringIds, now);
+
+        List<ExpiryEvent> events = new ArrayList<>(expiring.size());
+        for (int i = 0; i < expiring.size(); i++) {
+            // Detached by the bulk UPDATE, so this only feeds the key below
+            Ownership ownership = expiring.get(i);
+            ownership.setStatus(OwnershipStatus.EXPIRED);
+            statistics.recordChange(keysBefore.get(i), statistics.keyOf(ownership));
+            events.add(new ExpiryEvent(ExpiryEvent.Subject.OWNERSHIP, ownership.getId(),
+                    ownership.getLandParcel().getId(), ownership.getUser().getId(),
+                    ownership.getEndDate().atStartOfDay()));
+        }
+        return events;
     }
 
     public void activateOwnership(Long id) {
@@ -151,8 +240,7 @@ public class OwnershipService {
 
     // Business logic methods
     public BigDecimal getTotalOwnershipPercentageByLandParcel(Long landParcelId) {
-        BigDecimal total = ownershipRepository.getTotalOwnershipPercentageByLandParcel(landParcelId);
-        return total != null ? total : BigDecimal.ZERO;
+        return BigDecimal.valueOf(allocatedBasisPoints(landParcelId), 2);
     }
 
     public boolean hasMultipleOwners(Long landParcelId) {
@@ -160,8 +248,8 @@ public class OwnershipService {
     }
 
     public boolean canAddOwnership(Long landParcelId, BigDecimal ownershipPercentage) {
-        BigDecimal currentTotal = getTotalOwnershipPercentageByLandParcel(landParcelId);
-        return currentTotal.add(ownershipPercentage).compareTo(new BigDecimal("100.00")) <= 0;
+        return allocatedBasisPoints(landParcelId) + toBasisPoints(ownershipPercentage)
+                <= ParcelShareLedger.FULL_OWNERSHIP_BASIS_POINTS;
     }
 
     // Statistics and counts
@@ -178,17 +266,16 @@ public class OwnershipService {
     }
 
     // Validation methods
-    private void validateOwnershipForCreation(Ownership ownership) {
+    private ParcelShareLedger validateOwnershipForCreation(Ownership ownership) {
         // Check if ownership percentage is valid
         if (ownership.getOwnershipPercentage().compareTo(BigDecimal.ZERO) <= 0 ||
             ownership.getOwnershipPercentage().compareTo(new BigDecimal("100.00")) > 0) {
             throw new RuntimeException("Ownership percentage must be between 0.01 and 100.00");
         }
 
-        // Check if adding this ownership would exceed 100%
-        if (!canAddOwnership(ownership.getLandParcel().getId(), ownership.getOwnershipPercentage())) {
-            throw new RuntimeException("Total ownership percentage would exceed 100%");
-        }
+        // Holding the ledger lock serializes concurrent registrations on the same parcel,
+        // so both checks below stay true until this transaction commits
+        ParcelShareLedger ledger = lockShareLedger(ownership.getLandParcel().getId());
 
         // Check if user already has ownership of this land parcel
         Optional<Ownership> existingOwnership = findActiveOwnershipByUserAndLandParcel(
@@ -196,17 +283,11 @@ public class OwnershipService {
         if (existingOwnership.isPresent()) {
             throw new RuntimeException("User already has active ownership of this land parcel");
         }
+        return ledger;
     }
 
     private void updateOwnershipFields(Ownership existingOwnership, Ownership ownershipDetails) {
         if (ownershipDetails.getOwnershipPercentage() != null) {
-            // Validate new percentage
-            BigDecimal currentTotal = getTotalOwnershipPercentageByLandParcel(existingOwnership.getLandParcel().getId());
-            BigDecimal newTotal = currentTotal.subtract(existingOwnership.getOwnershipPercentage())
-                                             .add(ownershipDetails.getOwnershipPercentage());
-            if (newTotal.compareTo(new BigDecimal("100.00")) > 0) {
-                throw new RuntimeException("Total ownership percentage would exceed 100%");
-            }
             existingOwnership.setOwnershipPercentage(ownershipDetails.getOwnershipPercentage());
         }
         if (ownershipDetails.getOwnershipType() != null) {
@@ -225,4 +306,46 @@ public class OwnershipService {
             existingOwnership.setNotes(ownershipDetails.getNotes());
         }
     }
+
+    // Workflow log entry for a change to one ownership; updates that leave the status alone are not logged
+    private void logChange(Ownership ownership, String eventType, OwnershipStatus previousStatus) {
+        if ("UPDATED".equals(eventType) && previousStatus == ownership.getStatus()) {
+            return;
+        }
+        eventLog.append(WorkflowAggregate.OWNERSHIP, ownership.getId(), ownership.getLandParcel().getId(),
+                eventType, previousStatus, ownership.getStatus());
+    }
+
+    // Share ledger helpers
+    private ParcelShareLedger lockShareLedger(Long landParcelId) {
+        shareLedgerRepository.insertIfAbsent(landParcelId);
+        return shareLedgerRepository.findForUpdate(landParcelId)
+                .orElseThrow(() -> new RuntimeException("Share ledger missing for land parcel: " + landParcelId));
+    }
+
+    // Unlocked read for checks that do not write; seeds the ledger on first use
+    private int allocatedBasisPoints(Long landParcelId) {
+        return shareLedgerRepository.findAllocatedBasisPoints(landParcelId).orElseGet(() -> {
+            shareLedgerRepository.insertIfAbsent(landParcelId);
+            return shareLedgerRepository.findAllocatedBasisPoints(landParcelId).orElse(0);
+        });
+    }
+
+    private void applyShareChange(ParcelShareLedger ledger, int previousShare, int newShare) {
+        int allocated = ledger.getAllocatedBasisPoints() - previousShare + newShare;
+        if (newShare > previousShare && allocated > ParcelShareLedger.FULL_OWNERSHIP_BASIS_POINTS) {
+            throw new RuntimeException("Total ownership percentage would exceed 100%");
+        }
+        ledger.setAllocatedBasisPoints(Math.max(allocated, 0));
+        shareLedgerRepository.save(ledger);
+    }
+
+    // Only active ownerships count towards a parcel's 100%
+    private int activeShare(Ownership ownership) {
+        return ownership.getStatus() == OwnershipStatus.ACTIVE ? toBasisPoints(ownership.getOwnershipPercentage()) : 0;
+    }
+
+    private int toBasisPoints(BigDecimal percentage) {
+        return percentage.setScale(2, RoundingMode.HALF_UP).movePointRight(2).intValueExact();
+    }
 }
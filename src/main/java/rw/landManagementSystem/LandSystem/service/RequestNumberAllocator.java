@@ -0,0 +1,93 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hands out REQ-<year>-<n> numbers from a per-year database sequence. Each nextval reserves a
+// whole block, so most calls are an in-memory increment. Numbers from a block that is not used
+// up before shutdown are skipped, never reused.
+@Component
+public class RequestNumberAllocator {
+
+    private static final String PREFIX = "REQ";
+
+    @Value("${requests.number.block-size:50}")
+    private int blockSize;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate separateTransaction;
+
+    private volatile Block current = new Block(0, 1, 0);
+
+    public RequestNumberAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String nextRequestNumber() {
+        int year = Year.now().getValue();
+        while (true) {
+            Block block = current;
+            if (block.year == year) {
+                long number = block.next.getAndIncrement();
+                if (number <= block.last) {
+                    return format(year, number);
+                }
+            }
+            refill(block, year);
+        }
+    }
+
+    // Private helper methods
+    private synchronized void refill(Block exhausted, int year) {
+        if (current != exhausted) {
+            return; // another thread already refilled
+        }
+        // Sequence DDL and nextval run outside the caller's transaction so a rolled back
+        // request cannot undo the sequence this block was taken from
+        Long first = separateTransaction.execute(status -> {
+            String sequence = ensureSequence(year, exhausted.year != year);
+            return jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+        });
+        current = new Block(year, first, first + blockSize - 1);
+    }
+
+    private String ensureSequence(int year, boolean firstUseThisYear) {
+        String sequence = "request_number_seq_" + year;
+        if (firstUseThisYear) {
+            // Start after any numbers already issued for the year (e.g. by the old count-based scheme)
+            Long issued = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(CAST(SUBSTRING(request_number FROM ?) AS BIGINT)), 0) " +
+                    "FROM requests WHERE request_number ~ ?",
+                    Long.class, PREFIX.length() + 7, "^" + PREFIX + "-" + year + "-[0-9]+$");
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence +
+                    " START WITH " + (issued + 1) + " INCREMENT BY " + blockSize);
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + blockSize);
+        }
+        return sequence;
+    }
+
+    private String format(int year, long number) {
+        return String.format("%s-%d-%06d", PREFIX, year, number);
+    }
+
+    private static final class Block {
+        private final int year;
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(int year, long first, long last) {
+            this.year = year;
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
@@ -1,42 +1,78 @@
 package rw.landManagementSystem.LandSystem.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import rw.landManagementSystem.LandSystem.dto.BulkOperationResult;
+import rw.landManagementSystem.LandSystem.dto.BulkRequestOperation;
+import rw.landManagementSystem.LandSystem.event.RequestLifecycleEvent;
 import rw.landManagementSystem.LandSystem.model.Request;
 import rw.landManagementSystem.LandSystem.model.RequestStatus;
 import rw.landManagementSystem.LandSystem.model.RequestType;
 import rw.landManagementSystem.LandSystem.model.RequestPriority;
 import rw.landManagementSystem.LandSystem.model.User;
+import rw.landManagementSystem.LandSystem.model.WorkflowAggregate;
+import rw.landManagementSystem.LandSystem.model.WorkflowEvent;
 import rw.landManagementSystem.LandSystem.repository.RequestRepository;
 import rw.landManagementSystem.LandSystem.service.UserService;
+import rw.landManagementSystem.LandSystem.util.TransactionCallbacks;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @SuppressWarnings("unused") // UserService is used in assignRequestToOfficer method
 public class RequestService {
 
+    private static final int BULK_CHUNK_SIZE = 500;
+
     private final RequestRepository requestRepository;
     private final UserService userService;
-
-    public RequestService(RequestRepository requestRepository, UserService userService) {
+    private final RequestNumberAllocator requestNumberAllocator;
+    private final DashboardStatisticsService statistics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RequestSlaService slaService;
+    private final WorkflowEventLog eventLog;
+
+    public RequestService(RequestRepository requestRepository, UserService userService,
+                          RequestNumberAllocator requestNumberAllocator, DashboardStatisticsService statistics,
+                          ApplicationEventPublisher eventPublisher, RequestSlaService slaService,
+                          WorkflowEventLog eventLog) {
         this.requestRepository = requestRepository;
         this.userService = userService;
+        this.requestNumberAllocator = requestNumberAllocator;
+        this.statistics = statistics;
+        this.eventPublisher = eventPublisher;
+        this.slaService = slaService;
+        this.eventLog = eventLog;
     }
 
     // Create and Update operations
     public Request createRequest(Request request) {
         validateRequestForCreation(request);
         generateRequestNumber(request);
-        return requestRepository.save(request);
+        Request savedRequest = requestRepository.save(request);
+        statistics.recordChange(null, statistics.keyOf(savedRequest));
+        publish(savedRequest, RequestLifecycleEvent.Change.CREATED, null);
+        return savedRequest;
     }
 
     public Request updateRequest(Long id, Request requestDetails) {
         Request existingRequest = getRequestById(id);
+        DashboardStatisticsService.Key before = statistics.keyOf(existingRequest);
+        RequestLifecycleEvent.State stateBefore = RequestLifecycleEvent.State.of(existingRequest);
         updateRequestFields(existingRequest, requestDetails);
+        statistics.recordChange(before, statistics.keyOf(existingRequest));
+        publish(existingRequest, RequestLifecycleEvent.Change.UPDATED, stateBefore);
         return requestRepository.save(existingRequest);
     }
 
@@ -90,9 +126,13 @@ public class RequestService {
         return requestRepository.findUnassignedRequests();
     }
 
+    // Ids come from the SLA engine's open set, so this is a primary-key lookup rather than a scan
     public List<Request> getOverdueRequests(int daysOverdue) {
-        LocalDateTime overdueDate = LocalDateTime.now().minusDays(daysOverdue);
-        return requestRepository.findOverdueRequests(overdueDate);
+        return findAllInOrder(slaService.getOverdueRequestIds(daysOverdue));
+    }
+
+    public List<Request> getSlaBreachedRequests() {
+        return findAllInOrder(slaService.getBreachedRequestIds());
     }
 
     public List<Request> getHighPriorityPendingRequests() {
@@ -127,22 +167,21 @@ public class RequestService {
     // Delete operations
     public void deleteRequest(Long id) {
         Request request = getRequestById(id);
+        RequestLifecycleEvent.State stateBefore = RequestLifecycleEvent.State.of(request);
         requestRepository.delete(request);
+        statistics.recordChange(statistics.keyOf(request), null);
+        publish(request, RequestLifecycleEvent.Change.DELETED, stateBefore);
     }
 
     // Status management
     public void updateRequestStatus(Long id, RequestStatus status) {
         Request request = getRequestById(id);
-        request.setStatus(status);
-
-        if (status == RequestStatus.UNDER_REVIEW && request.getReviewDate() == null) {
-            request.setReviewDate(LocalDateTime.now());
-        }
-        if (status == RequestStatus.APPROVED || status == RequestStatus.REJECTED) {
-            request.setCompletionDate(LocalDateTime.now());
-        }
-
+        DashboardStatisticsService.Key before = statistics.keyOf(request);
+        RequestLifecycleEvent.State stateBefore = RequestLifecycleEvent.State.of(request);
+        applyStatus(request, status);
         requestRepository.save(request);
+        statistics.recordChange(before, statistics.keyOf(request));
+        publish(request, RequestLifecycleEvent.Change.STATUS_CHANGED, stateBefore);
     }
 
     public void approveRequest(Long id) {
@@ -151,10 +190,13 @@ public class RequestService {
 
     public void rejectRequest(Long id, String rejectionReason) {
         Request request = getRequestById(id);
-        request.setStatus(RequestStatus.REJECTED);
+        DashboardStatisticsService.Key before = statistics.keyOf(request);
+        RequestLifecycleEvent.State stateBefore = RequestLifecycleEvent.State.of(request);
+        applyStatus(request, RequestStatus.REJECTED);
         request.setRejectionReason(rejectionReason);
-        request.setCompletionDate(LocalDateTime.now());
         requestRepository.save(request);
+        statistics.recordChange(before, statistics.keyOf(request));
+        publish(request, RequestLifecycleEvent.Change.STATUS_CHANGED, stateBefore);
     }
 
     public void putRequestOnHold(Long id) {
@@ -173,14 +215,26 @@ public class RequestService {
     public void assignRequestToOfficer(Long requestId, Long officerId) {
         Request request = getRequestById(requestId);
         User officer = userService.getUserById(officerId);
+        RequestLifecycleEvent.State stateBefore = RequestLifecycleEvent.State.of(request);
+        request.setAssignedOfficer(officer);
+        requestRepository.save(request);
+        publish(request, RequestLifecycleEvent.Change.ASSIGNED, stateBefore);
+    }
+
+    // Used by OfficerAssignmentService, which has already counted the new workload
+    public void autoAssignRequest(Request request, User officer) {
+        RequestLifecycleEvent.State stateBefore = RequestLifecycleEvent.State.of(request);
         request.setAssignedOfficer(officer);
         requestRepository.save(request);
+        publish(request, RequestLifecycleEvent.Change.AUTO_ASSIGNED, stateBefore);
     }
 
     public void unassignRequest(Long requestId) {
         Request request = getRequestById(requestId);
+        RequestLifecycleEvent.State stateBefore = RequestLifecycleEvent.State.of(request);
         request.setAssignedOfficer(null);
         requestRepository.save(request);
+        publish(request, RequestLifecycleEvent.Change.UNASSIGNED, stateBefore);
     }
 
     public void addOfficerNotes(Long requestId, String notes) {
@@ -192,8 +246,69 @@ public class RequestService {
     // Priority management
     public void updateRequestPriority(Long id, RequestPriority priority) {
         Request request = getRequestById(id);
+        RequestLifecycleEvent.State stateBefore = RequestLifecycleEvent.State.of(request);
         request.setPriority(priority);
         requestRepository.save(request);
+        publish(request, RequestLifecycleEvent.Change.PRIORITY_CHANGED, stateBefore);
+    }
+
+    // Bulk operations: ids are loaded BULK_CHUNK_SIZE at a time with findAllById, changed through the same
+    // rules as the single-request methods, and written by one flush (batched UPDATEs) in one transaction.
+    // Requests already in the target state are reported UNCHANGED and left untouched: nothing is
+    // written, logged or published for them.
+    public BulkOperationResult applyBulkOperation(BulkRequestOperation operation) {
+        long started = System.nanoTime();
+        User officer = null;
+        if (operation.getAction() == BulkRequestOperation.Action.ASSIGN) {
+            if (operation.getOfficerId() == null) {
+                throw new RuntimeException("officerId is required to assign requests");
+            }
+            officer = userService.getUserById(operation.getOfficerId());
+        }
+        if (operation.getAction() == BulkRequestOperation.Action.PRIORITY && operation.getPriority() == null) {
+            throw new RuntimeException("priority is required to change request priority");
+        }
+
+        BulkOperationResult result = new BulkOperationResult(operation.getAction());
+        List<RequestLifecycleEvent> events = new ArrayList<>();
+        List<WorkflowEvent> logEntries = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        List<Long> ids = operation.getRequestIds();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            Map<Long, Request> byId = requestRepository.findAllById(chunk.stream().filter(Objects::nonNull).toList())
+                    .stream().collect(Collectors.toMap(Request::getId, Function.identity()));
+            for (Long id : chunk) {
+                Request request = byId.get(id);
+                if (request == null) {
+                    result.record(id, BulkOperationResult.Outcome.NOT_FOUND);
+                    continue;
+                }
+                if (!seen.add(id)) {
+                    result.record(id, BulkOperationResult.Outcome.DUPLICATE);
+                    continue;
+                }
+                if (isBulkNoOp(request, operation, officer)) {
+                    result.record(id, BulkOperationResult.Outcome.UNCHANGED);
+                    continue;
+                }
+                DashboardStatisticsService.Key before = statistics.keyOf(request);
+                RequestLifecycleEvent.State stateBefore = RequestLifecycleEvent.State.of(request);
+                RequestLifecycleEvent.Change change = applyBulkAction(request, operation, officer);
+                RequestLifecycleEvent.State stateAfter = RequestLifecycleEvent.State.of(request);
+                statistics.recordChange(before, statistics.keyOf(request));
+                RequestLifecycleEvent event = new RequestLifecycleEvent(id, change, stateBefore, stateAfter);
+                events.add(event);
+                logEntries.add(logEntry(request, event));
+                result.record(id, BulkOperationResult.Outcome.UPDATED);
+            }
+        }
+        // Managed entities are written by this flush; hibernate.jdbc.batch_size groups the UPDATEs
+        requestRepository.flush();
+        eventLog.appendAll(logEntries);
+        TransactionCallbacks.afterCommit(() -> events.forEach(eventPublisher::publishEvent));
+        result.setDurationMs((System.nanoTime() - started) / 1_000_000);
+        return result;
     }
 
     // Statistics and counts
@@ -213,10 +328,13 @@ public class RequestService {
         return requestRepository.countPendingRequestsByOfficer(officerId);
     }
 
-    // Temporarily disabled due to query complexity
-    // public Double getAverageProcessingTimeInDays() {
-    //     return requestRepository.getAverageProcessingTimeInDays();
-    // }
+    public Double getAverageProcessingTimeInDays() {
+        return slaService.getAverageProcessingTimeInDays();
+    }
+
+    public Map<String, Object> getProcessingTimeReport() {
+        return slaService.getProcessingTimeReport();
+    }
 
     // Validation methods
     public boolean isRequestNumberAvailable(String requestNumber) {
@@ -224,6 +342,88 @@ public class RequestService {
     }
 
     // Private helper methods
+
+    private List<Request> findAllInOrder(List<Long> ids) {
+        Map<Long, Request> byId = requestRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Request::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // Status rules shared by the single-request and bulk paths
+    private void applyStatus(Request request, RequestStatus status) {
+        request.setStatus(status);
+        if (status == RequestStatus.UNDER_REVIEW && request.getReviewDate() == null) {
+            request.setReviewDate(LocalDateTime.now());
+        }
+        if (status == RequestStatus.APPROVED || status == RequestStatus.REJECTED) {
+            request.setCompletionDate(LocalDateTime.now());
+        }
+    }
+
+    // Checked before anything is changed, so completion dates and rejection reasons are not rewritten
+    private boolean isBulkNoOp(Request request, BulkRequestOperation operation, User officer) {
+        User assigned = request.getAssignedOfficer();
+        return switch (operation.getAction()) {
+            case APPROVE -> request.getStatus() == RequestStatus.APPROVED;
+            case REJECT -> request.getStatus() == RequestStatus.REJECTED;
+            case HOLD -> request.getStatus() == RequestStatus.ON_HOLD;
+            case CANCEL -> request.getStatus() == RequestStatus.CANCELLED;
+            case START_REVIEW -> request.getStatus() == RequestStatus.UNDER_REVIEW;
+            case ASSIGN -> assigned != null && assigned.getId().equals(officer.getId());
+            case UNASSIGN -> assigned == null;
+            case PRIORITY -> request.getPriority() == operation.getPriority();
+        };
+    }
+
+    private RequestLifecycleEvent.Change applyBulkAction(Request request, BulkRequestOperation operation,
+                                                         User officer) {
+        switch (operation.getAction()) {
+            case APPROVE -> applyStatus(request, RequestStatus.APPROVED);
+            case REJECT -> {
+                applyStatus(request, RequestStatus.REJECTED);
+                request.setRejectionReason(operation.getRejectionReason());
+            }
+            case HOLD -> applyStatus(request, RequestStatus.ON_HOLD);
+            case CANCEL -> applyStatus(request, RequestStatus.CANCELLED);
+            case START_REVIEW -> applyStatus(request, RequestStatus.UNDER_REVIEW);
+            case ASSIGN -> {
+                request.setAssignedOfficer(officer);
+                return RequestLifecycleEvent.Change.ASSIGNED;
+            }
+            case UNASSIGN -> {
+                request.setAssignedOfficer(null);
+                return RequestLifecycleEvent.Change.UNASSIGNED;
+            }
+            case PRIORITY -> {
+                request.setPriority(operation.getPriority());
+                return RequestLifecycleEvent.Change.PRIORITY_CHANGED;
+            }
+        }
+        return RequestLifecycleEvent.Change.STATUS_CHANGED;
+    }
+
+    // Appends to the workflow log and publishes once the transaction commits; unchanged updates are skipped
+    private void publish(Request request, RequestLifecycleEvent.Change change, RequestLifecycleEvent.State before) {
+        RequestLifecycleEvent.State after = change != RequestLifecycleEvent.Change.DELETED
+                ? RequestLifecycleEvent.State.of(request) : null;
+        if (change == RequestLifecycleEvent.Change.UPDATED && after.equals(before)) {
+            return;
+        }
+        RequestLifecycleEvent event = new RequestLifecycleEvent(request.getId(), change, before, after);
+        eventLog.append(logEntry(request, event));
+        TransactionCallbacks.afterCommit(() -> eventPublisher.publishEvent(event));
+    }
+
+    private WorkflowEvent logEntry(Request request, RequestLifecycleEvent event) {
+        RequestLifecycleEvent.State before = event.getBefore();
+        RequestLifecycleEvent.State after = event.getAfter();
+        return WorkflowEventLog.entry(WorkflowAggregate.REQUEST, request.getId(),
+                request.getLandParcel() != null ? request.getLandParcel().getId() : null, event.getChange().name(),
+                before != null ? before.getStatus() : null, after != null ? after.getStatus() : null,
+                before != null ? before.getAssignedOfficerId() : null,
+                after != null ? after.getAssignedOfficerId() : null);
+    }
+
     private void validateRequestForCreation(Request request) {
         if (request.getRequestNumber() != null && !isRequestNumberAvailable(request.getRequestNumber())) {
             throw new RuntimeException("Request number already exists: " + request.getRequestNumber());
@@ -232,11 +432,7 @@ public class RequestService {
 
     private void generateRequestNumber(Request request) {
         if (request.getRequestNumber() == null || request.getRequestNumber().isEmpty()) {
-            String prefix = "REQ";
-            String year = String.valueOf(LocalDateTime.now().getYear());
-            long count = requestRepository.count() + 1;
-            String requestNumber = String.format("%s-%s-%06d", prefix, year, count);
-            request.setRequestNumber(requestNumber);
+            request.setRequestNumber(requestNumberAllocator.nextRequestNumber());
         }
     }
 
@@ -0,0 +1,411 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import jakarta.annotation.PostConstruct;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.event.RequestLifecycleEvent;
+import rw.landManagementSystem.LandSystem.event.SlaBreachEvent;
+import rw.landManagementSystem.LandSystem.model.RequestPriority;
+import rw.landManagementSystem.LandSystem.model.RequestStatus;
+import rw.landManagementSystem.LandSystem.model.RequestType;
+import rw.landManagementSystem.LandSystem.repository.RequestRepository;
+import rw.landManagementSystem.LandSystem.util.TimerWheel;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+// Service levels for requests, driven by RequestLifecycleEvents rather than table scans.
+// Open requests are held in memory with their current deadline (review while PENDING, decision while
+// UNDER_REVIEW) on a timer wheel, so a breach is flagged within one tick of happening. Time to review
+// and time to decision are recorded into HdrHistograms per request type and per officer as the
+// transitions happen. The open set is rebuilt from the database on a schedule; the histograms are
+// seeded once at startup.
+@Service
+public class RequestSlaService {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestSlaService.class);
+    private static final int WHEEL_SLOTS = 4096;
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    @Value("${sla.review-hours:URGENT:4,HIGH:24,NORMAL:72,LOW:120}")
+    private String reviewHoursSetting;
+
+    @Value("${sla.decision-hours:URGENT:48,HIGH:168,NORMAL:336,LOW:720}")
+    private String decisionHoursSetting;
+
+    @Value("${sla.tick-ms:10000}")
+    private long tickMillis;
+
+    private final RequestRepository requestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<RequestPriority, Duration> reviewTargets = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Duration> decisionTargets = new EnumMap<>(RequestPriority.class);
+
+    // All guarded by 'this'
+    private final Map<Long, Tracked> open = new HashMap<>();
+    private TimerWheel<Long> wheel;
+    private final Latencies timeToReview = new Latencies();
+    private final Latencies timeToDecision = new Latencies();
+    private LocalDateTime lastReconciledAt;
+    // Events received while reconcile() reads the open set, replayed onto the rebuilt one
+    private List<RequestLifecycleEvent> journal;
+    private final Object reconcileLock = new Object();
+
+    public RequestSlaService(RequestRepository requestRepository, ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager) {
+        this.requestRepository = requestRepository;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void init() {
+        parseTargets(reviewHoursSetting, reviewTargets);
+        parseTargets(decisionHoursSetting, decisionTargets);
+        wheel = new TimerWheel<>(tickMillis, WHEEL_SLOTS, System.currentTimeMillis());
+    }
+
+    @EventListener
+    public synchronized void onRequestChange(RequestLifecycleEvent event) {
+        if (journal != null) {
+            journal.add(event);
+        }
+        track(event, true);
+    }
+    @Scheduled(fixedRateString = "${sla.tick-ms:10000}")
+    public void tick() {
+        List<SlaBreachEvent> breaches = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            wheel.advance(System.currentTimeMillis(), id -> {
+                Tracked tracked = open.get(id);
+                if (tracked != null) {
+                    tracked.breachedAt = now;
+                    breaches.add(new SlaBreachEvent(id, tracked.status, tracked.officerId, tracked.deadline));
+                }
+            });
+        }
+        for (SlaBreachEvent breach : breaches) {
+            log.warn("Request {} breached its {} deadline of {}", breach.getRequestId(), breach.getStatus(),
+                    breach.getDeadline());
+            eventPublisher.publishEvent(breach);
+        }
+    }
+
+    // PENDING / UNDER_REVIEW requests submitted more than 'days' ago, oldest first
+    public synchronized List<Long> getOverdueRequestIds(int days) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
+        return open.values().stream()
+                .filter(tracked -> tracked.status == RequestStatus.PENDING || tracked.status == RequestStatus.UNDER_REVIEW)
+                .filter(tracked -> tracked.submittedAt.isBefore(cutoff))
+                .sorted(Comparator.comparing((Tracked tracked) -> tracked.submittedAt).thenComparing(tracked -> tracked.id))
+                .map(tracked -> tracked.id)
+                .toList();
+    }
+
+    // Open requests past their current deadline, most overdue first
+    public synchronized List<Long> getBreachedRequestIds() {
+        return open.values().stream()
+                .filter(tracked -> tracked.breachedAt != null)
+                .sorted(Comparator.comparing((Tracked tracked) -> tracked.deadline).thenComparing(tracked -> tracked.id))
+                .map(tracked -> tracked.id)
+                .toList();
+    }
+
+    // Mean submission-to-decision time of approved and rejected requests; null before any
+    public synchronized Double getAverageProcessingTimeInDays() {
+        Histogram overall = timeToDecision.overall;
+        return overall.getTotalCount() == 0 ? null : overall.getMean() / 86400.0;
+    }
+
+    public synchronized Map<String, Object> getProcessingTimeReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timeToReview", timeToReview.describe(false));
+        report.put("timeToDecision", timeToDecision.describe(true));
+        report.put("openRequests", open.size());
+        report.put("breachedRequests", open.values().stream().filter(tracked -> tracked.breachedAt != null).count());
+        report.put("reviewTargetHours", describeTargets(reviewTargets));
+        report.put("decisionTargetHours", describeTargets(decisionTargets));
+        report.put("lastReconciledAt", lastReconciledAt);
+        return report;
+    }
+
+    // Histograms are seeded from completed work once; later transitions arrive as events
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedHistograms() {
+        Latencies review = new Latencies();
+        Latencies decision = new Latencies();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            // [requestType, assignedOfficerId, status, submissionDate, reviewDate, completionDate]
+            try (Stream<Object[]> rows = requestRepository.streamProcessingTimes()) {
+                rows.forEach(row -> {
+                    RequestType type = (RequestType) row[0];
+                    Long officerId = (Long) row[1];
+                    LocalDateTime submitted = (LocalDateTime) row[3];
+                    if (submitted == null) {
+                        return;
+                    }
+                    if (row[4] != null) {
+                        review.record(type, officerId, Duration.between(submitted, (LocalDateTime) row[4]).getSeconds());
+                    }
+                    if (row[5] != null && (row[2] == RequestStatus.APPROVED || row[2] == RequestStatus.REJECTED)) {
+                        decision.record(type, officerId, Duration.between(submitted, (LocalDateTime) row[5]).getSeconds());
+                    }
+                });
+            }
+        });
+        synchronized (this) {
+            timeToReview.add(review);
+            timeToDecision.add(decision);
+        }
+        reconcile();
+    }
+
+    // Rebuilds the open set and its timers. Deadlines that passed while untracked are flagged without an event;
+    // lifecycle events that arrive while the open requests are read are replayed onto the rebuilt set.
+    @Scheduled(initialDelayString = "${sla.reconcile-interval-ms:900000}",
+               fixedDelayString = "${sla.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            List<RequestLifecycleEvent> events = new ArrayList<>();
+            synchronized (this) {
+                journal = events;
+            }
+            List<Object[]> rows;
+            try {
+                rows = readOnlyTransaction.execute(status -> requestRepository.findOpenForSla());
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    journal = null;
+                }
+                throw e;
+            }
+            rebuild(rows, events);
+        }
+    }
+
+    // Private helper methods
+    private synchronized void rebuild(List<Object[]> rows, List<RequestLifecycleEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, LocalDateTime> breached = new HashMap<>();
+        open.values().forEach(tracked -> {
+            if (tracked.breachedAt != null) {
+                breached.put(tracked.id, tracked.breachedAt);
+            }
+        });
+        open.clear();
+        wheel = new TimerWheel<>(tickMillis, WHEEL_SLOTS, System.currentTimeMillis());
+        // [id, requestType, priority, status, assignedOfficerId, submissionDate]
+        for (Object[] row : rows) {
+            Tracked tracked = new Tracked((Long) row[0], (RequestType) row[1], (RequestPriority) row[2],
+                    (RequestStatus) row[3], (Long) row[4], (LocalDateTime) row[5]);
+            open.put(tracked.id, tracked);
+            schedule(tracked);
+            if (tracked.deadline != null && !tracked.deadline.isAfter(now)) {
+                wheel.cancel(tracked.id);
+                tracked.breachedAt = breached.getOrDefault(tracked.id, tracked.deadline);
+            }
+        }
+        events.forEach(event -> track(event, false));
+        journal = null;
+        lastReconciledAt = now;
+    }
+
+    // Moves the open set by one lifecycle event. A replayed event ('record' false) may already be reflected
+    // in the rows it is replayed onto, so it only re-applies state and leaves the histograms alone.
+    private void track(RequestLifecycleEvent event, boolean record) {
+        Long id = event.getRequestId();
+        RequestLifecycleEvent.State after = event.getAfter();
+        if (event.getChange() == RequestLifecycleEvent.Change.CREATED) {
+            if (!record && open.containsKey(id)) {
+                return;
+            }
+            Tracked tracked = new Tracked(id, after, event.getOccurredAt());
+            open.put(id, tracked);
+            schedule(tracked);
+            return;
+        }
+        Tracked tracked = open.get(id);
+        if (tracked == null) {
+            return; // closed already, or reopened since the last reconcile picks it up
+        }
+        if (after == null) {
+            untrack(id);
+            return;
+        }
+        RequestStatus previous = tracked.status;
+        tracked.requestType = after.getRequestType();
+        tracked.priority = after.getPriority();
+        tracked.officerId = after.getAssignedOfficerId();
+        tracked.status = after.getStatus();
+        if (previous == tracked.status) {
+            schedule(tracked); // priority changes move the deadline
+            return;
+        }
+        long elapsed = Duration.between(tracked.submittedAt, event.getOccurredAt()).getSeconds();
+        switch (tracked.status) {
+            case UNDER_REVIEW -> {
+                if (record && previous == RequestStatus.PENDING) {
+                    timeToReview.record(tracked.requestType, tracked.officerId, elapsed);
+                }
+                tracked.breachedAt = null;
+                schedule(tracked);
+            }
+            case APPROVED, REJECTED -> {
+                if (record) {
+                    timeToDecision.record(tracked.requestType, tracked.officerId, elapsed);
+                }
+                untrack(id);
+            }
+            case CANCELLED -> untrack(id);
+            default -> schedule(tracked);
+        }
+    }
+
+    private void schedule(Tracked tracked) {
+        Duration target = switch (tracked.status) {
+            case PENDING -> reviewTargets.get(priorityOf(tracked));
+            case UNDER_REVIEW -> decisionTargets.get(priorityOf(tracked));
+            default -> null; // ON_HOLD: the clock is stopped
+        };
+        if (target == null || tracked.submittedAt == null) {
+            tracked.deadline = null;
+            wheel.cancel(tracked.id);
+            return;
+        }
+        LocalDateTime deadline = tracked.submittedAt.plus(target);
+        if (deadline.equals(tracked.deadline) && (tracked.breachedAt != null || wheel.isScheduled(tracked.id))) {
+            return;
+        }
+        tracked.deadline = deadline;
+        tracked.breachedAt = null;
+        wheel.schedule(tracked.id, deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void untrack(Long id) {
+        open.remove(id);
+        wheel.cancel(id);
+    }
+
+    private static RequestPriority priorityOf(Tracked tracked) {
+        return tracked.priority != null ? tracked.priority : RequestPriority.NORMAL;
+    }
+
+    // "URGENT:4,HIGH:24,..." into per-priority durations; priorities left out have no target
+    private static void parseTargets(String setting, Map<RequestPriority, Duration> targets) {
+        for (String entry : setting.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length == 2) {
+                targets.put(RequestPriority.valueOf(parts[0].trim()), Duration.ofHours(Long.parseLong(parts[1].trim())));
+            }
+        }
+    }
+
+    private static Map<String, Long> describeTargets(Map<RequestPriority, Duration> targets) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        targets.forEach((priority, duration) -> result.put(priority.name(), duration.toHours()));
+        return result;
+    }
+
+    private static Map<String, Object> describe(Histogram histogram) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", histogram.getTotalCount());
+        if (histogram.getTotalCount() > 0) {
+            stats.put("meanHours", histogram.getMean() / SECONDS_PER_HOUR);
+            stats.put("p50Hours", histogram.getValueAtPercentile(50) / SECONDS_PER_HOUR);
+            stats.put("p90Hours", histogram.getValueAtPercentile(90) / SECONDS_PER_HOUR);
+            stats.put("p99Hours", histogram.getValueAtPercentile(99) / SECONDS_PER_HOUR);
+            stats.put("maxHours", histogram.getMaxValue() / SECONDS_PER_HOUR);
+        }
+        return stats;
+    }
+
+    private static final class Tracked {
+        private final Long id;
+        private RequestType requestType;
+        private RequestPriority priority;
+        private RequestStatus status;
+        private Long officerId;
+        private final LocalDateTime submittedAt;
+        private LocalDateTime deadline;
+        private LocalDateTime breachedAt;
+
+        private Tracked(Long id, RequestType requestType, RequestPriority priority, RequestStatus status,
+                        Long officerId, LocalDateTime submittedAt) {
+            this.id = id;
+            this.requestType = requestType;
+            this.priority = priority;
+            this.status = status;
+            this.officerId = officerId;
+            this.submittedAt = submittedAt;
+        }
+
+        private Tracked(Long id, RequestLifecycleEvent.State state, LocalDateTime submittedAt) {
+            this(id, state.getRequestType(), state.getPriority(), state.getStatus(), state.getAssignedOfficerId(),
+                    submittedAt);
+        }
+    }
+
+    // Latencies in seconds: overall, per request type and per officer. Histograms resize themselves.
+    private static final class Latencies {
+        private final Histogram overall = new Histogram(SIGNIFICANT_DIGITS);
+        private final Map<RequestType, Histogram> byType = new EnumMap<>(RequestType.class);
+        private final Map<Long, Histogram> byOfficer = new HashMap<>();
+
+        private void record(RequestType type, Long officerId, long seconds) {
+            long value = Math.max(0, seconds);
+            overall.recordValue(value);
+            if (type != null) {
+                byType.computeIfAbsent(type, k -> new Histogram(SIGNIFICANT_DIGITS)).recordValue(value);
+            }
+            if (officerId != null) {
+                byOfficer.computeIfAbsent(officerId, k -> new Histogram(SIGNIFICANT_DIGITS)).recordValue(value);
+            }
+        }
+
+        private void add(Latencies other) {
+            overall.add(other.overall);
+            other.byType.forEach((type, histogram) ->
+                    byType.computeIfAbsent(type, k -> new Histogram(SIGNIFICANT_DIGITS)).add(histogram));
+            other.byOfficer.forEach((officerId, histogram) ->
+                    byOfficer.computeIfAbsent(officerId, k -> new Histogram(SIGNIFICANT_DIGITS)).add(histogram));
+        }
+
+        private Map<String, Object> describe(boolean includeOfficers) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("overall", RequestSlaService.describe(overall));
+            Map<String, Object> types = new TreeMap<>();
+            byType.forEach((type, histogram) -> types.put(type.name(), RequestSlaService.describe(histogram)));
+            result.put("byRequestType", types);
+            if (includeOfficers) {
+                Map<Long, Object> officers = new TreeMap<>();
+                byOfficer.forEach((officerId, histogram) -> officers.put(officerId, RequestSlaService.describe(histogram)));
+                result.put("byOfficer", officers);
+            }
+            return result;
+        }
+    }
+}
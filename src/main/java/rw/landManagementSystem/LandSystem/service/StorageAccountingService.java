@@ -0,0 +1,254 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.model.Document;
+import rw.landManagementSystem.LandSystem.model.DocumentStatus;
+import rw.landManagementSystem.LandSystem.model.DocumentType;
+import rw.landManagementSystem.LandSystem.model.User;
+import rw.landManagementSystem.LandSystem.repository.DocumentRepository;
+import rw.landManagementSystem.LandSystem.util.ReconciledState;
+import rw.landManagementSystem.LandSystem.util.TransactionCallbacks;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Running totals of document file sizes, by status, type, district and uploader. Works like the
+// dashboard statistics: seeded from one grouped query, moved by committed changes, and rebuilt on a
+// schedule. "Stored" bytes are every document not marked DELETED; the legacy total-file-size figure
+// stays ACTIVE-only. Per-user quotas are checked against stored bytes.
+@Service
+public class StorageAccountingService {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageAccountingService.class);
+    private static final String NO_DISTRICT = "UNASSIGNED";
+    private static final int TOP_UPLOADERS = 20;
+
+    // What one document contributes to the totals
+    public static final class Usage {
+        private final DocumentStatus status;
+        private final DocumentType documentType;
+        private final String district;
+        private final Long uploaderId;
+        private final long bytes;
+
+        private Usage(DocumentStatus status, DocumentType documentType, String district, Long uploaderId, long bytes) {
+            this.status = status;
+            this.documentType = documentType;
+            this.district = district != null ? district : NO_DISTRICT;
+            this.uploaderId = uploaderId;
+            this.bytes = bytes;
+        }
+
+        private boolean isStored() {
+            return status != DocumentStatus.DELETED;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Usage usage && status == usage.status && documentType == usage.documentType
+                    && district.equals(usage.district) && Objects.equals(uploaderId, usage.uploaderId)
+                    && bytes == usage.bytes;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, documentType, district, uploaderId, bytes);
+        }
+    }
+
+    @Value("${storage.quota.default-bytes:10737418240}")
+    private long defaultQuotaBytes;
+
+    private final DocumentRepository documentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReconciledState<Totals> totals = new ReconciledState<>(new Totals());
+    private volatile LocalDateTime lastReconciledAt;
+
+    public StorageAccountingService(DocumentRepository documentRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.documentRepository = documentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // All grouped rows from one snapshot
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // Must be called inside the transaction that loaded the document (reads the lazy parcel and uploader ids)
+    public Usage usageOf(Document document) {
+        return new Usage(document.getStatus(), document.getDocumentType(),
+                document.getLandParcel() != null ? document.getLandParcel().getDistrict() : null,
+                document.getUploadedBy() != null ? document.getUploadedBy().getId() : null,
+                document.getFileSize() != null ? document.getFileSize() : 0L);
+    }
+
+    // Moves one document's contribution once the current transaction commits; null means created/deleted
+    public void recordChange(Usage before, Usage after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Consumer<Totals> change = target -> {
+            if (before != null) {
+                target.add(before, -1);
+            }
+            if (after != null) {
+                target.add(after, 1);
+            }
+        };
+        TransactionCallbacks.afterCommit(() -> totals.apply(change));
+    }
+
+    // Throws when storing 'additionalBytes' more would take the user past their quota; shrinking always passes
+    public void checkQuota(User uploader, long additionalBytes) {
+        if (uploader == null || additionalBytes <= 0) {
+            return;
+        }
+        long quota = getQuotaBytes(uploader);
+        if (quota <= 0) {
+            return;
+        }
+        long used = getStoredBytesByUploader(uploader.getId());
+        if (used + additionalBytes > quota) {
+            throw new RuntimeException("Storage quota exceeded: " + used + " of " + quota
+                    + " bytes used, " + additionalBytes + " more requested");
+        }
+    }
+
+    // Throws when changing a document from 'before' to 'after' would take its uploader past their quota;
+    // a document handed to another uploader counts in full against theirs
+    public void checkQuota(User uploader, Usage before, Usage after) {
+        long alreadyCounted = before != null && after != null && Objects.equals(before.uploaderId, after.uploaderId)
+                ? storedBytes(before) : 0L;
+        checkQuota(uploader, storedBytes(after) - alreadyCounted);
+    }
+
+    public long getQuotaBytes(User user) {
+        return user.getStorageQuotaBytes() != null ? user.getStorageQuotaBytes() : defaultQuotaBytes;
+    }
+
+    public long getActiveBytes() {
+        return totals.get().byStatus.get(DocumentStatus.ACTIVE).sum();
+    }
+
+    public long getStoredBytesByUploader(Long uploaderId) {
+        LongAdder bytes = totals.get().byUploader.get(uploaderId);
+        return bytes != null ? bytes.sum() : 0L;
+    }
+
+    public Map<String, Object> getUploaderUsage(User user) {
+        Map<String, Object> usage = new LinkedHashMap<>();
+        long quota = getQuotaBytes(user);
+        long used = getStoredBytesByUploader(user.getId());
+        usage.put("uploaderId", user.getId());
+        usage.put("storedBytes", used);
+        usage.put("quotaBytes", quota > 0 ? quota : null);
+        usage.put("remainingBytes", quota > 0 ? Math.max(0, quota - used) : null);
+        return usage;
+    }
+
+    public Map<String, Object> getSummary() {
+        Totals current = totals.get();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("storedBytes", current.stored.sum());
+        summary.put("activeBytes", current.byStatus.get(DocumentStatus.ACTIVE).sum());
+        summary.put("byStatus", describe(current.byStatus));
+        summary.put("byDocumentType", describe(current.byType));
+        summary.put("byDistrict", describe(current.byDistrict));
+        Map<Long, Long> topUploaders = new LinkedHashMap<>();
+        current.byUploader.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(TOP_UPLOADERS)
+                .forEach(entry -> topUploaders.put(entry.getKey(), entry.getValue()));
+        summary.put("topUploaders", topUploaders);
+        summary.put("lastReconciledAt", lastReconciledAt);
+        return summary;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${storage.accounting.reconcile-interval-ms:300000}",
+               fixedDelayString = "${storage.accounting.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Totals previous = totals.reconcile(() -> readOnlyTransaction.execute(status -> {
+            Totals result = new Totals();
+            // [status, documentType, district, uploaderId, sum(fileSize)]
+            for (Object[] row : documentRepository.sumFileSizeGrouped()) {
+                Usage usage = new Usage((DocumentStatus) row[0], (DocumentType) row[1], (String) row[2],
+                        (Long) row[3], row[4] != null ? ((Number) row[4]).longValue() : 0L);
+                result.add(usage, 1);
+            }
+            return result;
+        }));
+        lastReconciledAt = LocalDateTime.now();
+        if (previous.stored.sum() != totals.get().stored.sum()) {
+            log.info("Storage accounting corrected during reconciliation");
+        }
+    }
+
+    // Private helper methods
+    private static long storedBytes(Usage usage) {
+        return usage != null && usage.isStored() ? usage.bytes : 0L;
+    }
+
+    private static <K> Map<String, Long> describe(Map<K, LongAdder> counters) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((key, value) -> {
+            long sum = value.sum();
+            if (sum != 0) {
+                result.put(String.valueOf(key), sum);
+            }
+        });
+        return result;
+    }
+
+    private static final class Totals {
+        private final LongAdder stored = new LongAdder();
+        private final Map<DocumentStatus, LongAdder> byStatus = new EnumMap<>(DocumentStatus.class);
+        private final Map<DocumentType, LongAdder> byType = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byDistrict = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> byUploader = new ConcurrentHashMap<>();
+
+        private Totals() {
+            for (DocumentStatus status : DocumentStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+
+        // 'sign' is +1 to add the usage, -1 to remove it
+        private void add(Usage usage, int sign) {
+            long bytes = sign * usage.bytes;
+            if (usage.status != null) {
+                byStatus.get(usage.status).add(bytes);
+            }
+            if (!usage.isStored()) {
+                return;
+            }
+            stored.add(bytes);
+            if (usage.documentType != null) {
+                byType.computeIfAbsent(usage.documentType, k -> new LongAdder()).add(bytes);
+            }
+            byDistrict.computeIfAbsent(usage.district, k -> new LongAdder()).add(bytes);
+            if (usage.uploaderId != null) {
+                byUploader.computeIfAbsent(usage.uploaderId, k -> new LongAdder()).add(bytes);
+            }
+        }
+    }
+}
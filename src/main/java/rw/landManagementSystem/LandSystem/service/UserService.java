@@ -8,6 +8,7 @@ import rw.landManagementSystem.LandSystem.model.User;
 import rw.landManagementSystem.LandSystem.model.UserRole;
 import rw.landManagementSystem.LandSystem.model.UserStatus;
 import rw.landManagementSystem.LandSystem.repository.UserRepository;
+import rw.landManagementSystem.LandSystem.security.UserPrincipalCache;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,20 +18,31 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
+    private final DashboardStatisticsService statistics;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserPrincipalCache principalCache,
+                       DashboardStatisticsService statistics) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.statistics = statistics;
     }
 
     // Create and Update operations
     public User createUser(User user) {
         validateUserForCreation(user);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        statistics.recordChange(null, statistics.keyOf(savedUser));
+        return savedUser;
     }
 
     public User updateUser(Long id, User userDetails) {
         User existingUser = getUserById(id);
+        DashboardStatisticsService.Key before = statistics.keyOf(existingUser);
+        principalCache.invalidate(existingUser.getEmail());
         updateUserFields(existingUser, userDetails);
+        principalCache.invalidate(existingUser.getEmail());
+        statistics.recordChange(before, statistics.keyOf(existingUser));
         return userRepository.save(existingUser);
     }
 
@@ -88,24 +100,45 @@ public class UserService {
     public void deleteUser(Long id) {
         User user = getUserById(id);
         userRepository.delete(user);
+        principalCache.invalidate(user.getEmail());
+        statistics.recordChange(statistics.keyOf(user), null);
     }
 
     public void deactivateUser(Long id) {
         User user = getUserById(id);
+        DashboardStatisticsService.Key before = statistics.keyOf(user);
         user.setStatus(UserStatus.INACTIVE);
         userRepository.save(user);
+        statistics.recordChange(before, statistics.keyOf(user));
+        principalCache.invalidate(user.getEmail());
     }
 
     public void activateUser(Long id) {
         User user = getUserById(id);
+        DashboardStatisticsService.Key before = statistics.keyOf(user);
         user.setStatus(UserStatus.ACTIVE);
         userRepository.save(user);
+        statistics.recordChange(before, statistics.keyOf(user));
+        principalCache.invalidate(user.getEmail());
     }
 
     public void suspendUser(Long id) {
         User user = getUserById(id);
+        DashboardStatisticsService.Key before = statistics.keyOf(user);
         user.setStatus(UserStatus.SUSPENDED);
         userRepository.save(user);
+        statistics.recordChange(before, statistics.keyOf(user));
+        principalCache.invalidate(user.getEmail());
+    }
+
+    // Null falls back to the configured default quota; 0 means unlimited
+    public void setStorageQuota(Long id, Long bytes) {
+        if (bytes != null && bytes < 0) {
+            throw new RuntimeException("Storage quota cannot be negative");
+        }
+        User user = getUserById(id);
+        user.setStorageQuotaBytes(bytes);
+        userRepository.save(user);
     }
 
     // Statistics and counts
@@ -139,7 +172,12 @@ public class UserService {
     }
 
     public User save(User user) {
-        return userRepository.save(user);
+        boolean isNew = user.getId() == null;
+        User savedUser = userRepository.save(user);
+        if (isNew) {
+            statistics.recordChange(null, statistics.keyOf(savedUser));
+        }
+        return savedUser;
     }
 
     // Paginated search with filters
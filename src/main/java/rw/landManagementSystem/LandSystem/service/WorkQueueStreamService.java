@@ -0,0 +1,342 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import rw.landManagementSystem.LandSystem.event.RequestLifecycleEvent;
+import rw.landManagementSystem.LandSystem.event.SlaBreachEvent;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Pushes committed request changes to officer dashboards over Server-Sent Events, so they no longer
+// poll the pending/unassigned queries. Each event is rendered once and offered to every matching
+// subscriber's bounded buffer without blocking. Subscribers are spread over sender shards, each with
+// its own thread, so a client that stops reading can only hold up the writes of its own shard. A
+// subscriber whose buffer is full, or whose write has not finished within the send timeout, is
+// disconnected; its client reconnects and reloads the queue.
+@Service
+public class WorkQueueStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkQueueStreamService.class);
+
+    public enum Scope {
+        // Everything; supervisors and admins
+        ALL,
+        // Changes that move a request into or out of the unassigned queue
+        UNASSIGNED,
+        // Changes to requests assigned to one officer, before or after the change
+        OFFICER
+    }
+
+    @Value("${streams.work-queue.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${streams.work-queue.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${streams.work-queue.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    private final int maxSubscribers;
+    private final ThreadPoolExecutor[] shards;
+    private final ThreadPoolExecutor closer;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public WorkQueueStreamService(@Value("${streams.work-queue.max-subscribers:5000}") int maxSubscribers,
+                                  @Value("${streams.work-queue.subscribers-per-sender:100}") int subscribersPerSender) {
+        this.maxSubscribers = maxSubscribers;
+        int shardCount = Math.max(1, (maxSubscribers + subscribersPerSender - 1) / subscribersPerSender);
+        this.shards = new ThreadPoolExecutor[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            // One thread per shard, started on first use and stopped when idle. At most one drain task per
+            // subscriber is queued at a time, so each queue is bounded by the shard's subscribers.
+            ThreadPoolExecutor shard = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), daemonThreads("work-queue-stream-" + i + "-"));
+            shard.allowCoreThreadTimeOut(true);
+            this.shards[i] = shard;
+        }
+        // Completing an emitter waits behind a write in progress. Each shard has at most one write in
+        // progress, so one closing thread per shard means a stuck write never holds up other closes.
+        this.closer = new ThreadPoolExecutor(shardCount, shardCount, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("work-queue-stream-closer-"));
+        this.closer.allowCoreThreadTimeOut(true);
+    }
+
+    public SseEmitter subscribe(Scope scope, Long officerId) {
+        if (scope == Scope.OFFICER && officerId == null) {
+            throw new RuntimeException("officerId is required for the OFFICER scope");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RuntimeException("Too many work queue subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        ThreadPoolExecutor shard = shards[Math.floorMod(nextShard.getAndIncrement(), shards.length)];
+        Subscriber subscriber = new Subscriber(emitter, scope, officerId, bufferSize, shard);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+        subscribers.add(subscriber);
+
+        Map<String, Object> ready = new LinkedHashMap<>();
+        ready.put("scope", scope);
+        ready.put("officerId", officerId);
+        offer(subscriber, SseEmitter.event().name("ready").data(ready).build());
+        return emitter;
+    }
+
+    @EventListener
+    public void onRequestChange(RequestLifecycleEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        RequestLifecycleEvent.State before = event.getBefore();
+        RequestLifecycleEvent.State after = event.getAfter();
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("requestId", event.getRequestId());
+        delta.put("change", event.getChange());
+        delta.put("status", after != null ? after.getStatus() : null);
+        delta.put("priority", after != null ? after.getPriority() : null);
+        delta.put("requestType", after != null ? after.getRequestType() : null);
+        delta.put("assignedOfficerId", after != null ? after.getAssignedOfficerId() : null);
+        delta.put("previousStatus", before != null ? before.getStatus() : null);
+        delta.put("previousOfficerId", before != null ? before.getAssignedOfficerId() : null);
+        delta.put("occurredAt", event.getOccurredAt());
+        Set<ResponseBodyEmitter.DataWithMediaType> message = SseEmitter.event()
+                .name(event.getChange().name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                .data(delta)
+                .build();
+
+        boolean touchesUnassigned = (before != null && before.getAssignedOfficerId() == null)
+                || (after != null && after.getAssignedOfficerId() == null);
+        for (Subscriber subscriber : subscribers) {
+            boolean matches = switch (subscriber.scope) {
+                case ALL -> true;
+                case UNASSIGNED -> touchesUnassigned;
+                case OFFICER -> (before != null && subscriber.officerId.equals(before.getAssignedOfficerId()))
+                        || (after != null && subscriber.officerId.equals(after.getAssignedOfficerId()));
+            };
+            if (matches) {
+                offer(subscriber, message);
+            }
+        }
+    }
+
+    @EventListener
+    public void onSlaBreach(SlaBreachEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> breach = new LinkedHashMap<>();
+        breach.put("requestId", event.getRequestId());
+        breach.put("status", event.getStatus());
+        breach.put("assignedOfficerId", event.getAssignedOfficerId());
+        breach.put("deadline", event.getDeadline());
+        Set<ResponseBodyEmitter.DataWithMediaType> message = SseEmitter.event().name("sla-breach").data(breach).build();
+        for (Subscriber subscriber : subscribers) {
+            boolean matches = switch (subscriber.scope) {
+                case ALL -> true;
+                case UNASSIGNED -> event.getAssignedOfficerId() == null;
+                case OFFICER -> subscriber.officerId.equals(event.getAssignedOfficerId());
+            };
+            if (matches) {
+                offer(subscriber, message);
+            }
+        }
+    }
+
+    // Disconnects subscribers whose current write has run past the send timeout. The sender is interrupted
+    // to cut the write short where the container allows it; otherwise the write ends at the connector's
+    // own timeout, and until then only that shard's other subscribers wait.
+    @Scheduled(initialDelayString = "${streams.work-queue.send-check-ms:1000}",
+               fixedDelayString = "${streams.work-queue.send-check-ms:1000}")
+    public void abortStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedAt;
+            if (started != 0L && now - started > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                timedOut.incrementAndGet();
+                log.debug("Disconnecting work queue subscriber stuck in a write ({} scope)", subscriber.scope);
+                Thread sender = subscriber.sender;
+                close(subscriber, new TimeoutException("Work queue send timed out"));
+                if (sender != null && subscriber.sendStartedAt == started) {
+                    sender.interrupt();
+                }
+            }
+        }
+    }
+
+    // Keeps proxies from closing idle streams, and finds clients that went away without closing
+    @Scheduled(initialDelayString = "${streams.work-queue.heartbeat-ms:15000}",
+               fixedDelayString = "${streams.work-queue.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> message = SseEmitter.event().comment("heartbeat").build();
+        subscribers.forEach(subscriber -> offer(subscriber, message));
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Long> byScope = new LinkedHashMap<>();
+        for (Scope scope : Scope.values()) {
+            byScope.put(scope.name(), subscribers.stream().filter(s -> s.scope == scope).count());
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("subscribers", subscribers.size());
+        status.put("byScope", byScope);
+        status.put("droppedSlowConsumers", dropped.get());
+        status.put("timedOutSends", timedOut.get());
+        status.put("senderShards", shards.length);
+        status.put("activeSenders", Arrays.stream(shards).mapToInt(ThreadPoolExecutor::getActiveCount).sum());
+        status.put("pendingSends", Arrays.stream(shards).mapToInt(shard -> shard.getQueue().size()).sum());
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdownNow();
+        }
+        closer.shutdownNow();
+    }
+
+    // Private helper methods
+
+    // Never blocks the publishing thread: a full buffer disconnects the subscriber instead
+    private void offer(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> message) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(message)) {
+            dropped.incrementAndGet();
+            log.debug("Disconnecting slow work queue subscriber ({} scope)", subscriber.scope);
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                subscriber.shard.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                close(subscriber);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        // An interrupt aimed at a write that finished just in time must not carry over to this one
+        Thread.interrupted();
+        while (true) {
+            Set<ResponseBodyEmitter.DataWithMediaType> message;
+            while (!subscriber.closed.get() && (message = subscriber.buffer.poll()) != null) {
+                subscriber.sender = Thread.currentThread();
+                subscriber.sendStartedAt = System.nanoTime();
+                try {
+                    subscriber.emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    close(subscriber);
+                    return;
+                } finally {
+                    subscriber.sendStartedAt = 0L;
+                    subscriber.sender = null;
+                }
+            }
+            if (subscriber.closed.get()) {
+                return;
+            }
+            subscriber.draining.set(false);
+            // An offer that arrived after the last poll saw 'draining' still set and left the work to us
+            if (subscriber.buffer.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        close(subscriber, null);
+    }
+
+    // send() and complete() share the emitter's lock, so completing it here would block the caller behind
+    // a stuck write, and queueing it on the shard would hold every close on that shard behind the write.
+    // On the closer only this subscriber's completion waits, until its write returns or is cut short.
+    private void close(Subscriber subscriber, Throwable error) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscribers.remove(subscriber);
+            subscriber.buffer.clear();
+            try {
+                closer.execute(() -> complete(subscriber, error));
+            } catch (RejectedExecutionException e) {
+                complete(subscriber, error);
+            }
+        }
+    }
+
+    private static void complete(Subscriber subscriber, Throwable error) {
+        try {
+            if (error != null) {
+                subscriber.emitter.completeWithError(error);
+            } else {
+                subscriber.emitter.complete();
+            }
+        } catch (IllegalStateException e) {
+            // Already completed by the container
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Scope scope;
+        private final Long officerId;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer;
+        private final ThreadPoolExecutor shard;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() when the write in progress started, 0 between writes
+        private volatile long sendStartedAt;
+        private volatile Thread sender;
+
+        private Subscriber(SseEmitter emitter, Scope scope, Long officerId, int bufferSize, ThreadPoolExecutor shard) {
+            this.emitter = emitter;
+            this.scope = scope;
+            this.officerId = officerId;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+            this.shard = shard;
+        }
+    }
+}
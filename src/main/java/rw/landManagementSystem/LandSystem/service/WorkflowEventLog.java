@@ -0,0 +1,109 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import rw.landManagementSystem.LandSystem.model.WorkflowAggregate;
+import rw.landManagementSystem.LandSystem.model.WorkflowEvent;
+import rw.landManagementSystem.LandSystem.repository.WorkflowEventRepository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Appends to the workflow event log inside the caller's transaction, so an entry exists exactly when
+// the change it records commits. Appenders do not coordinate: sequences may commit out of order, and
+// each entry records its transaction id so readers can tell which part of the log is settled.
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class WorkflowEventLog {
+
+    static final String SYSTEM_ACTOR = "system";
+    private static final int BATCH_SIZE = 500;
+
+    private final WorkflowEventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public WorkflowEventLog(WorkflowEventRepository eventRepository, JdbcTemplate jdbcTemplate) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public WorkflowEvent append(WorkflowAggregate aggregateType, Long aggregateId, Long landParcelId,
+                                String eventType, Object fromStatus, Object toStatus) {
+        return append(aggregateType, aggregateId, landParcelId, eventType, fromStatus, toStatus, null, null);
+    }
+
+    public WorkflowEvent append(WorkflowAggregate aggregateType, Long aggregateId, Long landParcelId,
+                                String eventType, Object fromStatus, Object toStatus,
+                                Long fromAssigneeId, Long toAssigneeId) {
+        return append(entry(aggregateType, aggregateId, landParcelId, eventType, fromStatus, toStatus,
+                fromAssigneeId, toAssigneeId));
+    }
+
+    public WorkflowEvent append(WorkflowEvent event) {
+        event.setActor(currentActor());
+        return eventRepository.save(event);
+    }
+
+    // Bulk operations: one JDBC batch instead of an IDENTITY insert round trip per entry
+    public void appendAll(List<WorkflowEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        String actor = currentActor();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("INSERT INTO workflow_events (aggregate_type, aggregate_id, land_parcel_id, " +
+                "event_type, from_status, to_status, from_assignee_id, to_assignee_id, actor, occurred_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", events, BATCH_SIZE, (statement, event) -> {
+                    statement.setString(1, event.getAggregateType().name());
+                    statement.setObject(2, event.getAggregateId());
+                    statement.setObject(3, event.getLandParcelId(), Types.BIGINT);
+                    statement.setString(4, event.getEventType());
+                    statement.setString(5, event.getFromStatus());
+                    statement.setString(6, event.getToStatus());
+                    statement.setObject(7, event.getFromAssigneeId(), Types.BIGINT);
+                    statement.setObject(8, event.getToAssigneeId(), Types.BIGINT);
+                    statement.setString(9, actor);
+                    statement.setTimestamp(10, now);
+                });
+    }
+
+    // An unsaved entry, for append(WorkflowEvent) and appendAll
+    public static WorkflowEvent entry(WorkflowAggregate aggregateType, Long aggregateId, Long landParcelId,
+                                      String eventType, Object fromStatus, Object toStatus,
+                                      Long fromAssigneeId, Long toAssigneeId) {
+        WorkflowEvent event = new WorkflowEvent(aggregateType, aggregateId, landParcelId, eventType);
+        event.setFromStatus(fromStatus != null ? fromStatus.toString() : null);
+        event.setToStatus(toStatus != null ? toStatus.toString() : null);
+        event.setFromAssigneeId(fromAssigneeId);
+        event.setToAssigneeId(toAssigneeId);
+        return event;
+    }
+
+    // Expiry scanner batches: one INSERT ... SELECT for the rows the batch's bulk UPDATE expired
+    public int appendExpiries(WorkflowAggregate aggregateType, Collection<Long> ids, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return switch (aggregateType) {
+            case DOCUMENT -> eventRepository.appendDocumentExpiries(ids, SYSTEM_ACTOR, now);
+            case OWNERSHIP -> eventRepository.appendOwnershipExpiries(ids, SYSTEM_ACTOR, now);
+            default -> throw new RuntimeException("Expiry is not logged for " + aggregateType);
+        };
+    }
+
+    // Private helper methods
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication.getName() == null) {
+            return SYSTEM_ACTOR;
+        }
+        return authentication.getName();
+    }
+}
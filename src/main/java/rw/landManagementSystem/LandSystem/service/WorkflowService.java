@@ -0,0 +1,95 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import rw.landManagementSystem.LandSystem.dto.CursorPage;
+import rw.landManagementSystem.LandSystem.model.WorkflowAggregate;
+import rw.landManagementSystem.LandSystem.model.WorkflowEvent;
+import rw.landManagementSystem.LandSystem.projection.DailyTransitionsProjection;
+import rw.landManagementSystem.LandSystem.projection.RequestQueueProjection;
+import rw.landManagementSystem.LandSystem.projection.StatusCountsProjection;
+import rw.landManagementSystem.LandSystem.projection.WorkflowProjectionRunner;
+import rw.landManagementSystem.LandSystem.repository.WorkflowEventRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Reads over the workflow event log and the projections built from it. Cursors are log sequence
+// numbers, so a client can follow the log, or one parcel's timeline, from where it left off.
+@Service
+@Transactional(readOnly = true)
+public class WorkflowService {
+
+    private static final int MAX_TRANSITION_DAYS = 366;
+
+    private final WorkflowEventRepository eventRepository;
+    private final WorkflowProjectionRunner projectionRunner;
+    private final StatusCountsProjection statusCounts;
+    private final DailyTransitionsProjection dailyTransitions;
+    private final RequestQueueProjection requestQueues;
+
+    public WorkflowService(WorkflowEventRepository eventRepository, WorkflowProjectionRunner projectionRunner,
+                           StatusCountsProjection statusCounts, DailyTransitionsProjection dailyTransitions,
+                           RequestQueueProjection requestQueues) {
+        this.eventRepository = eventRepository;
+        this.projectionRunner = projectionRunner;
+        this.statusCounts = statusCounts;
+        this.dailyTransitions = dailyTransitions;
+        this.requestQueues = requestQueues;
+    }
+
+    // Event log reads
+    public CursorPage<WorkflowEvent> getEvents(String cursor, Integer size) {
+        return CursorPage.of(eventRepository.findBySequenceGreaterThanOrderBySequenceAsc(
+                CursorPage.decodeCursor(cursor), firstPage(size)), WorkflowEvent::getSequence);
+    }
+
+    public CursorPage<WorkflowEvent> getAggregateHistory(WorkflowAggregate aggregateType, Long aggregateId,
+                                                         String cursor, Integer size) {
+        return CursorPage.of(eventRepository.findByAggregateTypeAndAggregateIdAndSequenceGreaterThanOrderBySequenceAsc(
+                aggregateType, aggregateId, CursorPage.decodeCursor(cursor), firstPage(size)),
+                WorkflowEvent::getSequence);
+    }
+
+    public CursorPage<WorkflowEvent> getLandParcelTimeline(Long landParcelId, String cursor, Integer size) {
+        return CursorPage.of(eventRepository.findByLandParcelIdAndSequenceGreaterThanOrderBySequenceAsc(
+                landParcelId, CursorPage.decodeCursor(cursor), firstPage(size)), WorkflowEvent::getSequence);
+    }
+
+    // Projection reads
+    public Map<String, Map<String, Long>> getStatusCounts() {
+        return statusCounts.getCounts();
+    }
+
+    public List<Map<String, Object>> getDailyTransitions(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isAfter(end) || start.plusDays(MAX_TRANSITION_DAYS).isBefore(end)) {
+            throw new RuntimeException("Date range must be ordered and at most " + MAX_TRANSITION_DAYS + " days");
+        }
+        return dailyTransitions.getTransitions(start, end);
+    }
+
+    public List<Map<String, Object>> getRequestQueues(List<String> statuses) {
+        return requestQueues.getQueues(statuses != null ? statuses : List.of());
+    }
+
+    // Projection management
+    public Map<String, Object> getProjectionStatus() {
+        return projectionRunner.getStatus();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildProjection(String name) {
+        projectionRunner.rebuild(name);
+    }
+
+    // Private helper methods
+    private PageRequest firstPage(Integer size) {
+        // The sequence predicate does the skipping, so every query reads page 0
+        return PageRequest.of(0, CursorPage.clampPageSize(size));
+    }
+}
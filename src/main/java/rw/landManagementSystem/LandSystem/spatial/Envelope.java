@@ -0,0 +1,98 @@
+package rw.landManagementSystem.LandSystem.spatial;
+
+// Axis-aligned bounding box in WGS84 degrees
+public final class Envelope {
+
+    private static final double METERS_PER_DEGREE_LAT = 110_574.0;
+    private static final double METERS_PER_DEGREE_LON = 111_320.0;
+
+    private final double minLat;
+    private final double minLon;
+    private final double maxLat;
+    private final double maxLon;
+
+    public Envelope(double minLat, double minLon, double maxLat, double maxLon) {
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("Envelope minimum must not exceed maximum");
+        }
+        this.minLat = minLat;
+        this.minLon = minLon;
+        this.maxLat = maxLat;
+        this.maxLon = maxLon;
+    }
+
+    public static Envelope ofPoint(double lat, double lon) {
+        return new Envelope(lat, lon, lat, lon);
+    }
+
+    // Parses the usual "minLon,minLat,maxLon,maxLat" (west,south,east,north) bbox parameter
+    public static Envelope parseBbox(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new RuntimeException("bbox must be minLon,minLat,maxLon,maxLat");
+        }
+        try {
+            double minLon = Double.parseDouble(parts[0].trim());
+            double minLat = Double.parseDouble(parts[1].trim());
+            double maxLon = Double.parseDouble(parts[2].trim());
+            double maxLat = Double.parseDouble(parts[3].trim());
+            return new Envelope(minLat, minLon, maxLat, maxLon);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid bbox: " + bbox);
+        }
+    }
+
+    public boolean intersects(double otherMinLat, double otherMinLon, double otherMaxLat, double otherMaxLon) {
+        return otherMinLat <= maxLat && otherMaxLat >= minLat
+                && otherMinLon <= maxLon && otherMaxLon >= minLon;
+    }
+
+    public boolean intersects(Envelope other) {
+        return intersects(other.minLat, other.minLon, other.maxLat, other.maxLon);
+    }
+
+    // Approximate ground distance in meters from a point to the nearest edge of a box
+    // (equirectangular projection; accurate enough for ranking at parcel scale)
+    public static double distanceMeters(double lat, double lon,
+                                        double minLat, double minLon, double maxLat, double maxLon) {
+        double dLat = lat < minLat ? minLat - lat : (lat > maxLat ? lat - maxLat : 0);
+        double dLon = lon < minLon ? minLon - lon : (lon > maxLon ? lon - maxLon : 0);
+        double y = dLat * METERS_PER_DEGREE_LAT;
+        double x = dLon * METERS_PER_DEGREE_LON * Math.cos(Math.toRadians(lat));
+        return Math.sqrt(x * x + y * y);
+    }
+
+    public double distanceMeters(double lat, double lon) {
+        return distanceMeters(lat, lon, minLat, minLon, maxLat, maxLon);
+    }
+
+    // Getters
+    public double getMinLat() {
+        return minLat;
+    }
+
+    public double getMinLon() {
+        return minLon;
+    }
+
+    public double getMaxLat() {
+        return maxLat;
+    }
+
+    public double getMaxLon() {
+        return maxLon;
+    }
+
+    public double getCenterLat() {
+        return (minLat + maxLat) / 2;
+    }
+
+    public double getCenterLon() {
+        return (minLon + maxLon) / 2;
+    }
+
+    @Override
+    public String toString() {
+        return "Envelope{" + minLon + "," + minLat + "," + maxLon + "," + maxLat + '}';
+    }
+}
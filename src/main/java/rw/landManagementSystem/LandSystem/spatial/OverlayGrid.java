@@ -0,0 +1,156 @@
+package rw.landManagementSystem.LandSystem.spatial;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+// Boxes changed since the R-tree was packed, bucketed into fixed-size grid cells so a query only looks
+// at the cells it covers instead of the whole overlay. Boxes spanning too many cells are kept aside
+// and checked on every query. Writers synchronize externally; readers don't, and re-check each box
+// against the query because a cell can briefly list an id whose box has just moved.
+final class OverlayGrid {
+
+    private static final int MAX_CELLS_PER_BOX = 64;
+
+    private final double cellDegrees;
+    private final Map<Long, Envelope> boxes = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final Set<Long> wide = ConcurrentHashMap.newKeySet();
+
+    OverlayGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    void put(long id, Envelope box) {
+        Envelope previous = boxes.put(id, box);
+        if (previous != null) {
+            unindex(id, previous);
+        }
+        index(id, box);
+    }
+
+    void remove(long id) {
+        Envelope previous = boxes.remove(id);
+        if (previous != null) {
+            unindex(id, previous);
+        }
+    }
+
+    // Removes the entry only if it still holds this box
+    void remove(long id, Envelope box) {
+        if (boxes.remove(id, box)) {
+            unindex(id, box);
+        }
+    }
+
+    boolean contains(long id) {
+        return boxes.containsKey(id);
+    }
+
+    int size() {
+        return boxes.size();
+    }
+
+    Map<Long, Envelope> snapshot() {
+        return new HashMap<>(boxes);
+    }
+
+    void forEach(BiConsumer<Long, Envelope> action) {
+        boxes.forEach(action);
+    }
+
+    // Visits ids whose box intersects the query; stops early when the visitor returns false
+    void search(Envelope query, LongPredicate visitor) {
+        if (cellCount(query) > boxes.size()) {
+            // Fewer boxes than cells to look at: checking each box is cheaper
+            for (Map.Entry<Long, Envelope> entry : boxes.entrySet()) {
+                if (query.intersects(entry.getValue()) && !visitor.test(entry.getKey())) {
+                    return;
+                }
+            }
+            return;
+        }
+        Set<Long> seen = new HashSet<>();
+        for (Long id : wide) {
+            if (!visitIfHit(id, query, seen, visitor)) {
+                return;
+            }
+        }
+        long minRow = row(query.getMinLat()), maxRow = row(query.getMaxLat());
+        long minColumn = column(query.getMinLon()), maxColumn = column(query.getMaxLon());
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long column = minColumn; column <= maxColumn; column++) {
+                Set<Long> cell = cells.get(key(row, column));
+                if (cell == null) {
+                    continue;
+                }
+                for (Long id : cell) {
+                    if (!visitIfHit(id, query, seen, visitor)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    // Private helper methods
+    private boolean visitIfHit(Long id, Envelope query, Set<Long> seen, LongPredicate visitor) {
+        Envelope box = boxes.get(id);
+        if (box == null || !query.intersects(box) || !seen.add(id)) {
+            return true;
+        }
+        return visitor.test(id);
+    }
+
+    private void index(long id, Envelope box) {
+        if (cellCount(box) > MAX_CELLS_PER_BOX) {
+            wide.add(id);
+            return;
+        }
+        forEachCell(box, key -> cells.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id));
+    }
+
+    private void unindex(long id, Envelope box) {
+        if (cellCount(box) > MAX_CELLS_PER_BOX) {
+            wide.remove(id);
+            return;
+        }
+        forEachCell(box, key -> cells.computeIfPresent(key, (k, cell) -> {
+            cell.remove(id);
+            return cell.isEmpty() ? null : cell;
+        }));
+    }
+
+    private void forEachCell(Envelope box, LongConsumer action) {
+        long maxRow = row(box.getMaxLat());
+        long maxColumn = column(box.getMaxLon());
+        for (long row = row(box.getMinLat()); row <= maxRow; row++) {
+            for (long column = column(box.getMinLon()); column <= maxColumn; column++) {
+                action.accept(key(row, column));
+            }
+        }
+    }
+
+    private long cellCount(Envelope box) {
+        long rows = row(box.getMaxLat()) - row(box.getMinLat()) + 1;
+        long columns = column(box.getMaxLon()) - column(box.getMinLon()) + 1;
+        return rows * columns;
+    }
+
+    private long row(double lat) {
+        return (long) Math.floor(lat / cellDegrees);
+    }
+
+    private long column(double lon) {
+        return (long) Math.floor(lon / cellDegrees);
+    }
+
+    private static long key(long row, long column) {
+        return (row << 32) ^ (column & 0xFFFFFFFFL);
+    }
+}
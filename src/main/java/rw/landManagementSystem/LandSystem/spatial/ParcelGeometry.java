@@ -0,0 +1,182 @@
+package rw.landManagementSystem.LandSystem.spatial;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import rw.landManagementSystem.LandSystem.model.LandParcel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Point or polygon parsed from LandParcel.coordinates. Accepted forms:
+//   "lat,lon"                      single point
+//   "lat,lon;lat,lon;lat,lon"      polygon ring
+//   "POINT (lon lat)" / "POLYGON ((lon lat, lon lat, ...))"   WKT
+//   {"type":"Point"|"Polygon","coordinates":[...]}           GeoJSON
+public final class ParcelGeometry {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    private ParcelGeometry(List<double[]> points) {
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("Geometry has no points");
+        }
+        latitudes = new double[points.size()];
+        longitudes = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            double lat = points.get(i)[0];
+            double lon = points.get(i)[1];
+            if (Double.isNaN(lat) || Double.isNaN(lon) || lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+                throw new IllegalArgumentException("Coordinate out of range: " + lat + "," + lon);
+            }
+            latitudes[i] = lat;
+            longitudes[i] = lon;
+        }
+    }
+
+    public static ParcelGeometry parse(String coordinates) {
+        if (coordinates == null || coordinates.isBlank()) {
+            throw new IllegalArgumentException("Coordinates are empty");
+        }
+        String text = coordinates.trim();
+        try {
+            if (text.startsWith("{")) {
+                return new ParcelGeometry(parseGeoJson(JSON.readTree(text)));
+            }
+            String upper = text.toUpperCase(Locale.ROOT);
+            if (upper.startsWith("POINT") || upper.startsWith("POLYGON")) {
+                return new ParcelGeometry(parseWkt(text));
+            }
+            return new ParcelGeometry(parseLatLonList(text));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unreadable coordinates: " + e.getMessage(), e);
+        }
+    }
+
+    // Recomputes the derived bounding box and centroid columns from the parcel's coordinates
+    public static void applyTo(LandParcel parcel) {
+        if (parcel.getCoordinates() == null || parcel.getCoordinates().isBlank()) {
+            parcel.setMinLatitude(null);
+            parcel.setMinLongitude(null);
+            parcel.setMaxLatitude(null);
+            parcel.setMaxLongitude(null);
+            parcel.setCentroidLatitude(null);
+            parcel.setCentroidLongitude(null);
+            return;
+        }
+        ParcelGeometry geometry = parse(parcel.getCoordinates());
+        Envelope envelope = geometry.getEnvelope();
+        double[] centroid = geometry.getCentroid();
+        parcel.setMinLatitude(envelope.getMinLat());
+        parcel.setMinLongitude(envelope.getMinLon());
+        parcel.setMaxLatitude(envelope.getMaxLat());
+        parcel.setMaxLongitude(envelope.getMaxLon());
+        parcel.setCentroidLatitude(centroid[0]);
+        parcel.setCentroidLongitude(centroid[1]);
+    }
+
+    // Bounding box stored on the parcel, or null when it has no usable coordinates
+    public static Envelope envelopeOf(LandParcel parcel) {
+        if (parcel.getMinLatitude() == null || parcel.getMinLongitude() == null
+                || parcel.getMaxLatitude() == null || parcel.getMaxLongitude() == null) {
+            return null;
+        }
+        return new Envelope(parcel.getMinLatitude(), parcel.getMinLongitude(),
+                parcel.getMaxLatitude(), parcel.getMaxLongitude());
+    }
+
+    public Envelope getEnvelope() {
+        double minLat = latitudes[0], maxLat = latitudes[0];
+        double minLon = longitudes[0], maxLon = longitudes[0];
+        for (int i = 1; i < latitudes.length; i++) {
+            minLat = Math.min(minLat, latitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+            minLon = Math.min(minLon, longitudes[i]);
+            maxLon = Math.max(maxLon, longitudes[i]);
+        }
+        return new Envelope(minLat, minLon, maxLat, maxLon);
+    }
+
+    // Vertex average; close enough to the area centroid for small, convex-ish parcels
+    public double[] getCentroid() {
+        int count = latitudes.length;
+        if (count > 1 && latitudes[0] == latitudes[count - 1] && longitudes[0] == longitudes[count - 1]) {
+            count--; // closed ring repeats its first vertex
+        }
+        double lat = 0, lon = 0;
+        for (int i = 0; i < count; i++) {
+            lat += latitudes[i];
+            lon += longitudes[i];
+        }
+        return new double[] { lat / count, lon / count };
+    }
+
+    public boolean isPoint() {
+        return latitudes.length == 1;
+    }
+
+    // Private helper methods
+    private static List<double[]> parseLatLonList(String text) {
+        List<double[]> points = new ArrayList<>();
+        for (String pair : text.split(";")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            String[] parts = pair.trim().split("\\s*,\\s*");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected lat,lon but got: " + pair);
+            }
+            points.add(new double[] { Double.parseDouble(parts[0]), Double.parseDouble(parts[1]) });
+        }
+        return points;
+    }
+
+    private static List<double[]> parseWkt(String text) {
+        int open = text.indexOf('(');
+        int close = text.lastIndexOf(')');
+        if (open < 0 || close < open) {
+            throw new IllegalArgumentException("Malformed WKT: " + text);
+        }
+        // Only the outer ring matters for the bounding box
+        String body = text.substring(open + 1, close);
+        String outer = body.split("\\)\\s*,\\s*\\(")[0].replace("(", "").replace(")", "");
+        List<double[]> points = new ArrayList<>();
+        for (String vertex : outer.split(",")) {
+            String[] parts = vertex.trim().split("\\s+");
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Malformed WKT vertex: " + vertex);
+            }
+            // WKT is x y, i.e. lon lat
+            points.add(new double[] { Double.parseDouble(parts[1]), Double.parseDouble(parts[0]) });
+        }
+        return points;
+    }
+
+    private static List<double[]> parseGeoJson(JsonNode node) {
+        JsonNode geometry = node.has("geometry") ? node.get("geometry") : node;
+        String type = geometry.path("type").asText();
+        JsonNode coordinates = geometry.path("coordinates");
+        List<double[]> points = new ArrayList<>();
+        switch (type) {
+            case "Point" -> points.add(geoJsonPosition(coordinates));
+            case "Polygon" -> coordinates.path(0).forEach(position -> points.add(geoJsonPosition(position)));
+            case "MultiPolygon" -> coordinates.forEach(polygon ->
+                    polygon.path(0).forEach(position -> points.add(geoJsonPosition(position))));
+            default -> throw new IllegalArgumentException("Unsupported GeoJSON geometry: " + type);
+        }
+        return points;
+    }
+
+    private static double[] geoJsonPosition(JsonNode position) {
+        if (!position.isArray() || position.size() < 2) {
+            throw new IllegalArgumentException("Malformed GeoJSON position: " + position);
+        }
+        // GeoJSON positions are [lon, lat]
+        return new double[] { position.get(1).asDouble(), position.get(0).asDouble() };
+    }
+}
@@ -0,0 +1,209 @@
+package rw.landManagementSystem.LandSystem.spatial;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.model.LandParcel;
+import rw.landManagementSystem.LandSystem.repository.LandParcelRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// In-memory spatial index over parcel bounding boxes. Reads go to an immutable STR R-tree plus a
+// small overlay of parcels changed since the tree was packed; once the overlay grows past the
+// rebuild threshold the tree is re-packed in the background and the overlay folded in. The overlay
+// is bucketed on a grid so a query only checks the changed parcels near it.
+@Component
+public class ParcelSpatialIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ParcelSpatialIndex.class);
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final double OVERLAY_CELL_DEGREES = 0.01; // about 1.1 km
+
+    @Value("${spatial.index.rebuild-threshold:5000}")
+    private int rebuildThreshold;
+
+    private final LandParcelRepository landParcelRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "parcel-spatial-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private volatile StrRTree tree = StrRTree.empty();
+    private final OverlayGrid upserted = new OverlayGrid(OVERLAY_CELL_DEGREES);
+    private final Set<Long> removed = ConcurrentHashMap.newKeySet();
+
+    public ParcelSpatialIndex(LandParcelRepository landParcelRepository, PlatformTransactionManager transactionManager) {
+        this.landParcelRepository = landParcelRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        backfillGeometry();
+        long start = System.currentTimeMillis();
+        List<Object[]> rows = transactionTemplate.execute(status -> landParcelRepository.findAllBoundingBoxes());
+        StrRTree.Builder builder = new StrRTree.Builder(rows.size());
+        for (Object[] row : rows) {
+            builder.add((Long) row[0], (Double) row[1], (Double) row[2], (Double) row[3], (Double) row[4]);
+        }
+        tree = builder.build();
+        log.info("Spatial index loaded {} parcels in {} ms", tree.size(), System.currentTimeMillis() - start);
+    }
+
+    // Index maintenance
+    public void upsert(Long id, Envelope envelope) {
+        if (envelope == null) {
+            remove(id);
+            return;
+        }
+        synchronized (this) {
+            upserted.put(id, envelope);
+            removed.remove(id);
+        }
+        maybeScheduleRebuild();
+    }
+
+    public void remove(Long id) {
+        synchronized (this) {
+            upserted.remove(id);
+            removed.add(id);
+        }
+        maybeScheduleRebuild();
+    }
+
+    // Queries
+    public List<Long> search(Envelope query, int limit) {
+        List<Long> result = new ArrayList<>();
+        tree.search(query, id -> {
+            if (!isOverridden(id)) {
+                result.add(id);
+            }
+            return result.size() < limit;
+        });
+        if (result.size() < limit) {
+            upserted.search(query, id -> {
+                result.add(id);
+                return result.size() < limit;
+            });
+        }
+        return result;
+    }
+
+    public List<StrRTree.Neighbor> nearest(double lat, double lon, int k) {
+        List<StrRTree.Neighbor> neighbors = new ArrayList<>(tree.nearest(lat, lon, k, id -> !isOverridden(id)));
+        upserted.forEach((id, envelope) -> neighbors.add(new StrRTree.Neighbor(id, envelope.distanceMeters(lat, lon))));
+        neighbors.sort(Comparator.comparingDouble(StrRTree.Neighbor::getDistanceMeters));
+        return neighbors.size() > k ? new ArrayList<>(neighbors.subList(0, k)) : neighbors;
+    }
+
+    public int size() {
+        return tree.size() + upserted.size();
+    }
+
+    // Private helper methods
+    private boolean isOverridden(long id) {
+        return upserted.contains(id) || removed.contains(id);
+    }
+
+    private void maybeScheduleRebuild() {
+        if (upserted.size() + removed.size() >= rebuildThreshold && rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Spatial index rebuild failed", e);
+                } finally {
+                    rebuildScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    private void rebuild() {
+        StrRTree base;
+        Map<Long, Envelope> upsertedSnapshot;
+        Set<Long> removedSnapshot;
+        synchronized (this) {
+            base = tree;
+            upsertedSnapshot = upserted.snapshot();
+            removedSnapshot = new HashSet<>(removed);
+        }
+
+        StrRTree.Builder builder = new StrRTree.Builder(base.size() + upsertedSnapshot.size());
+        base.forEach((id, minLat, minLon, maxLat, maxLon) -> {
+            if (!upsertedSnapshot.containsKey(id) && !removedSnapshot.contains(id)) {
+                builder.add(id, minLat, minLon, maxLat, maxLon);
+            }
+        });
+        upsertedSnapshot.forEach(builder::add);
+        StrRTree rebuilt = builder.build();
+
+        synchronized (this) {
+            tree = rebuilt;
+            // Keep overlay entries that changed again while the tree was being packed
+            upsertedSnapshot.forEach(upserted::remove);
+            removed.removeAll(removedSnapshot);
+        }
+    }
+
+    // Parses coordinates saved before bounding boxes existed, in keyset-ordered batches
+    private void backfillGeometry() {
+        long afterId = 0;
+        int parsed = 0;
+        int unreadable = 0;
+        while (true) {
+            final long cursor = afterId;
+            BackfillBatch batch = transactionTemplate.execute(status -> {
+                Slice<LandParcel> slice = landParcelRepository.findUnparsedCoordinatesAfter(
+                        cursor, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                BackfillBatch result = new BackfillBatch();
+                for (LandParcel parcel : slice.getContent()) {
+                    result.lastId = parcel.getId();
+                    try {
+                        ParcelGeometry.applyTo(parcel);
+                        result.parsed++;
+                    } catch (IllegalArgumentException e) {
+                        result.unreadable++;
+                    }
+                }
+                result.hasNext = slice.hasNext();
+                return result;
+            });
+            parsed += batch.parsed;
+            unreadable += batch.unreadable;
+            if (!batch.hasNext || batch.lastId == null) {
+                break;
+            }
+            afterId = batch.lastId;
+        }
+        if (parsed > 0 || unreadable > 0) {
+            log.info("Parsed coordinates for {} parcels; {} had unreadable coordinates", parsed, unreadable);
+        }
+    }
+
+    private static final class BackfillBatch {
+        private Long lastId;
+        private int parsed;
+        private int unreadable;
+        private boolean hasNext;
+    }
+}
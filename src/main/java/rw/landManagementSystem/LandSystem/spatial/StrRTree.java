@@ -0,0 +1,273 @@
+package rw.landManagementSystem.LandSystem.spatial;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+
+// Immutable R-tree bulk-loaded with Sort-Tile-Recursive packing. Entries are (id, box) pairs
+// kept in parallel primitive arrays so a few million parcels stay compact on the heap.
+public final class StrRTree {
+
+    private static final int NODE_CAPACITY = 16;
+
+    private final long[] ids;
+    private final double[] minLats;
+    private final double[] minLons;
+    private final double[] maxLats;
+    private final double[] maxLons;
+    private final Node root;
+
+    private StrRTree(long[] ids, double[] minLats, double[] minLons, double[] maxLats, double[] maxLons) {
+        this.ids = ids;
+        this.minLats = minLats;
+        this.minLons = minLons;
+        this.maxLats = maxLats;
+        this.maxLons = maxLons;
+        this.root = ids.length == 0 ? null : pack();
+    }
+
+    public static StrRTree empty() {
+        return new Builder(0).build();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // Visits ids whose box intersects the query; stops early when the visitor returns false
+    public void search(Envelope query, LongPredicate visitor) {
+        if (root == null) {
+            return;
+        }
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (node.entries != null) {
+                for (int entry : node.entries) {
+                    if (query.intersects(minLats[entry], minLons[entry], maxLats[entry], maxLons[entry])
+                            && !visitor.test(ids[entry])) {
+                        return;
+                    }
+                }
+            } else {
+                for (Node child : node.children) {
+                    if (query.intersects(child.minLat, child.minLon, child.maxLat, child.maxLon)) {
+                        stack.push(child);
+                    }
+                }
+            }
+        }
+    }
+
+    // Best-first k-nearest search; entries rejected by the filter are skipped, not counted
+    public List<Neighbor> nearest(double lat, double lon, int k, LongPredicate filter) {
+        List<Neighbor> result = new ArrayList<>(k);
+        if (root == null || k <= 0) {
+            return result;
+        }
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingDouble(c -> c.distance));
+        queue.add(new Candidate(root.distanceTo(lat, lon), root, -1));
+        while (!queue.isEmpty() && result.size() < k) {
+            Candidate candidate = queue.poll();
+            if (candidate.node == null) {
+                result.add(new Neighbor(ids[candidate.entry], candidate.distance));
+            } else if (candidate.node.entries != null) {
+                for (int entry : candidate.node.entries) {
+                    if (filter.test(ids[entry])) {
+                        double distance = Envelope.distanceMeters(lat, lon,
+                                minLats[entry], minLons[entry], maxLats[entry], maxLons[entry]);
+                        queue.add(new Candidate(distance, null, entry));
+                    }
+                }
+            } else {
+                for (Node child : candidate.node.children) {
+                    queue.add(new Candidate(child.distanceTo(lat, lon), child, -1));
+                }
+            }
+        }
+        return result;
+    }
+
+    public void forEach(EntryVisitor visitor) {
+        for (int i = 0; i < ids.length; i++) {
+            visitor.visit(ids[i], minLats[i], minLons[i], maxLats[i], maxLons[i]);
+        }
+    }
+
+    // Private helper methods
+    private Node pack() {
+        List<Node> level = new ArrayList<>();
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        for (List<Integer> group : tile(Arrays.asList(order),
+                i -> (minLons[i] + maxLons[i]) / 2, i -> (minLats[i] + maxLats[i]) / 2)) {
+            int[] entries = group.stream().mapToInt(Integer::intValue).toArray();
+            level.add(Node.leaf(entries, minLats, minLons, maxLats, maxLons));
+        }
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>();
+            for (List<Node> group : tile(level,
+                    n -> (n.minLon + n.maxLon) / 2, n -> (n.minLat + n.maxLat) / 2)) {
+                parents.add(Node.branch(group.toArray(new Node[0])));
+            }
+            level = parents;
+        }
+        return level.get(0);
+    }
+
+    // STR: sort by x, cut into vertical slices, sort each slice by y, cut into node-sized runs
+    private static <T> List<List<T>> tile(List<T> items, ToDouble<T> x, ToDouble<T> y) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingDouble(x::apply));
+        int nodeCount = (int) Math.ceil(sorted.size() / (double) NODE_CAPACITY);
+        int sliceCount = (int) Math.ceil(Math.sqrt(nodeCount));
+        int sliceSize = sliceCount * NODE_CAPACITY;
+
+        List<List<T>> groups = new ArrayList<>(nodeCount);
+        for (int start = 0; start < sorted.size(); start += sliceSize) {
+            List<T> slice = new ArrayList<>(sorted.subList(start, Math.min(start + sliceSize, sorted.size())));
+            slice.sort(Comparator.comparingDouble(y::apply));
+            for (int from = 0; from < slice.size(); from += NODE_CAPACITY) {
+                groups.add(slice.subList(from, Math.min(from + NODE_CAPACITY, slice.size())));
+            }
+        }
+        return groups;
+    }
+
+    private interface ToDouble<T> {
+        double apply(T value);
+    }
+
+    public interface EntryVisitor {
+        void visit(long id, double minLat, double minLon, double maxLat, double maxLon);
+    }
+
+    public static final class Neighbor {
+        private final long id;
+        private final double distanceMeters;
+
+        public Neighbor(long id, double distanceMeters) {
+            this.id = id;
+            this.distanceMeters = distanceMeters;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getDistanceMeters() {
+            return distanceMeters;
+        }
+    }
+
+    private static final class Candidate {
+        private final double distance;
+        private final Node node;
+        private final int entry;
+
+        private Candidate(double distance, Node node, int entry) {
+            this.distance = distance;
+            this.node = node;
+            this.entry = entry;
+        }
+    }
+
+    private static final class Node {
+        private final double minLat;
+        private final double minLon;
+        private final double maxLat;
+        private final double maxLon;
+        private final Node[] children;
+        private final int[] entries;
+
+        private Node(double minLat, double minLon, double maxLat, double maxLon, Node[] children, int[] entries) {
+            this.minLat = minLat;
+            this.minLon = minLon;
+            this.maxLat = maxLat;
+            this.maxLon = maxLon;
+            this.children = children;
+            this.entries = entries;
+        }
+
+        private static Node leaf(int[] entries, double[] minLats, double[] minLons, double[] maxLats, double[] maxLons) {
+            double minLat = Double.MAX_VALUE, minLon = Double.MAX_VALUE;
+            double maxLat = -Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+            for (int entry : entries) {
+                minLat = Math.min(minLat, minLats[entry]);
+                minLon = Math.min(minLon, minLons[entry]);
+                maxLat = Math.max(maxLat, maxLats[entry]);
+                maxLon = Math.max(maxLon, maxLons[entry]);
+            }
+            return new Node(minLat, minLon, maxLat, maxLon, null, entries);
+        }
+
+        private static Node branch(Node[] children) {
+            double minLat = Double.MAX_VALUE, minLon = Double.MAX_VALUE;
+            double maxLat = -Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+            for (Node child : children) {
+                minLat = Math.min(minLat, child.minLat);
+                minLon = Math.min(minLon, child.minLon);
+                maxLat = Math.max(maxLat, child.maxLat);
+                maxLon = Math.max(maxLon, child.maxLon);
+            }
+            return new Node(minLat, minLon, maxLat, maxLon, children, null);
+        }
+
+        private double distanceTo(double lat, double lon) {
+            return Envelope.distanceMeters(lat, lon, minLat, minLon, maxLat, maxLon);
+        }
+    }
+
+    public static final class Builder {
+        private long[] ids;
+        private double[] minLats;
+        private double[] minLons;
+        private double[] maxLats;
+        private double[] maxLons;
+        private int size;
+
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            ids = new long[capacity];
+            minLats = new double[capacity];
+            minLons = new double[capacity];
+            maxLats = new double[capacity];
+            maxLons = new double[capacity];
+        }
+
+        public Builder add(long id, double minLat, double minLon, double maxLat, double maxLon) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                minLats = Arrays.copyOf(minLats, capacity);
+                minLons = Arrays.copyOf(minLons, capacity);
+                maxLats = Arrays.copyOf(maxLats, capacity);
+                maxLons = Arrays.copyOf(maxLons, capacity);
+            }
+            ids[size] = id;
+            minLats[size] = minLat;
+            minLons[size] = minLon;
+            maxLats[size] = maxLat;
+            maxLons[size] = maxLon;
+            size++;
+            return this;
+        }
+
+        public Builder add(long id, Envelope envelope) {
+            return add(id, envelope.getMinLat(), envelope.getMinLon(), envelope.getMaxLat(), envelope.getMaxLon());
+        }
+
+        public StrRTree build() {
+            return new StrRTree(Arrays.copyOf(ids, size), Arrays.copyOf(minLats, size),
+                    Arrays.copyOf(minLons, size), Arrays.copyOf(maxLats, size), Arrays.copyOf(maxLons, size));
+        }
+    }
+}
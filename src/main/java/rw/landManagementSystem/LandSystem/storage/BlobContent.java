@@ -0,0 +1,111 @@
+package rw.landManagementSystem.LandSystem.storage;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.InflaterInputStream;
+
+// The bytes of one blob, wherever they currently live: a loose file on hot storage, or a region of a
+// pack file (stored raw, or deflated when that saved space)
+public final class BlobContent {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final long offset;
+    private final long storedLength;
+    private final long size;
+    private final boolean compressed;
+    private final boolean loose;
+
+    private BlobContent(Path file, long offset, long storedLength, long size, boolean compressed, boolean loose) {
+        this.file = file;
+        this.offset = offset;
+        this.storedLength = storedLength;
+        this.size = size;
+        this.compressed = compressed;
+        this.loose = loose;
+    }
+
+    public static BlobContent loose(Path file, long size) {
+        return new BlobContent(file, 0, size, size, false, true);
+    }
+
+    public static BlobContent packed(Path packFile, long offset, long storedLength, long size, boolean compressed) {
+        return new BlobContent(packFile, offset, storedLength, size, compressed, false);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public boolean isLoose() {
+        return loose;
+    }
+
+    // True when the bytes sit uncompressed in 'file' from 'offset', so they can be sent with zero-copy I/O
+    public boolean isRaw() {
+        return !compressed;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public InputStream openStream() throws IOException {
+        InputStream region = new RegionInputStream(FileChannel.open(file, StandardOpenOption.READ), offset, storedLength);
+        return compressed ? new InflaterInputStream(new BufferedInputStream(region, BUFFER_SIZE)) : region;
+    }
+
+    // Reads [offset, offset + length) of a file with positional reads
+    private static final class RegionInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+
+        private RegionInputStream(FileChannel channel, long offset, long length) {
+            this.channel = channel;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int wanted = (int) Math.min(len, end - position);
+            int read = channel.read(ByteBuffer.wrap(buffer, off, wanted), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, end - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package rw.landManagementSystem.LandSystem.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.repository.BlobRepository;
+import rw.landManagementSystem.LandSystem.repository.PackEntryRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Deletes blobs no document references any more. A blob must have been unreferenced, and its file
+// untouched, for the whole grace period; an upload that deduplicates onto a blob touches the file (or,
+// for an archived blob, writes a new loose copy), which protects it from a collection running at the
+// same moment. Packed blobs lose their index entry; the dead bytes stay in the append-only pack.
+@Component
+public class BlobGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobGarbageCollector.class);
+    private static final int ORPHAN_BATCH_SIZE = 500;
+
+    @Value("${storage.blobs.gc-grace-minutes:60}")
+    private long graceMinutes;
+
+    private final BlobStore blobStore;
+    private final BlobRepository blobRepository;
+    private final PackEntryRepository packEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public BlobGarbageCollector(BlobStore blobStore, BlobRepository blobRepository,
+                                PackEntryRepository packEntryRepository, PlatformTransactionManager transactionManager) {
+        this.blobStore = blobStore;
+        this.blobRepository = blobRepository;
+        this.packEntryRepository = packEntryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${storage.blobs.gc-interval-ms:3600000}",
+               fixedDelayString = "${storage.blobs.gc-interval-ms:3600000}")
+    public void collect() {
+        Duration grace = Duration.ofMinutes(graceMinutes);
+        FileTime fileCutoff = FileTime.fromMillis(System.currentTimeMillis() - grace.toMillis());
+        LocalDateTime rowCutoff = LocalDateTime.now().minus(grace);
+
+        Integer repaired = transactionTemplate.execute(status -> blobRepository.recountReferences());
+        int deleted = 0;
+        for (String contentHash : blobRepository.findUnreferencedBefore(rowCutoff)) {
+            // The pack entry goes only if the row delete, which re-checks references, went through
+            Integer removed = transactionTemplate.execute(status -> {
+                int count = blobRepository.deleteIfUnreferenced(contentHash, rowCutoff);
+                if (count > 0) {
+                    packEntryRepository.deleteById(contentHash);
+                }
+                return count;
+            });
+            if (removed != null && removed > 0 && deleteFileIfOlderThan(contentHash, fileCutoff)) {
+                deleted++;
+            }
+        }
+        int orphans = sweepOrphanFiles(fileCutoff);
+        if (deleted > 0 || orphans > 0 || (repaired != null && repaired > 0)) {
+            log.info("Blob GC: {} unreferenced blobs deleted, {} orphan files removed, {} reference counts repaired",
+                    deleted, orphans, repaired);
+        }
+    }
+
+    // Private helper methods
+
+    // Files written by uploads whose transaction rolled back never get a blobs row
+    private int sweepOrphanFiles(FileTime cutoff) {
+        int removed = 0;
+        List<String> batch = new ArrayList<>(ORPHAN_BATCH_SIZE);
+        try (Stream<Path> files = Files.walk(blobStore.getRoot())) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (BlobStore.isContentHash(name) && Files.getLastModifiedTime(file).compareTo(cutoff) < 0) {
+                    batch.add(name);
+                    if (batch.size() == ORPHAN_BATCH_SIZE) {
+                        removed += removeOrphans(batch, cutoff);
+                        batch.clear();
+                    }
+                }
+            }
+            removed += removeOrphans(batch, cutoff);
+        } catch (IOException e) {
+            log.warn("Blob GC could not scan {}: {}", blobStore.getRoot(), e.getMessage());
+        }
+        return removed;
+    }
+
+    private int removeOrphans(List<String> candidates, FileTime cutoff) {
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        Set<String> known = new HashSet<>(blobRepository.findExistingHashes(candidates));
+        int removed = 0;
+        for (String contentHash : candidates) {
+            if (!known.contains(contentHash) && deleteFileIfOlderThan(contentHash, cutoff)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private boolean deleteFileIfOlderThan(String contentHash, FileTime cutoff) {
+        try {
+            Path file = blobStore.resolve(contentHash);
+            if (Files.exists(file) && Files.getLastModifiedTime(file).compareTo(cutoff) < 0) {
+                blobStore.delete(contentHash);
+                return true;
+            }
+        } catch (IOException e) {
+            log.warn("Blob GC could not delete {}: {}", contentHash, e.getMessage());
+        }
+        return false;
+    }
+}
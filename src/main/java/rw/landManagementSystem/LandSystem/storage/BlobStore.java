@@ -0,0 +1,184 @@
+package rw.landManagementSystem.LandSystem.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+// Local content-addressed file store. A blob lives at <root>/<h0h1>/<h2h3>/<sha256>, so identical
+// uploads land on the same path and are stored once. Writes go to a temp file that is fsync'd and
+// then atomically renamed into place, so readers never see a partial blob. Blobs moved to cold
+// storage by the PackArchiver are read from their pack file once the loose copy is gone.
+@Component
+public class BlobStore {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${storage.blobs.root:./data/blobs}")
+    private String rootDirectory;
+
+    private final PackStore packStore;
+
+    private Path root;
+    private Path tempDirectory;
+
+    public BlobStore(PackStore packStore) {
+        this.packStore = packStore;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Path.of(rootDirectory).toAbsolutePath().normalize();
+        tempDirectory = root.resolve("tmp");
+        Files.createDirectories(tempDirectory);
+    }
+
+    // Streams the content to disk while hashing it; returns the existing blob if the bytes are already stored
+    public StoredBlob store(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(tempDirectory, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 OutputStream out = Channels.newOutputStream(channel)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                    size += read;
+                }
+                out.flush();
+                channel.force(true);
+            }
+            return commit(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path resolve(String contentHash) {
+        if (contentHash == null || !HASH_PATTERN.matcher(contentHash).matches()) {
+            throw new IllegalArgumentException("Invalid content hash: " + contentHash);
+        }
+        return root.resolve(contentHash.substring(0, 2)).resolve(contentHash.substring(2, 4)).resolve(contentHash);
+    }
+
+    public boolean exists(String contentHash) {
+        return Files.exists(resolve(contentHash)) || packStore.contains(contentHash);
+    }
+
+    // Hot storage first, then the packs
+    public BlobContent locate(String contentHash) throws IOException {
+        Path loose = resolve(contentHash);
+        try {
+            return BlobContent.loose(loose, Files.size(loose));
+        } catch (NoSuchFileException e) {
+            return packStore.find(contentHash)
+                    .orElseThrow(() -> new NoSuchFileException("Blob not found: " + contentHash));
+        }
+    }
+
+    public InputStream open(String contentHash) throws IOException {
+        return locate(contentHash).openStream();
+    }
+
+    public void delete(String contentHash) throws IOException {
+        Files.deleteIfExists(resolve(contentHash));
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public static boolean isContentHash(String value) {
+        return value != null && HASH_PATTERN.matcher(value).matches();
+    }
+
+    // Private helper methods
+    private StoredBlob commit(Path temp, String contentHash, long size) throws IOException {
+        Path target = resolve(contentHash);
+        if (Files.exists(target)) {
+            // Deduplicated. Touching the file tells the garbage collector it was just referenced again.
+            Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+            return new StoredBlob(contentHash, size, target, false);
+        }
+        // Already archived or not, the upload becomes a fresh loose copy. Relying on the pack copy would leave
+        // nothing with a new timestamp, and the garbage collector could drop the pack entry before the new
+        // reference is counted.
+        Path shard = target.getParent();
+        Files.createDirectories(shard);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same bytes won the rename
+            return new StoredBlob(contentHash, size, target, false);
+        }
+        syncDirectory(shard);
+        return new StoredBlob(contentHash, size, target, true);
+    }
+
+    // Makes the rename itself durable; not supported on every platform, so failures are ignored
+    private void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // e.g. Windows cannot open a directory as a channel
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static final class StoredBlob {
+        private final String contentHash;
+        private final long size;
+        private final Path path;
+        private final boolean newlyStored;
+
+        private StoredBlob(String contentHash, long size, Path path, boolean newlyStored) {
+            this.contentHash = contentHash;
+            this.size = size;
+            this.path = path;
+            this.newlyStored = newlyStored;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public boolean isNewlyStored() {
+            return newlyStored;
+        }
+    }
+}
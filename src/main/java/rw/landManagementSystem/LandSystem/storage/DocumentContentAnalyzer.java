@@ -0,0 +1,207 @@
+package rw.landManagementSystem.LandSystem.storage;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+
+// Derives what the verification screens need from a stored file: its SHA-256, a small PNG of the
+// first page (PDFs and images) and its text (PDFs and plain text). Nothing here touches the database.
+@Component
+public class DocumentContentAnalyzer {
+
+    private static final int THUMBNAIL_MAX_EDGE = 320;
+    private static final float PDF_RENDER_DPI = 48f;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    @Value("${documents.processing.max-text-chars:1000000}")
+    private int maxTextChars;
+
+    @Value("${documents.processing.max-text-pages:200}")
+    private int maxTextPages;
+
+    public Result analyze(Path file, String mimeType) throws IOException {
+        String checksum = sha256(file);
+        Kind kind = detect(file, mimeType);
+        byte[] thumbnail = null;
+        String text = null;
+        switch (kind) {
+            case PDF -> {
+                // Spill PDFBox's buffers to temp files so a very large plan cannot exhaust the heap
+                try (PDDocument pdf = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+                    if (pdf.getNumberOfPages() > 0) {
+                        BufferedImage page = new PDFRenderer(pdf).renderImageWithDPI(0, PDF_RENDER_DPI, ImageType.RGB);
+                        thumbnail = toPng(scale(page));
+                    }
+                    PDFTextStripper stripper = new PDFTextStripper();
+                    stripper.setEndPage(maxTextPages);
+                    text = truncate(stripper.getText(pdf));
+                }
+            }
+            case IMAGE -> thumbnail = toPng(scale(readImageSubsampled(file)));
+            case TEXT -> text = readText(file);
+            default -> { }
+        }
+        // PostgreSQL text columns cannot hold NUL, which some PDF text layers contain
+        text = text != null ? text.replace("\u0000", "").strip() : null;
+        return new Result(checksum, thumbnail, text == null || text.isEmpty() ? null : text);
+    }
+
+    // Private helper methods
+    private enum Kind { PDF, IMAGE, TEXT, OTHER }
+
+    private Kind detect(Path file, String mimeType) throws IOException {
+        String type = mimeType != null ? mimeType.toLowerCase(Locale.ROOT) : "";
+        if (type.equals("application/pdf") || startsWithPdfMagic(file)) {
+            return Kind.PDF;
+        }
+        if (type.startsWith("image/")) {
+            return Kind.IMAGE;
+        }
+        if (type.startsWith("text/") || type.equals("application/json") || type.equals("application/xml")) {
+            return Kind.TEXT;
+        }
+        return Kind.OTHER;
+    }
+
+    private boolean startsWithPdfMagic(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] header = in.readNBytes(5);
+            return header.length == 5 && new String(header, StandardCharsets.US_ASCII).equals("%PDF-");
+        }
+    }
+
+    // Decodes only every n-th pixel of large photos/scans, so a 100 MP image never lands on the heap in full
+    private BufferedImage readImageSubsampled(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longestEdge / (THUMBNAIL_MAX_EDGE * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double factor = Math.min(1.0, (double) THUMBNAIL_MAX_EDGE / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * factor));
+        int targetHeight = Math.max(1, (int) Math.round(height * factor));
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private String readText(Path file) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file),
+                StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE))) {
+            char[] buffer = new char[8192];
+            int read;
+            while (text.length() < maxTextChars && (read = reader.read(buffer)) != -1) {
+                text.append(buffer, 0, Math.min(read, maxTextChars - text.length()));
+            }
+        }
+        return text.toString();
+    }
+
+    private String truncate(String text) {
+        return text != null && text.length() > maxTextChars ? text.substring(0, maxTextChars) : text;
+    }
+
+    private String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static final class Result {
+        private final String checksum;
+        private final byte[] thumbnailPng;
+        private final String text;
+
+        private Result(String checksum, byte[] thumbnailPng, String text) {
+            this.checksum = checksum;
+            this.thumbnailPng = thumbnailPng;
+            this.text = text;
+        }
+
+        public String getChecksum() {
+            return checksum;
+        }
+
+        public byte[] getThumbnailPng() {
+            return thumbnailPng;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+}
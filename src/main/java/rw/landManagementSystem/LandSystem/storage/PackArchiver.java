@@ -0,0 +1,122 @@
+package rw.landManagementSystem.LandSystem.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rw.landManagementSystem.LandSystem.model.PackEntry;
+import rw.landManagementSystem.LandSystem.repository.PackEntryRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Moves cold blobs (used only by ARCHIVED documents or superseded versions) from loose files into
+// pack files. Packing and removing the loose copy are separate steps: the loose file is deleted only
+// after the pack entry has been committed for a grace period, so a download that resolved the loose
+// path just before archiving still finds it, and a crash at any point leaves a readable copy.
+@Component
+public class PackArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(PackArchiver.class);
+
+    @Value("${storage.archive.min-age-days:7}")
+    private long minAgeDays;
+
+    @Value("${storage.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${storage.archive.max-blobs-per-run:10000}")
+    private int maxBlobsPerRun;
+
+    @Value("${storage.blobs.gc-grace-minutes:60}")
+    private long graceMinutes;
+
+    private final BlobStore blobStore;
+    private final PackStore packStore;
+    private final PackEntryRepository packEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PackArchiver(BlobStore blobStore, PackStore packStore, PackEntryRepository packEntryRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.blobStore = blobStore;
+        this.packStore = packStore;
+        this.packEntryRepository = packEntryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${storage.archive.interval-ms:21600000}",
+               fixedDelayString = "${storage.archive.interval-ms:21600000}")
+    public void archive() {
+        int removed = removePackedLooseCopies();
+        int packed = 0;
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        while (packed < maxBlobsPerRun) {
+            List<String> candidates = packEntryRepository.findArchivalCandidates(cutoff,
+                    Math.min(batchSize, maxBlobsPerRun - packed));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            int batch = packBatch(candidates);
+            if (batch == 0) {
+                break;
+            }
+            packed += batch;
+        }
+        if (packed > 0 || removed > 0) {
+            log.info("Archive: {} blobs packed, {} loose copies removed", packed, removed);
+        }
+    }
+
+    // Private helper methods
+    private int packBatch(List<String> contentHashes) {
+        List<PackEntry> entries = new ArrayList<>(contentHashes.size());
+        try {
+            for (String contentHash : contentHashes) {
+                Path loose = blobStore.resolve(contentHash);
+                if (Files.exists(loose)) {
+                    entries.add(packStore.append(contentHash, loose));
+                }
+            }
+            packStore.sync();
+        } catch (IOException e) {
+            // Entries appended before the failure are still valid; index those
+            log.warn("Archive: packing stopped early: {}", e.getMessage());
+        }
+        if (!entries.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> packEntryRepository.saveAll(entries));
+        }
+        return entries.size();
+    }
+
+    private int removePackedLooseCopies() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+        int removed = 0;
+        List<PackEntry> entries;
+        while (!(entries = packEntryRepository.findLooseCopiesPackedBefore(cutoff, PageRequest.of(0, batchSize))).isEmpty()) {
+            List<String> done = new ArrayList<>(entries.size());
+            for (PackEntry entry : entries) {
+                try {
+                    if (Files.deleteIfExists(blobStore.resolve(entry.getContentHash()))) {
+                        removed++;
+                    }
+                    done.add(entry.getContentHash());
+                } catch (IOException e) {
+                    log.warn("Archive: could not remove loose copy of {}: {}", entry.getContentHash(), e.getMessage());
+                }
+            }
+            if (done.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> packEntryRepository.markLooseRemoved(done));
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,180 @@
+package rw.landManagementSystem.LandSystem.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import rw.landManagementSystem.LandSystem.model.PackEntry;
+import rw.landManagementSystem.LandSystem.repository.PackEntryRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+// Append-only pack files for cold blobs: <root>/packs/pack-NNNNNN.pack. Each entry is a fixed header
+// (SHA-256, flags, original size, stored length) followed by the bytes, deflated when that is smaller.
+// The pack_entries table indexes offset and length, so a read is one seek plus a bounded read; the
+// headers make a pack self-describing should the index ever have to be rebuilt. Entries are never
+// rewritten in place, and a new pack is started once the current one reaches the target size.
+@Component
+public class PackStore {
+
+    private static final byte[] PACK_MAGIC = "LMSPACK1".getBytes(StandardCharsets.US_ASCII);
+    private static final Pattern PACK_NAME = Pattern.compile("pack-(\\d{6})\\.pack");
+    private static final int ENTRY_HEADER_SIZE = 32 + 1 + 8 + 8;
+    private static final byte FLAG_DEFLATED = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${storage.blobs.root:./data/blobs}")
+    private String rootDirectory;
+
+    @Value("${storage.packs.target-size-mb:1024}")
+    private long targetSizeMb;
+
+    @Value("${storage.packs.compression-level:6}")
+    private int compressionLevel;
+
+    private final PackEntryRepository packEntryRepository;
+
+    private Path packDirectory;
+    private int currentPackId;
+    private FileChannel current;
+
+    public PackStore(PackEntryRepository packEntryRepository) {
+        this.packEntryRepository = packEntryRepository;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        packDirectory = Path.of(rootDirectory).toAbsolutePath().normalize().resolve("packs");
+        Files.createDirectories(packDirectory);
+        try (Stream<Path> files = Files.list(packDirectory)) {
+            currentPackId = files.map(file -> PACK_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
+                    .max()
+                    .orElse(1);
+        }
+    }
+
+    // Appends the file's bytes to the current pack. The entry is not durable until sync() and is not
+    // readable until the returned PackEntry is saved.
+    public synchronized PackEntry append(String contentHash, Path source) throws IOException {
+        FileChannel pack = currentPack();
+        long headerOffset = pack.size();
+        long dataOffset = headerOffset + ENTRY_HEADER_SIZE;
+        long size = Files.size(source);
+        try {
+            long storedLength = writeDeflated(pack, dataOffset, source);
+            boolean deflated = storedLength < size;
+            if (!deflated) {
+                // Already-compressed scans and photos: keep them raw so they can be served with sendfile
+                pack.truncate(dataOffset);
+                storedLength = writeRaw(pack, dataOffset, source, size);
+            }
+            ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+            header.put(HexFormat.of().parseHex(contentHash))
+                    .put(deflated ? FLAG_DEFLATED : 0)
+                    .putLong(size)
+                    .putLong(storedLength)
+                    .flip();
+            writeFully(pack, header, headerOffset);
+            return new PackEntry(contentHash, currentPackId, dataOffset, storedLength, size, deflated);
+        } catch (IOException | RuntimeException e) {
+            pack.truncate(headerOffset);
+            throw e;
+        }
+    }
+
+    public synchronized void sync() throws IOException {
+        if (current != null) {
+            current.force(true);
+        }
+    }
+
+    public Optional<BlobContent> find(String contentHash) {
+        return packEntryRepository.findById(contentHash).map(entry -> BlobContent.packed(packPath(entry.getPackId()),
+                entry.getOffset(), entry.getStoredLength(), entry.getSizeBytes(), entry.getCompressed()));
+    }
+
+    public boolean contains(String contentHash) {
+        return packEntryRepository.existsById(contentHash);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (current != null) {
+            current.force(true);
+            current.close();
+            current = null;
+        }
+    }
+
+    // Private helper methods
+    private FileChannel currentPack() throws IOException {
+        if (current != null && current.size() >= targetSizeMb * 1024 * 1024) {
+            close();
+            currentPackId++;
+        }
+        if (current == null) {
+            current = FileChannel.open(packPath(currentPackId), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            if (current.size() == 0) {
+                writeFully(current, ByteBuffer.wrap(PACK_MAGIC), 0);
+            }
+        }
+        return current;
+    }
+
+    private Path packPath(int packId) {
+        return packDirectory.resolve(String.format("pack-%06d.pack", packId));
+    }
+
+    private long writeDeflated(FileChannel pack, long offset, Path source) throws IOException {
+        pack.position(offset);
+        Deflater deflater = new Deflater(compressionLevel);
+        try (InputStream in = Files.newInputStream(source)) {
+            DeflaterOutputStream out = new DeflaterOutputStream(Channels.newOutputStream(pack), deflater, BUFFER_SIZE);
+            in.transferTo(out);
+            // finish() rather than close(): closing would close the pack channel too
+            out.finish();
+            out.flush();
+        } finally {
+            deflater.end();
+        }
+        return pack.position() - offset;
+    }
+
+    private long writeRaw(FileChannel pack, long offset, Path source, long size) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long written = 0;
+            while (written < size) {
+                long transferred = pack.transferFrom(in, offset + written, size - written);
+                if (transferred <= 0) {
+                    throw new IOException("Short read from " + source);
+                }
+                written += transferred;
+            }
+            return written;
+        }
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package rw.landManagementSystem.LandSystem.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// In-memory state moved by committed changes and periodically rebuilt from the database. Changes are
+// applied under the read lock, so they run concurrently and must be safe to; the rebuilt state is
+// swapped in under the write lock. While a rebuild reads the database, changes are also journaled and
+// replayed onto its result before the swap, so nothing committed during the read is lost.
+public final class ReconciledState<T> {
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile T current;
+    private Queue<Consumer<T>> journal;
+
+    public ReconciledState(T initial) {
+        this.current = initial;
+    }
+
+    public T get() {
+        return current;
+    }
+
+    public void apply(Consumer<T> change) {
+        swapLock.readLock().lock();
+        try {
+            change.accept(current);
+            if (journal != null) {
+                journal.add(change);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // Loads a fresh state, replays the changes applied meanwhile and swaps it in; returns the state it replaced.
+    // A change whose commit preceded the load but whose callback ran after the journal started is counted
+    // twice until the next reconciliation.
+    public synchronized T reconcile(Supplier<T> loader) {
+        Queue<Consumer<T>> changes = new ConcurrentLinkedQueue<>();
+        setJournal(changes);
+        T fresh;
+        try {
+            fresh = loader.get();
+        } catch (RuntimeException e) {
+            setJournal(null);
+            throw e;
+        }
+        swapLock.writeLock().lock();
+        try {
+            changes.forEach(change -> change.accept(fresh));
+            T previous = current;
+            current = fresh;
+            journal = null;
+            return previous;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    // Private helper methods
+    private void setJournal(Queue<Consumer<T>> changes) {
+        swapLock.writeLock().lock();
+        try {
+            journal = changes;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package rw.landManagementSystem.LandSystem.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Hashed timing wheel: deadlines are hashed into 'slots' buckets of 'tickMillis' each, so scheduling
+// and cancelling are O(1) and each tick inspects one bucket. Deadlines further away than one turn of
+// the wheel stay in their bucket until the turn they fall in. Expiry is accurate to one tick.
+// Not thread-safe; callers synchronize.
+public final class TimerWheel<K> {
+
+    private final long tickMillis;
+    private final List<Map<K, Long>> slots;
+    private final Map<K, Integer> slotOf = new HashMap<>();
+    private long currentTick;
+
+    public TimerWheel(long tickMillis, int slots, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            this.slots.add(new LinkedHashMap<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    // Replaces any deadline already set for the key; a deadline in the past fires on the next advance
+    public void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        // The first tick boundary at or after the deadline, so the bucket is never visited too early
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        int slot = (int) (tick % slots.size());
+        slots.get(slot).put(key, deadlineMillis);
+        slotOf.put(key, slot);
+    }
+
+    public boolean cancel(K key) {
+        Integer slot = slotOf.remove(key);
+        return slot != null && slots.get(slot).remove(key) != null;
+    }
+
+    public boolean isScheduled(K key) {
+        return slotOf.containsKey(key);
+    }
+
+    public int size() {
+        return slotOf.size();
+    }
+
+    // Fires every key whose deadline is at or before 'nowMillis', in tick order
+    public void advance(long nowMillis, Consumer<K> expired) {
+        long targetTick = nowMillis / tickMillis;
+        // After a pause longer than one turn every bucket is due for inspection, but only once
+        long fromTick = Math.max(currentTick + 1, targetTick - slots.size() + 1);
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            Map<K, Long> bucket = slots.get((int) (tick % slots.size()));
+            Iterator<Map.Entry<K, Long>> entries = bucket.entrySet().iterator();
+            List<K> fired = new ArrayList<>();
+            while (entries.hasNext()) {
+                Map.Entry<K, Long> entry = entries.next();
+                if (entry.getValue() <= nowMillis) {
+                    entries.remove();
+                    slotOf.remove(entry.getKey());
+                    fired.add(entry.getKey());
+                }
+            }
+            // Callbacks may reschedule, so they run after the bucket is no longer being iterated
+            fired.forEach(expired);
+        }
+        currentTick = Math.max(currentTick, targetTick);
+    }
+}
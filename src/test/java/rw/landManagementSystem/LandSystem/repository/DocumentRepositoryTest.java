@@ -0,0 +1,56 @@
+package rw.landManagementSystem.LandSystem.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import rw.landManagementSystem.LandSystem.model.Document;
+import rw.landManagementSystem.LandSystem.model.DocumentStatus;
+import rw.landManagementSystem.LandSystem.model.DocumentType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against an embedded database; PostgreSQL-only queries are not exercised here
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+class DocumentRepositoryTest {
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void savingAStaleOlderVersionKeepsItsLatestFlagCleared() {
+        // Loaded while it was still the latest version
+        Document older = entityManager.persistAndFlush(document(1));
+        Document newer = entityManager.persistAndFlush(document(2));
+        documentRepository.markLatestInLineage("Title deed", null, newer.getId());
+
+        // A concurrent status change on the stale copy writes every updatable column back
+        older.setStatus(DocumentStatus.ARCHIVED);
+        documentRepository.saveAndFlush(older);
+        entityManager.clear();
+
+        assertThat(documentRepository.findById(older.getId()).orElseThrow().getLatestVersion()).isFalse();
+        assertThat(documentRepository.findById(older.getId()).orElseThrow().getStatus())
+                .isEqualTo(DocumentStatus.ARCHIVED);
+        assertThat(documentRepository.findById(newer.getId()).orElseThrow().getLatestVersion()).isTrue();
+        assertThat(documentRepository.findLatestVersionDocuments()).extracting(Document::getId)
+                .containsExactly(newer.getId());
+    }
+
+    // Private helper methods
+    private static Document document(int version) {
+        Document document = new Document();
+        document.setDocumentName("Title deed");
+        document.setDocumentType(DocumentType.TITLE_DEED);
+        document.setVersion(version);
+        return document;
+    }
+}
@@ -0,0 +1,77 @@
+package rw.landManagementSystem.LandSystem.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of JWT handling in JwtAuthenticationFilter, before and after single-parse validation.
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//           -Dexec.mainClass=rw.landManagementSystem.LandSystem.security.JwtUtilBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "myVerySecretKeyForLandManagementSystemThatIsLongEnoughForSecurity";
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        jwtUtil.init();
+
+        userDetails = new User("john.doe@example.com", "unused", Collections.emptyList());
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    // The previous filter flow: extractUsername, then validateToken calling extractUsername and
+    // isTokenExpired, each rebuilding the HMAC key and parser and verifying the signature again
+    @Benchmark
+    public boolean tripleParseWithKeyRebuild() {
+        String username = legacyClaims(token).getSubject();
+        boolean matches = legacyClaims(token).getSubject().equals(username);
+        boolean notExpired = !legacyClaims(token).getExpiration().before(new Date());
+        return matches && notExpired;
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        JwtClaims claims = jwtUtil.parseToken(token);
+        return jwtUtil.validateToken(claims, userDetails);
+    }
+
+    private Claims legacyClaims(String jwt) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
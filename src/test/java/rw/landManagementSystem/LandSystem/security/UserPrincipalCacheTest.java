@@ -0,0 +1,109 @@
+package rw.landManagementSystem.LandSystem.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrincipalCacheTest {
+
+    private static final String EMAIL = "officer@land.gov.rw";
+
+    private final UserPrincipalCache cache = new UserPrincipalCache();
+    private final AtomicInteger loads = new AtomicInteger();
+    private boolean enabled = true;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+    }
+
+    @Test
+    void servesRepeatLookupsFromTheCache() {
+        Date issuedAt = secondsAgo(60);
+
+        cache.get(EMAIL, issuedAt, this::load);
+        cache.get(EMAIL, issuedAt, this::load);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidateForcesAReload() {
+        cache.get(EMAIL, secondsAgo(60), this::load);
+        enabled = false;
+
+        cache.invalidate(EMAIL);
+
+        assertThat(cache.get(EMAIL, secondsAgo(60), this::load).isEnabled()).isFalse();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void aLoadThatRacedAnInvalidationIsNotCached() {
+        // The loader reads the row as it was, then the suspension commits and invalidates before the put
+        UserDetails stale = cache.get(EMAIL, secondsAgo(60), email -> {
+            UserDetails loaded = load(email);
+            enabled = false;
+            cache.invalidate(email);
+            return loaded;
+        });
+        assertThat(stale.isEnabled()).isTrue();
+
+        UserDetails next = cache.get(EMAIL, secondsAgo(60), this::load);
+
+        assertThat(next.isEnabled()).isFalse();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateAllAlsoDiscardsInFlightLoads() {
+        cache.get(EMAIL, secondsAgo(60), email -> {
+            UserDetails loaded = load(email);
+            cache.invalidateAll();
+            return loaded;
+        });
+
+        cache.get(EMAIL, secondsAgo(60), this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void aTokenIssuedInTheSecondOfTheLoadIsReloaded() {
+        cache.get(EMAIL, secondsAgo(60), this::load);
+
+        // iat is truncated to the second, so a token from this second may have been issued after the load
+        Date issuedNow = new Date(System.currentTimeMillis() / 1000 * 1000);
+        cache.get(EMAIL, issuedNow, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void aTokenIssuedAfterTheLoadIsReloaded() {
+        cache.get(EMAIL, secondsAgo(60), this::load);
+
+        cache.get(EMAIL, new Date(System.currentTimeMillis() + 5000), this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    // Private helper methods
+    private UserDetails load(String email) {
+        loads.incrementAndGet();
+        return User.withUsername(email).password("").authorities(Collections.emptyList()).disabled(!enabled).build();
+    }
+
+    private static Date secondsAgo(long seconds) {
+        return new Date(System.currentTimeMillis() - seconds * 1000);
+    }
+}
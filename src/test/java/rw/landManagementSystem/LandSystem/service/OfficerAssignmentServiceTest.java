@@ -0,0 +1,110 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import rw.landManagementSystem.LandSystem.event.RequestLifecycleEvent;
+import rw.landManagementSystem.LandSystem.model.Request;
+import rw.landManagementSystem.LandSystem.model.RequestPriority;
+import rw.landManagementSystem.LandSystem.model.RequestStatus;
+import rw.landManagementSystem.LandSystem.model.RequestType;
+import rw.landManagementSystem.LandSystem.model.User;
+import rw.landManagementSystem.LandSystem.repository.OfficerSkillRepository;
+import rw.landManagementSystem.LandSystem.repository.RequestRepository;
+import rw.landManagementSystem.LandSystem.repository.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Drives reconcile() with mocked repositories; lifecycle events are fired from inside the grouped
+// count query to stand in for requests that change while the reconciliation reads the database.
+class OfficerAssignmentServiceTest {
+
+    private static final Long OFFICER_ID = 7L;
+
+    private final RequestRepository requestRepository = mock(RequestRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final OfficerSkillRepository officerSkillRepository = mock(OfficerSkillRepository.class);
+    private OfficerAssignmentService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OfficerAssignmentService(requestRepository, userRepository, officerSkillRepository,
+                mock(RequestService.class), mock(PlatformTransactionManager.class));
+        when(officerSkillRepository.findAll()).thenReturn(List.of());
+        when(userRepository.findActiveLandOfficers()).thenReturn(List.of(officer()));
+    }
+
+    @Test
+    void reconcileCountsOpenRequestsByPriorityWeight() {
+        stubOpen(openRow(RequestPriority.URGENT, 1), openRow(RequestPriority.NORMAL, 2));
+
+        service.reconcile();
+
+        assertThat(workload()).containsEntry("weightedLoad", 12L).containsEntry("openRequests", 3);
+    }
+
+    @Test
+    void aRequestDecidedDuringTheReadIsNotCountedAsOpen() {
+        // The query still sees the request open; its approval commits before the roster is swapped in
+        when(requestRepository.countOpenGroupedByOfficerAndPriority()).thenAnswer(invocation -> {
+            service.onRequestChange(change(RequestStatus.PENDING, RequestStatus.APPROVED));
+            return List.<Object[]>of(openRow(RequestPriority.URGENT, 1));
+        });
+
+        service.reconcile();
+
+        assertThat(workload()).containsEntry("weightedLoad", 0L).containsEntry("openRequests", 0);
+    }
+
+    @Test
+    void aRequestReopenedDuringTheReadIsCounted() {
+        when(requestRepository.countOpenGroupedByOfficerAndPriority()).thenAnswer(invocation -> {
+            service.onRequestChange(change(RequestStatus.ON_HOLD, RequestStatus.PENDING));
+            return List.<Object[]>of();
+        });
+
+        service.reconcile();
+
+        assertThat(workload()).containsEntry("weightedLoad", 8L).containsEntry("openRequests", 1);
+    }
+
+    // Private helper methods
+    private void stubOpen(Object[]... rows) {
+        when(requestRepository.countOpenGroupedByOfficerAndPriority()).thenReturn(List.of(rows));
+    }
+
+    // [officerId, priority, count]
+    private static Object[] openRow(RequestPriority priority, long count) {
+        return new Object[] {OFFICER_ID, priority, count};
+    }
+
+    private Map<String, Object> workload() {
+        return service.getWorkloads().get(0);
+    }
+
+    private static User officer() {
+        User officer = new User();
+        officer.setId(OFFICER_ID);
+        officer.setFirstName("Aline");
+        officer.setLastName("Uwase");
+        return officer;
+    }
+
+    private static RequestLifecycleEvent change(RequestStatus from, RequestStatus to) {
+        return new RequestLifecycleEvent(1L, RequestLifecycleEvent.Change.STATUS_CHANGED, state(from), state(to));
+    }
+
+    private static RequestLifecycleEvent.State state(RequestStatus status) {
+        Request request = new Request();
+        request.setRequestType(RequestType.LAND_REGISTRATION);
+        request.setStatus(status);
+        request.setPriority(RequestPriority.URGENT);
+        request.setAssignedOfficer(officer());
+        return RequestLifecycleEvent.State.of(request);
+    }
+}
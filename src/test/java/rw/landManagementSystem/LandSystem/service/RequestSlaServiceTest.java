@@ -0,0 +1,234 @@
+package rw.landManagementSystem.LandSystem.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import rw.landManagementSystem.LandSystem.event.RequestLifecycleEvent;
+import rw.landManagementSystem.LandSystem.event.SlaBreachEvent;
+import rw.landManagementSystem.LandSystem.model.Request;
+import rw.landManagementSystem.LandSystem.model.RequestPriority;
+import rw.landManagementSystem.LandSystem.model.RequestStatus;
+import rw.landManagementSystem.LandSystem.model.RequestType;
+import rw.landManagementSystem.LandSystem.repository.RequestRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Drives the service through reconcile() and lifecycle events with a mocked repository. Open requests
+// are loaded with a submission date chosen so the review deadline falls a moment after the load.
+class RequestSlaServiceTest {
+
+    private static final long TICK_MS = 10;
+    private static final Duration DEADLINE_MARGIN = Duration.ofMillis(200);
+
+    private final RequestRepository requestRepository = mock(RequestRepository.class);
+    private final List<Object> published = new ArrayList<>();
+    private RequestSlaService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RequestSlaService(requestRepository, published::add, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "reviewHoursSetting", "URGENT:4,HIGH:24,NORMAL:72");
+        ReflectionTestUtils.setField(service, "decisionHoursSetting", "URGENT:48,HIGH:168,NORMAL:336");
+        ReflectionTestUtils.setField(service, "tickMillis", TICK_MS);
+        service.init();
+    }
+
+    @Test
+    void breachIsPublishedOnceTheReviewDeadlinePasses() throws InterruptedException {
+        LocalDateTime deadline = loadPending(1L, RequestPriority.URGENT, Duration.ofHours(4));
+
+        service.tick();
+        assertThat(breaches()).isEmpty();
+        assertThat(service.getBreachedRequestIds()).isEmpty();
+
+        waitPast(deadline);
+        service.tick();
+
+        assertThat(breaches()).singleElement().satisfies(breach -> {
+            assertThat(breach.getRequestId()).isEqualTo(1L);
+            assertThat(breach.getStatus()).isEqualTo(RequestStatus.PENDING);
+            assertThat(breach.getDeadline()).isEqualTo(deadline);
+        });
+        assertThat(service.getBreachedRequestIds()).containsExactly(1L);
+
+        // A breach is reported once, not on every tick after it
+        service.tick();
+        assertThat(breaches()).hasSize(1);
+    }
+
+    @Test
+    void reconcileFlagsDeadlinesThatPassedWhileUntrackedWithoutPublishing() {
+        stubOpen(row(1L, RequestPriority.URGENT, RequestStatus.PENDING, LocalDateTime.now().minusHours(5)),
+                row(2L, RequestPriority.URGENT, RequestStatus.PENDING, LocalDateTime.now().minusHours(1)));
+
+        service.reconcile();
+        service.tick();
+
+        assertThat(service.getBreachedRequestIds()).containsExactly(1L);
+        assertThat(breaches()).isEmpty();
+    }
+
+    @Test
+    void decidingARequestCancelsItsTimer() throws InterruptedException {
+        LocalDateTime deadline = loadPending(1L, RequestPriority.URGENT, Duration.ofHours(4));
+
+        service.onRequestChange(change(1L, RequestStatus.APPROVED, RequestPriority.URGENT));
+        waitPast(deadline);
+        service.tick();
+
+        assertThat(breaches()).isEmpty();
+        assertThat(service.getProcessingTimeReport()).containsEntry("openRequests", 0);
+        assertThat(service.getAverageProcessingTimeInDays()).isNotNull();
+    }
+
+    @Test
+    void cancellingARequestCancelsItsTimer() throws InterruptedException {
+        LocalDateTime deadline = loadPending(1L, RequestPriority.URGENT, Duration.ofHours(4));
+
+        service.onRequestChange(change(1L, RequestStatus.CANCELLED, RequestPriority.URGENT));
+        waitPast(deadline);
+        service.tick();
+
+        assertThat(breaches()).isEmpty();
+        assertThat(service.getAverageProcessingTimeInDays()).isNull();
+    }
+
+    @Test
+    void startingReviewMovesTheDeadlineToTheDecisionTarget() throws InterruptedException {
+        LocalDateTime deadline = loadPending(1L, RequestPriority.URGENT, Duration.ofHours(4));
+
+        service.onRequestChange(change(1L, RequestStatus.UNDER_REVIEW, RequestPriority.URGENT));
+        waitPast(deadline);
+        service.tick();
+
+        assertThat(breaches()).isEmpty();
+        assertThat(service.getBreachedRequestIds()).isEmpty();
+    }
+
+    @Test
+    void puttingARequestOnHoldStopsTheClock() throws InterruptedException {
+        LocalDateTime deadline = loadPending(1L, RequestPriority.URGENT, Duration.ofHours(4));
+
+        service.onRequestChange(change(1L, RequestStatus.ON_HOLD, RequestPriority.URGENT));
+        waitPast(deadline);
+        service.tick();
+
+        assertThat(breaches()).isEmpty();
+    }
+
+    @Test
+    void loweringThePriorityMovesTheDeadlineOut() throws InterruptedException {
+        LocalDateTime deadline = loadPending(1L, RequestPriority.URGENT, Duration.ofHours(4));
+
+        service.onRequestChange(change(1L, RequestStatus.PENDING, RequestPriority.HIGH));
+        waitPast(deadline);
+        service.tick();
+
+        assertThat(breaches()).isEmpty();
+    }
+
+    @Test
+    void deletingARequestStopsTrackingIt() throws InterruptedException {
+        LocalDateTime deadline = loadPending(1L, RequestPriority.URGENT, Duration.ofHours(4));
+
+        service.onRequestChange(new RequestLifecycleEvent(1L, RequestLifecycleEvent.Change.DELETED,
+                state(RequestStatus.PENDING, RequestPriority.URGENT), null));
+        waitPast(deadline);
+        service.tick();
+
+        assertThat(breaches()).isEmpty();
+        assertThat(service.getProcessingTimeReport()).containsEntry("openRequests", 0);
+    }
+
+    @Test
+    void aRequestDecidedWhileReconcileReadsIsNotTrackedAgain() throws InterruptedException {
+        LocalDateTime submitted = LocalDateTime.now().minus(Duration.ofHours(4)).plus(DEADLINE_MARGIN);
+        loadPending(1L, RequestPriority.URGENT, Duration.ofHours(4));
+        // The read still sees the request open; its approval commits before the open set is rebuilt
+        when(requestRepository.findOpenForSla()).thenAnswer(invocation -> {
+            service.onRequestChange(change(1L, RequestStatus.APPROVED, RequestPriority.URGENT));
+            return List.<Object[]>of(row(1L, RequestPriority.URGENT, RequestStatus.PENDING, submitted));
+        });
+
+        service.reconcile();
+        waitPast(submitted.plus(Duration.ofHours(4)));
+        service.tick();
+
+        assertThat(breaches()).isEmpty();
+        assertThat(service.getProcessingTimeReport()).containsEntry("openRequests", 0);
+        // Recorded once, when the event first arrived, not again on replay
+        assertThat(decisionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void aRequestCreatedWhileReconcileReadsIsTracked() {
+        when(requestRepository.findOpenForSla()).thenAnswer(invocation -> {
+            service.onRequestChange(new RequestLifecycleEvent(2L, RequestLifecycleEvent.Change.CREATED, null,
+                    state(RequestStatus.PENDING, RequestPriority.URGENT)));
+            return List.of();
+        });
+
+        service.reconcile();
+
+        assertThat(service.getProcessingTimeReport()).containsEntry("openRequests", 1);
+    }
+
+    // Private helper methods
+    private LocalDateTime loadPending(Long id, RequestPriority priority, Duration reviewTarget) {
+        LocalDateTime submitted = LocalDateTime.now().minus(reviewTarget).plus(DEADLINE_MARGIN);
+        stubOpen(row(id, priority, RequestStatus.PENDING, submitted));
+        service.reconcile();
+        return submitted.plus(reviewTarget);
+    }
+
+    private void stubOpen(Object[]... rows) {
+        when(requestRepository.findOpenForSla()).thenReturn(List.of(rows));
+    }
+
+    // [id, requestType, priority, status, assignedOfficerId, submissionDate]
+    private static Object[] row(Long id, RequestPriority priority, RequestStatus status, LocalDateTime submitted) {
+        return new Object[] {id, RequestType.LAND_REGISTRATION, priority, status, 7L, submitted};
+    }
+
+    private static RequestLifecycleEvent change(Long id, RequestStatus status, RequestPriority priority) {
+        return new RequestLifecycleEvent(id, RequestLifecycleEvent.Change.STATUS_CHANGED,
+                state(RequestStatus.PENDING, RequestPriority.URGENT), state(status, priority));
+    }
+
+    private static RequestLifecycleEvent.State state(RequestStatus status, RequestPriority priority) {
+        Request request = new Request();
+        request.setRequestType(RequestType.LAND_REGISTRATION);
+        request.setStatus(status);
+        request.setPriority(priority);
+        return RequestLifecycleEvent.State.of(request);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object decisionCount() {
+        Map<String, Object> timeToDecision = (Map<String, Object>) service.getProcessingTimeReport().get("timeToDecision");
+        return ((Map<String, Object>) timeToDecision.get("overall")).get("count");
+    }
+
+    private List<SlaBreachEvent> breaches() {
+        return published.stream()
+                .filter(SlaBreachEvent.class::isInstance)
+                .map(SlaBreachEvent.class::cast)
+                .toList();
+    }
+
+    private static void waitPast(LocalDateTime deadline) throws InterruptedException {
+        long millis = Duration.between(LocalDateTime.now(), deadline).toMillis() + 2 * TICK_MS;
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+}
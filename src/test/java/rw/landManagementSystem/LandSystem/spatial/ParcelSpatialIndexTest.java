@@ -0,0 +1,186 @@
+package rw.landManagementSystem.LandSystem.spatial;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import rw.landManagementSystem.LandSystem.repository.LandParcelRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// The index is loaded from a mocked repository with a rebuild threshold high enough that every change
+// stays in the overlay, then checked against a plain map of the parcels it should hold.
+class ParcelSpatialIndexTest {
+
+    private static final int PARCELS = 2000;
+
+    private final LandParcelRepository landParcelRepository = mock(LandParcelRepository.class);
+    private final Map<Long, Envelope> expected = new HashMap<>();
+    private ParcelSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<Envelope> boxes = StrRTreeTest.randomBoxes(PARCELS, new Random(3));
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < boxes.size(); i++) {
+            Envelope box = boxes.get(i);
+            rows.add(new Object[] {(long) i, box.getMinLat(), box.getMinLon(), box.getMaxLat(), box.getMaxLon()});
+            expected.put((long) i, box);
+        }
+        when(landParcelRepository.findAllBoundingBoxes()).thenReturn(rows);
+        when(landParcelRepository.findUnparsedCoordinatesAfter(anyLong(), any())).thenReturn(new SliceImpl<>(List.of()));
+
+        index = new ParcelSpatialIndex(landParcelRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(index, "rebuildThreshold", Integer.MAX_VALUE);
+        index.initialize();
+    }
+
+    @Test
+    void searchSeesTheLoadedTree() {
+        assertThat(index.size()).isEqualTo(PARCELS);
+        assertSearchesMatch(new Random(5));
+    }
+
+    @Test
+    void searchSeesNewParcelsInTheOverlay() {
+        Envelope added = new Envelope(-1.95, 30.06, -1.949, 30.061);
+        upsert(PARCELS + 1L, added);
+
+        assertThat(index.search(new Envelope(-1.96, 30.05, -1.94, 30.07), 1000)).contains(PARCELS + 1L);
+        assertThat(index.search(new Envelope(-1.90, 30.10, -1.89, 30.11), 1000)).doesNotContain(PARCELS + 1L);
+        assertSearchesMatch(new Random(6));
+    }
+
+    @Test
+    void movedParcelsAreFoundOnlyAtTheirNewBox() {
+        Envelope before = expected.get(10L);
+        Envelope after = new Envelope(-2.5, 29.0, -2.499, 29.001);
+        upsert(10L, after);
+
+        assertThat(index.search(before, 1000)).doesNotContain(10L);
+        assertThat(index.search(after, 1000)).containsOnlyOnce(10L);
+
+        // Moving it again drops it from the overlay cells it used to occupy
+        Envelope again = new Envelope(-1.2, 30.5, -1.199, 30.501);
+        upsert(10L, again);
+        assertThat(index.search(after, 1000)).doesNotContain(10L);
+        assertThat(index.search(again, 1000)).containsOnlyOnce(10L);
+        assertSearchesMatch(new Random(7));
+    }
+
+    @Test
+    void removedParcelsDisappearFromTheTreeAndTheOverlay() {
+        Envelope treeBox = expected.get(20L);
+        index.remove(20L);
+        expected.remove(20L);
+        Envelope overlayBox = new Envelope(-1.5, 29.5, -1.499, 29.501);
+        upsert(PARCELS + 2L, overlayBox);
+        index.remove(PARCELS + 2L);
+        expected.remove(PARCELS + 2L);
+
+        assertThat(index.search(treeBox, 1000)).doesNotContain(20L);
+        assertThat(index.search(overlayBox, 1000)).doesNotContain(PARCELS + 2L);
+        assertSearchesMatch(new Random(8));
+    }
+
+    @Test
+    void boxesSpanningManyCellsAreStillFound() {
+        Envelope district = new Envelope(-2.2, 29.6, -1.9, 30.0);
+        upsert(PARCELS + 3L, district);
+
+        assertThat(index.search(new Envelope(-2.0, 29.8, -2.0, 29.8), 1000)).contains(PARCELS + 3L);
+        assertThat(index.search(new Envelope(-2.19, 29.61, -2.18, 29.62), 1000)).containsOnlyOnce(PARCELS + 3L);
+        assertSearchesMatch(new Random(9));
+    }
+
+    @Test
+    void boxesCrossingCellBoundariesAreReportedOnce() {
+        // Straddles the 0.01 degree grid lines in both directions
+        Envelope straddling = new Envelope(-1.9505, 30.0595, -1.9495, 30.0605);
+        upsert(PARCELS + 4L, straddling);
+
+        assertThat(index.search(new Envelope(-1.96, 30.05, -1.94, 30.07), 1000)).containsOnlyOnce(PARCELS + 4L);
+    }
+
+    @Test
+    void searchMatchesABruteForceScanWithManyOverlayChanges() {
+        Random random = new Random(10);
+        List<Envelope> moved = StrRTreeTest.randomBoxes(500, random);
+        for (int i = 0; i < moved.size(); i++) {
+            // Half move existing parcels, half add new ones
+            upsert(i % 2 == 0 ? (long) i : PARCELS + 100L + i, moved.get(i));
+        }
+        for (long id = 1000; id < 1100; id++) {
+            index.remove(id);
+            expected.remove(id);
+        }
+        // With this many changes small queries go through the grid cells rather than the whole overlay
+        upsert(PARCELS + 10L, new Envelope(-2.2, 29.6, -1.9, 30.0));
+        upsert(PARCELS + 11L, new Envelope(-1.9505, 30.0595, -1.9495, 30.0605));
+
+        assertThat(index.search(new Envelope(-1.951, 30.059, -1.949, 30.061), 1000))
+                .containsOnlyOnce(PARCELS + 11L).doesNotContain(PARCELS + 10L);
+        assertThat(index.search(new Envelope(-2.0, 29.8, -2.0, 29.8), 1000)).contains(PARCELS + 10L);
+        assertSearchesMatch(random);
+    }
+
+    @Test
+    void searchHonoursTheLimitAcrossTreeAndOverlay() {
+        Envelope everywhere = new Envelope(-3, 28, -1, 31);
+        upsert(PARCELS + 5L, new Envelope(-1.95, 30.06, -1.949, 30.061));
+
+        assertThat(index.search(everywhere, 10)).hasSize(10);
+        assertThat(index.search(everywhere, PARCELS + 1)).hasSize(PARCELS + 1).doesNotHaveDuplicates();
+        assertThat(index.search(everywhere, PARCELS + 10)).hasSize(PARCELS + 1);
+    }
+
+    @Test
+    void nearestSeesOverlayChanges() {
+        Envelope here = new Envelope(-1.95, 30.06, -1.95, 30.06);
+        upsert(PARCELS + 6L, here);
+        index.remove(PARCELS + 6L);
+        expected.remove(PARCELS + 6L);
+        upsert(PARCELS + 7L, here);
+
+        List<StrRTree.Neighbor> neighbors = index.nearest(-1.95, 30.06, 5);
+
+        assertThat(neighbors).hasSize(5);
+        assertThat(neighbors.get(0).getId()).isEqualTo(PARCELS + 7L);
+        assertThat(neighbors).extracting(StrRTree.Neighbor::getId).doesNotContain(PARCELS + 6L).doesNotHaveDuplicates();
+    }
+
+    // Private helper methods
+    private void upsert(long id, Envelope box) {
+        index.upsert(id, box);
+        expected.put(id, box);
+    }
+
+    private void assertSearchesMatch(Random random) {
+        for (int i = 0; i < 100; i++) {
+            double lat = -2.8 + random.nextDouble() * 1.8;
+            double lon = 28.9 + random.nextDouble() * 1.9;
+            double size = random.nextDouble() * 0.3;
+            Envelope query = new Envelope(lat, lon, lat + size, lon + size);
+
+            List<Long> hits = new ArrayList<>();
+            expected.forEach((id, box) -> {
+                if (query.intersects(box)) {
+                    hits.add(id);
+                }
+            });
+
+            assertThat(index.search(query, Integer.MAX_VALUE)).containsExactlyInAnyOrderElementsOf(hits);
+        }
+    }
+}
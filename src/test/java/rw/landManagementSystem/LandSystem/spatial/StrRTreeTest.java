@@ -0,0 +1,175 @@
+package rw.landManagementSystem.LandSystem.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Small parcels scattered over Rwanda; results are compared with a brute-force scan of the same boxes
+class StrRTreeTest {
+
+    private static final int PARCELS = 5000;
+
+    private final List<Envelope> boxes = randomBoxes(PARCELS, new Random(42));
+    private final StrRTree tree = build(boxes);
+
+    @Test
+    void emptyTreeFindsNothing() {
+        StrRTree empty = StrRTree.empty();
+        List<Long> found = new ArrayList<>();
+
+        empty.search(new Envelope(-90, -180, 90, 180), found::add);
+
+        assertThat(empty.size()).isZero();
+        assertThat(found).isEmpty();
+        assertThat(empty.nearest(-1.95, 30.06, 5, id -> true)).isEmpty();
+    }
+
+    @Test
+    void packingKeepsEveryEntryExactlyOnce() {
+        Set<Long> ids = new HashSet<>();
+        tree.forEach((id, minLat, minLon, maxLat, maxLon) -> {
+            assertThat(ids.add(id)).isTrue();
+            Envelope box = boxes.get((int) id);
+            assertThat(new double[] {minLat, minLon, maxLat, maxLon})
+                    .containsExactly(box.getMinLat(), box.getMinLon(), box.getMaxLat(), box.getMaxLon());
+        });
+
+        assertThat(tree.size()).isEqualTo(PARCELS);
+        assertThat(ids).hasSize(PARCELS);
+    }
+
+    @Test
+    void builderGrowsPastItsExpectedSize() {
+        StrRTree.Builder builder = new StrRTree.Builder(1);
+        for (int i = 0; i < boxes.size(); i++) {
+            builder.add(i, boxes.get(i));
+        }
+
+        assertThat(builder.build().size()).isEqualTo(PARCELS);
+    }
+
+    @Test
+    void aQueryCoveringEverythingFindsEveryEntry() {
+        List<Long> found = new ArrayList<>();
+
+        tree.search(new Envelope(-3, 28, -1, 31), found::add);
+
+        assertThat(found).hasSize(PARCELS).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void searchMatchesABruteForceScan() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            double lat = -2.8 + random.nextDouble() * 1.8;
+            double lon = 28.9 + random.nextDouble() * 1.9;
+            double size = random.nextDouble() * 0.2;
+            Envelope query = new Envelope(lat, lon, lat + size, lon + size);
+
+            List<Long> found = new ArrayList<>();
+            tree.search(query, found::add);
+
+            assertThat(found).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(bruteForce(query));
+        }
+    }
+
+    @Test
+    void touchingEdgesCountAsIntersecting() {
+        StrRTree single = new StrRTree.Builder(1).add(1, -2.0, 30.0, -1.9, 30.1).build();
+        List<Long> found = new ArrayList<>();
+
+        single.search(new Envelope(-1.9, 30.1, -1.8, 30.2), found::add);
+        single.search(new Envelope(-1.89, 30.11, -1.8, 30.2), found::add);
+
+        assertThat(found).containsExactly(1L);
+    }
+
+    @Test
+    void searchStopsWhenTheVisitorDeclines() {
+        List<Long> found = new ArrayList<>();
+
+        tree.search(new Envelope(-3, 28, -1, 31), id -> {
+            found.add(id);
+            return found.size() < 10;
+        });
+
+        assertThat(found).hasSize(10);
+    }
+
+    @Test
+    void nearestMatchesABruteForceRanking() {
+        Random random = new Random(11);
+        for (int i = 0; i < 50; i++) {
+            double lat = -2.8 + random.nextDouble() * 1.8;
+            double lon = 28.9 + random.nextDouble() * 1.9;
+
+            List<StrRTree.Neighbor> neighbors = tree.nearest(lat, lon, 10, id -> true);
+
+            List<Double> expected = new ArrayList<>();
+            for (Envelope box : boxes) {
+                expected.add(box.distanceMeters(lat, lon));
+            }
+            expected.sort(Comparator.naturalOrder());
+            assertThat(neighbors).extracting(StrRTree.Neighbor::getDistanceMeters)
+                    .containsExactlyElementsOf(expected.subList(0, 10));
+            for (StrRTree.Neighbor neighbor : neighbors) {
+                assertThat(boxes.get((int) neighbor.getId()).distanceMeters(lat, lon))
+                        .isEqualTo(neighbor.getDistanceMeters());
+            }
+        }
+    }
+
+    @Test
+    void nearestSkipsFilteredEntriesWithoutCountingThem() {
+        List<StrRTree.Neighbor> neighbors = tree.nearest(-1.95, 30.06, 5, id -> id % 2 == 0);
+
+        assertThat(neighbors).hasSize(5).allMatch(neighbor -> neighbor.getId() % 2 == 0);
+        assertThat(neighbors).extracting(StrRTree.Neighbor::getDistanceMeters).isSorted();
+    }
+
+    @Test
+    void nearestReturnsEverythingWhenFewerThanKEntries() {
+        StrRTree small = build(boxes.subList(0, 3));
+
+        assertThat(small.nearest(-1.95, 30.06, 10, id -> true)).hasSize(3);
+        assertThat(small.nearest(-1.95, 30.06, 0, id -> true)).isEmpty();
+    }
+
+    // Private helper methods
+    private List<Long> bruteForce(Envelope query) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < boxes.size(); i++) {
+            if (query.intersects(boxes.get(i))) {
+                ids.add((long) i);
+            }
+        }
+        return ids;
+    }
+
+    private static StrRTree build(List<Envelope> boxes) {
+        StrRTree.Builder builder = new StrRTree.Builder(boxes.size());
+        for (int i = 0; i < boxes.size(); i++) {
+            builder.add(i, boxes.get(i));
+        }
+        return builder.build();
+    }
+
+    static List<Envelope> randomBoxes(int count, Random random) {
+        List<Envelope> boxes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double lat = -2.8 + random.nextDouble() * 1.8;
+            double lon = 28.9 + random.nextDouble() * 1.9;
+            double height = random.nextDouble() * 0.005;
+            double width = random.nextDouble() * 0.005;
+            boxes.add(new Envelope(lat, lon, lat + height, lon + width));
+        }
+        return boxes;
+    }
+}
@@ -0,0 +1,74 @@
+package rw.landManagementSystem.LandSystem.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlobStoreTest {
+
+    private static final byte[] CONTENT = "certificate of title".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    private final PackStore packStore = mock(PackStore.class);
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStore = new BlobStore(packStore);
+        ReflectionTestUtils.setField(blobStore, "rootDirectory", dir.toString());
+        blobStore.init();
+    }
+
+    @Test
+    void storesContentUnderItsHash() throws IOException {
+        BlobStore.StoredBlob blob = blobStore.store(new ByteArrayInputStream(CONTENT));
+
+        assertThat(blob.isNewlyStored()).isTrue();
+        assertThat(blob.getSize()).isEqualTo(CONTENT.length);
+        assertThat(Files.readAllBytes(blobStore.resolve(blob.getContentHash()))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void aDuplicateUploadTouchesTheExistingFile() throws IOException {
+        BlobStore.StoredBlob first = blobStore.store(new ByteArrayInputStream(CONTENT));
+        Path file = blobStore.resolve(first.getContentHash());
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+
+        BlobStore.StoredBlob second = blobStore.store(new ByteArrayInputStream(CONTENT));
+
+        assertThat(second.isNewlyStored()).isFalse();
+        assertThat(second.getContentHash()).isEqualTo(first.getContentHash());
+        assertThat(Files.getLastModifiedTime(file).toMillis()).isGreaterThan(0);
+    }
+
+    @Test
+    void reuploadingAnArchivedBlobWritesAFreshLooseCopy() throws IOException {
+        // Packed, with its loose copy already removed by the archiver
+        when(packStore.contains(anyString())).thenReturn(true);
+
+        BlobStore.StoredBlob blob = blobStore.store(new ByteArrayInputStream(CONTENT));
+
+        // The loose copy keeps the content even if the collector drops the pack entry before the reference lands
+        Path file = blobStore.resolve(blob.getContentHash());
+        assertThat(Files.readAllBytes(file)).isEqualTo(CONTENT);
+        assertThat(blobStore.locate(blob.getContentHash()).isLoose()).isTrue();
+        try (var files = Files.list(dir.resolve("tmp"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
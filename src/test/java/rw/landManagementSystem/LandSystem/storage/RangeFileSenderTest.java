@@ -0,0 +1,258 @@
+package rw.landManagementSystem.LandSystem.storage;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RangeFileSenderTest {
+
+    private static final int LENGTH = 1000;
+    private static final String ETAG = "abc123";
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    private final byte[] data = new byte[LENGTH];
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (int i = 0; i < LENGTH; i++) {
+            data[i] = (byte) (i % 251);
+        }
+        file = Files.write(dir.resolve("deed.pdf"), data);
+    }
+
+    @Test
+    void withoutARangeSendsTheWholeFile() throws IOException {
+        MockHttpServletResponse response = send(get());
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentLengthLong()).isEqualTo(LENGTH);
+        assertThat(response.getContentAsByteArray()).isEqualTo(data);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("deed.pdf");
+    }
+
+    @Test
+    void aClosedRangeSendsThoseBytes() throws IOException {
+        MockHttpServletResponse response = send(get("bytes=10-19"));
+
+        assertPartial(response, 10, 19);
+    }
+
+    @Test
+    void aRangeEndingPastTheFileIsClamped() throws IOException {
+        MockHttpServletResponse response = send(get("bytes=990-5000"));
+
+        assertPartial(response, 990, 999);
+    }
+
+    @Test
+    void anOpenEndedRangeRunsToTheEnd() throws IOException {
+        MockHttpServletResponse response = send(get("bytes=900-"));
+
+        assertPartial(response, 900, 999);
+    }
+
+    @Test
+    void aSuffixRangeSendsTheLastBytes() throws IOException {
+        MockHttpServletResponse response = send(get("bytes=-100"));
+
+        assertPartial(response, 900, 999);
+    }
+
+    @Test
+    void aSuffixLongerThanTheFileSendsAllOfIt() throws IOException {
+        MockHttpServletResponse response = send(get("bytes=-5000"));
+
+        assertPartial(response, 0, 999);
+    }
+
+    @Test
+    void aRangeStartingAtTheEndIsUnsatisfiable() throws IOException {
+        assertUnsatisfiable(send(get("bytes=1000-")));
+    }
+
+    @Test
+    void aRangeStartingPastTheEndIsUnsatisfiable() throws IOException {
+        assertUnsatisfiable(send(get("bytes=5000-6000")));
+    }
+
+    @Test
+    void anEmptySuffixIsUnsatisfiable() throws IOException {
+        assertUnsatisfiable(send(get("bytes=-0")));
+    }
+
+    @Test
+    void anyRangeOfAnEmptyFileIsUnsatisfiable() throws IOException {
+        Path empty = Files.write(dir.resolve("empty.pdf"), new byte[0]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RangeFileSender.send(empty, "application/pdf", "empty.pdf", ETAG, LAST_MODIFIED, get("bytes=0-"), response);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */0");
+    }
+
+    @Test
+    void multipleRangesFallBackToTheWholeFile() throws IOException {
+        MockHttpServletResponse response = send(get("bytes=0-9,20-29"));
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(data);
+    }
+
+    @Test
+    void malformedRangesAreIgnored() throws IOException {
+        for (String range : new String[] {"bytes=abc", "bytes=20-10", "items=0-9", "bytes="}) {
+            MockHttpServletResponse response = send(get(range));
+
+            assertThat(response.getStatus()).as(range).isEqualTo(HttpServletResponse.SC_OK);
+            assertThat(response.getContentAsByteArray()).as(range).isEqualTo(data);
+        }
+    }
+
+    @Test
+    void aStaleIfRangeSendsTheWholeFile() throws IOException {
+        MockHttpServletRequest request = get("bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"older\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getContentAsByteArray()).isEqualTo(data);
+    }
+
+    @Test
+    void aCurrentIfRangeHonoursTheRange() throws IOException {
+        MockHttpServletRequest request = get("bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"" + ETAG + "\"");
+
+        assertPartial(send(request), 10, 19);
+    }
+
+    @Test
+    void aMatchingEtagIsNotModified() throws IOException {
+        MockHttpServletRequest request = get("bytes=10-19");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + ETAG + "\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/documents/1/download");
+        request.addHeader(HttpHeaders.RANGE, "bytes=-100");
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 900-999/1000");
+        assertThat(response.getContentLengthLong()).isEqualTo(100);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void sendfileIsHandedTheRangeWithinTheFile() throws IOException {
+        MockHttpServletRequest request = get("bytes=100-199");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(file.toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(100L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(200L);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void rangesOfAStoredPackEntryAreOffsetIntoThePack() throws IOException {
+        Path pack = writePack(data);
+        BlobContent content = BlobContent.packed(pack, 17, LENGTH, LENGTH, false);
+
+        MockHttpServletResponse response = send(content, get("bytes=-50"));
+
+        assertPartial(response, 950, 999);
+    }
+
+    @Test
+    void rangesOfADeflatedPackEntryAreInflated() throws IOException {
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(deflated)) {
+            out.write(data);
+        }
+        Path pack = writePack(deflated.toByteArray());
+        BlobContent content = BlobContent.packed(pack, 17, deflated.size(), LENGTH, true);
+
+        assertPartial(send(content, get("bytes=500-")), 500, 999);
+        assertPartial(send(content, get("bytes=-10")), 990, 999);
+        assertUnsatisfiable(send(content, get("bytes=1000-")));
+    }
+
+    // Private helper methods
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RangeFileSender.send(file, "application/pdf", "deed.pdf", ETAG, LAST_MODIFIED, request, response);
+        return response;
+    }
+
+    private MockHttpServletResponse send(BlobContent content, MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RangeFileSender.send(content, "application/pdf", "deed.pdf", ETAG, LAST_MODIFIED, request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/documents/1/download");
+    }
+
+    private static MockHttpServletRequest get(String range) {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, range);
+        return request;
+    }
+
+    // 17 bytes of another entry in front, the entry itself, then more bytes after it
+    private Path writePack(byte[] entry) throws IOException {
+        ByteArrayOutputStream pack = new ByteArrayOutputStream();
+        pack.write(new byte[17]);
+        pack.write(entry);
+        pack.write(new byte[33]);
+        return Files.write(dir.resolve("pack-1.pack"), pack.toByteArray());
+    }
+
+    private void assertPartial(MockHttpServletResponse response, int start, int end) throws IOException {
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes " + start + "-" + end + "/" + LENGTH);
+        assertThat(response.getContentLengthLong()).isEqualTo(end - start + 1);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(data, start, end + 1));
+    }
+
+    private static void assertUnsatisfiable(MockHttpServletResponse response) {
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + LENGTH);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+}
@@ -0,0 +1,54 @@
+package rw.landManagementSystem.LandSystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReconciledStateTest {
+
+    private final ReconciledState<AtomicLong> state = new ReconciledState<>(new AtomicLong());
+
+    @Test
+    void changesMoveTheCurrentState() {
+        state.apply(count -> count.addAndGet(3));
+
+        assertThat(state.get()).hasValue(3);
+    }
+
+    @Test
+    void reconcileSwapsInTheLoadedStateAndReturnsThePrevious() {
+        state.apply(count -> count.addAndGet(3));
+
+        AtomicLong previous = state.reconcile(() -> new AtomicLong(10));
+
+        assertThat(previous).hasValue(3);
+        assertThat(state.get()).hasValue(10);
+    }
+
+    @Test
+    void changesAppliedDuringTheLoadAreReplayedOntoItsResult() {
+        state.reconcile(() -> {
+            // Commits after the load read its rows
+            state.apply(count -> count.addAndGet(2));
+            return new AtomicLong(10);
+        });
+
+        assertThat(state.get()).hasValue(12);
+    }
+
+    @Test
+    void aFailedLoadKeepsTheCurrentStateAndStopsJournaling() {
+        state.apply(count -> count.addAndGet(3));
+
+        assertThatThrownBy(() -> state.reconcile(() -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+        state.apply(count -> count.addAndGet(1));
+        state.reconcile(() -> new AtomicLong(10));
+
+        assertThat(state.get()).hasValue(10);
+    }
+}
@@ -0,0 +1,187 @@
+package rw.landManagementSystem.LandSystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 100ms ticks on 8 slots, so one turn of the wheel is 800ms
+class TimerWheelTest {
+
+    private static final long TICK = 100;
+    private static final int SLOTS = 8;
+
+    private final TimerWheel<String> wheel = new TimerWheel<>(TICK, SLOTS, 0);
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    void firesOnTheFirstAdvanceAtOrAfterTheDeadline() {
+        wheel.schedule("a", 250);
+
+        wheel.advance(200, fired::add);
+        assertThat(fired).isEmpty();
+        assertThat(wheel.isScheduled("a")).isTrue();
+
+        wheel.advance(300, fired::add);
+        assertThat(fired).containsExactly("a");
+        assertThat(wheel.isScheduled("a")).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void firesAtTheFirstTickBoundaryAfterTheDeadlineNeverBefore() {
+        wheel.schedule("a", 250);
+
+        // Tick 2 covers 200..299; the key sits in tick 3's bucket so it can't be visited early
+        wheel.advance(249, fired::add);
+        wheel.advance(250, fired::add);
+        wheel.advance(299, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(300, fired::add);
+        assertThat(fired).containsExactly("a");
+    }
+
+    @Test
+    void firesKeysInTickOrder() {
+        wheel.schedule("late", 450);
+        wheel.schedule("early", 150);
+        wheel.schedule("middle", 320);
+
+        wheel.advance(500, fired::add);
+
+        assertThat(fired).containsExactly("early", "middle", "late");
+    }
+
+    @Test
+    void keepsDeadlinesBeyondOneTurnUntilTheirTurn() {
+        // Tick 13 hashes to slot 5, which is first visited at tick 5 of the first turn
+        wheel.schedule("far", 1250);
+
+        wheel.advance(700, fired::add);
+        assertThat(fired).isEmpty();
+        assertThat(wheel.isScheduled("far")).isTrue();
+
+        wheel.advance(1200, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(1300, fired::add);
+        assertThat(fired).containsExactly("far");
+    }
+
+    @Test
+    void keysSharingASlotAcrossTurnsFireSeparately() {
+        wheel.schedule("near", 150);   // tick 2, slot 2
+        wheel.schedule("far", 950);    // tick 10, slot 2
+
+        wheel.advance(200, fired::add);
+        assertThat(fired).containsExactly("near");
+        assertThat(wheel.isScheduled("far")).isTrue();
+
+        wheel.advance(1000, fired::add);
+        assertThat(fired).containsExactly("near", "far");
+    }
+
+    @Test
+    void cancelledKeysNeverFire() {
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 250);
+
+        assertThat(wheel.cancel("a")).isTrue();
+        assertThat(wheel.cancel("a")).isFalse();
+        assertThat(wheel.isScheduled("a")).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(300, fired::add);
+        assertThat(fired).containsExactly("b");
+    }
+
+    @Test
+    void cancellingAnUnknownKeyIsHarmless() {
+        assertThat(wheel.cancel("missing")).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void reschedulingReplacesTheEarlierDeadline() {
+        wheel.schedule("a", 250);
+        wheel.schedule("a", 650);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(300, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(700, fired::add);
+        assertThat(fired).containsExactly("a");
+    }
+
+    @Test
+    void reschedulingEarlierMovesTheKeyForward() {
+        wheel.schedule("a", 650);
+        wheel.schedule("a", 150);
+
+        wheel.advance(200, fired::add);
+        assertThat(fired).containsExactly("a");
+
+        wheel.advance(700, fired::add);
+        assertThat(fired).containsExactly("a");
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextAdvance() {
+        TimerWheel<String> started = new TimerWheel<>(TICK, SLOTS, 1000);
+        started.schedule("overdue", 10);
+
+        started.advance(1000, fired::add);
+        assertThat(fired).isEmpty();
+
+        started.advance(1100, fired::add);
+        assertThat(fired).containsExactly("overdue");
+    }
+
+    @Test
+    void aPauseLongerThanOneTurnFiresEverythingDueOnce() {
+        wheel.schedule("a", 150);
+        wheel.schedule("b", 450);
+        wheel.schedule("c", 3000);
+        wheel.schedule("later", 20_000);
+
+        wheel.advance(10_000, fired::add);
+
+        assertThat(fired).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(wheel.isScheduled("later")).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(20_000, fired::add);
+        assertThat(fired).hasSize(4).endsWith("later");
+    }
+
+    @Test
+    void advancingBackwardsFiresNothing() {
+        wheel.advance(1000, fired::add);
+        wheel.schedule("a", 1150);
+
+        wheel.advance(500, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(1200, fired::add);
+        assertThat(fired).containsExactly("a");
+    }
+
+    @Test
+    void callbacksMayRescheduleTheFiredKey() {
+        wheel.schedule("a", 150);
+
+        wheel.advance(200, key -> {
+            fired.add(key);
+            wheel.schedule(key, 450);
+        });
+        assertThat(fired).containsExactly("a");
+        assertThat(wheel.isScheduled("a")).isTrue();
+
+        wheel.advance(500, fired::add);
+        assertThat(fired).containsExactly("a", "a");
+    }
+}